@@ -0,0 +1,67 @@
+package com.tooflexdev.taskmanager;
+
+import com.tooflexdev.taskmanager.domain.Role;
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.domain.User;
+import com.tooflexdev.taskmanager.service.JwtService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared objects for the benchmarks, built without a Spring context so each benchmark measures
+ * only the code path under test.
+ */
+public final class BenchmarkFixtures {
+
+    // 256-bit Base64 key, only ever used by benchmarks
+    public static final String JWT_SECRET = "dGFzay1tYW5hZ2VyLWJlbmNobWFyay1zZWNyZXQta2V5LTAxMjM0NTY3ODk=";
+    public static final long JWT_EXPIRATION_MILLIS = 3_600_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtService jwtService() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", JWT_EXPIRATION_MILLIS);
+        return jwtService;
+    }
+
+    public static User user(String username, String... roleNames) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuN0pQ1rS2tU3vW4xY5zA6bC7dE8fG9hI");
+        Set<Role> roles = new LinkedHashSet<>();
+        for (String roleName : roleNames) {
+            roles.add(new Role(roleName));
+        }
+        user.setRoles(roles);
+        return user;
+    }
+
+    public static List<Task> tasks(User owner, int count) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i + " with a realistic amount of text in it");
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setCategory("category-" + (i % 8));
+            task.setPriority(i % 5);
+            task.setDueDate(now.plusDays(i % 30));
+            task.setCreatedAt(now.minusDays(i % 90));
+            task.setUpdatedAt(now);
+            task.setUser(owner);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,101 @@
+package com.tooflexdev.taskmanager.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.tooflexdev.taskmanager.BenchmarkFixtures;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.dto.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes task lists the way the task endpoints do, with ObjectMappers configured like
+ * Spring Boot's. Compares the old entity payload with the response DTOs, with and without
+ * Blackbird, the streaming writer used for the full listing, and the three-field rows
+ * returned for {@code fields=id,title,status}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+
+    @Param({"1", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper blackbirdMapper;
+    private List<Task> tasks;
+    private List<TaskResponseDTO> dtos;
+    private List<Map<String, Object>> sparseRows;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        blackbirdMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        tasks = BenchmarkFixtures.tasks(BenchmarkFixtures.user("benchmark", "ROLE_USER"), size);
+        dtos = TaskMapper.toDTOs(tasks);
+        sparseRows = new ArrayList<>(dtos.size());
+        for (TaskResponseDTO dto : dtos) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", dto.getId());
+            row.put("title", dto.getTitle());
+            row.put("status", dto.getStatus());
+            sparseRows.add(row);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] serializeDTOsWithBlackbird() throws JsonProcessingException {
+        return blackbirdMapper.writeValueAsBytes(dtos);
+    }
+
+    // Payload for fields=id,title,status; compare the result length with serializeDTOsWithBlackbird
+    @Benchmark
+    public byte[] serializeSparseFieldsWithBlackbird() throws JsonProcessingException {
+        return blackbirdMapper.writeValueAsBytes(sparseRows);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeWithBlackbird() throws JsonProcessingException {
+        return blackbirdMapper.writeValueAsBytes(TaskMapper.toDTOs(tasks));
+    }
+
+    // Mirrors TaskController.getAllTasks: element-by-element into a discarding stream
+    @Benchmark
+    public void streamDTOsWithBlackbird() throws IOException {
+        try (JsonGenerator generator = blackbirdMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (TaskResponseDTO dto : dtos) {
+                blackbirdMapper.writeValue(generator, dto);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
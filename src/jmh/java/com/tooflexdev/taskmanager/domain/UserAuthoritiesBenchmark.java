@@ -0,0 +1,42 @@
+package com.tooflexdev.taskmanager.domain;
+
+import com.tooflexdev.taskmanager.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link User#getAuthorities()}, called by the JWT filter and by Spring Security on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserAuthoritiesBenchmark {
+
+    private User user;
+    private User admin;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user("benchmark", "ROLE_USER");
+        admin = BenchmarkFixtures.user("admin", "ROLE_USER", "ROLE_ADMIN", "AUDITOR");
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> singleRole() {
+        return user.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> severalRoles() {
+        return admin.getAuthorities();
+    }
+}
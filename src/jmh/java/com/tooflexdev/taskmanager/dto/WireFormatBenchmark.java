@@ -0,0 +1,97 @@
+package com.tooflexdev.taskmanager.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.tooflexdev.taskmanager.BenchmarkFixtures;
+import com.tooflexdev.taskmanager.dto.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes the payloads internal callers exchange in bulk, a task listing and a bulk
+ * user request, as JSON, Smile and CBOR. Mappers are configured like the ones behind the API's
+ * message converters. Payload sizes are printed once per trial since JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<TaskResponseDTO>> TASK_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<UserRequestDTO>> USER_REQUEST_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<TaskResponseDTO> tasks;
+    private List<UserRequestDTO> userRequests;
+    private byte[] encodedTasks;
+    private byte[] encodedUserRequests;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        mapper = builder.modulesToInstall(new BlackbirdModule(), new ParameterNamesModule()).build();
+
+        tasks = TaskMapper.toDTOs(BenchmarkFixtures.tasks(BenchmarkFixtures.user("benchmark", "ROLE_USER"), size));
+        userRequests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserRequestDTO request = new UserRequestDTO();
+            request.setUsername("bulk-user-" + i);
+            request.setEmail("bulk-user-" + i + "@example.com");
+            request.setPassword("password-" + i);
+            request.setRoles(Set.of("USER"));
+            userRequests.add(request);
+        }
+
+        encodedTasks = mapper.writeValueAsBytes(tasks);
+        encodedUserRequests = mapper.writeValueAsBytes(userRequests);
+        System.out.printf("%n%s, %d rows: tasks %d bytes, user requests %d bytes%n",
+                format, size, encodedTasks.length, encodedUserRequests.length);
+    }
+
+    @Benchmark
+    public byte[] encodeTasks() throws IOException {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> decodeTasks() throws IOException {
+        return mapper.readValue(encodedTasks, TASK_LIST);
+    }
+
+    @Benchmark
+    public byte[] encodeUserRequests() throws IOException {
+        return mapper.writeValueAsBytes(userRequests);
+    }
+
+    @Benchmark
+    public List<UserRequestDTO> decodeUserRequests() throws IOException {
+        return mapper.readValue(encodedUserRequests, USER_REQUEST_LIST);
+    }
+}
@@ -0,0 +1,45 @@
+package com.tooflexdev.taskmanager.dto.mapper;
+
+import com.tooflexdev.taskmanager.BenchmarkFixtures;
+import com.tooflexdev.taskmanager.domain.User;
+import com.tooflexdev.taskmanager.dto.UserRequestDTO;
+import com.tooflexdev.taskmanager.dto.UserResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMapperBenchmark {
+
+    private User user;
+    private UserRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user("benchmark", "ROLE_USER", "ROLE_ADMIN");
+        request = new UserRequestDTO();
+        request.setUsername("benchmark");
+        request.setEmail("benchmark@example.com");
+        request.setPassword("password123");
+        request.setRoles(Set.of("ROLE_USER", "ROLE_ADMIN"));
+    }
+
+    @Benchmark
+    public UserResponseDTO toDTO() {
+        return UserMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public User toEntity() {
+        return UserMapper.toEntity(request);
+    }
+}
@@ -0,0 +1,262 @@
+package com.tooflexdev.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator. Requests arrive as a seeded Poisson process at a fixed rate
+ * whether or not earlier ones have completed, each on its own virtual thread, and latency is
+ * measured from the scheduled arrival time. Unless {@code --base-url} is given, the app jar is
+ * started under the perf profile first and stopped afterwards.
+ * <p>
+ * Writes a JSON report and exits non-zero when any endpoint's p99 exceeds the baseline by more
+ * than the threshold.
+ */
+public final class LoadTestRunner {
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTestRunner(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        System.exit(new LoadTestRunner(options).run());
+    }
+
+    private int run() throws Exception {
+        Path reportDir = Path.of(option("report-dir", "build/reports/loadtest"));
+        Files.createDirectories(reportDir);
+        Process app = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            int port = Integer.parseInt(option("port", "18080"));
+            app = startApp(Path.of(option("app-jar", null)), port, reportDir.resolve("app.log"));
+            baseUrl = "http://localhost:" + port;
+        }
+        try {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            awaitHealthy(client, baseUrl);
+            Workload workload = new Workload(client, baseUrl, option("password", "perf-password"));
+            workload.prepare(Integer.parseInt(option("token-users", "50")));
+
+            double rate = Double.parseDouble(option("rate", "200"));
+            long seed = Long.parseLong(option("seed", "42"));
+            int maxInFlight = Integer.parseInt(option("max-in-flight", "5000"));
+            Duration warmup = Duration.parse(option("warmup", "PT20S"));
+            Duration duration = Duration.parse(option("duration", "PT60S"));
+
+            System.out.printf("Warm-up: %.0f req/s for %s%n", rate, warmup);
+            drive(workload, rate, warmup, seed - 1, maxInFlight);
+            System.out.printf("Measuring: %.0f req/s for %s%n", rate, duration);
+            Result result = drive(workload, rate, duration, seed, maxInFlight);
+
+            ObjectNode report = report(result, rate, duration, seed);
+            Path reportFile = reportDir.resolve("report.json");
+            objectMapper.writeValue(reportFile.toFile(), report);
+            printTable(result);
+            System.out.println("Report written to " + reportFile);
+            return compareWithBaseline(report, reportFile);
+        } finally {
+            if (app != null) {
+                app.destroy();
+                if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                    app.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private Result drive(Workload workload, double rate, Duration duration, long seed, int maxInFlight)
+            throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String name : workload.endpointNames()) {
+            stats.put(name, new EndpointStats(name));
+        }
+        LongAdder dropped = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+        Random arrivals = new Random(seed);
+        long meanIntervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long intended = start;
+            while (true) {
+                // Exponential inter-arrival times give Poisson arrivals at the target rate
+                intended += (long) (-Math.log(1 - arrivals.nextDouble()) * meanIntervalNanos);
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Workload.Operation operation = workload.pick(arrivals);
+                Random requestRandom = new Random(arrivals.nextLong());
+                if (inFlight.incrementAndGet() > maxInFlight) {
+                    // The server has fallen hopelessly behind; count it instead of queueing forever
+                    inFlight.decrementAndGet();
+                    dropped.increment();
+                    continue;
+                }
+                long scheduledAt = intended;
+                EndpointStats endpoint = stats.get(operation.name());
+                executor.execute(() -> {
+                    boolean success;
+                    try {
+                        int status = operation.call().execute(requestRandom);
+                        success = status >= 200 && status < 300;
+                    } catch (Exception ex) {
+                        success = false;
+                    }
+                    endpoint.record(System.nanoTime() - scheduledAt, success);
+                    inFlight.decrementAndGet();
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new Result(new ArrayList<>(stats.values()), elapsedSeconds, dropped.sum());
+    }
+
+    private ObjectNode report(Result result, double rate, Duration duration, long seed) {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.putObject("config")
+                .put("rate", rate)
+                .put("duration", duration.toString())
+                .put("seed", seed);
+        report.put("elapsedSeconds", result.elapsedSeconds());
+        report.put("dropped", result.dropped());
+        ObjectNode endpoints = report.putObject("endpoints");
+        for (EndpointStats stats : result.endpoints()) {
+            endpoints.putObject(stats.getName())
+                    .put("count", stats.getCount())
+                    .put("errors", stats.getErrors())
+                    .put("throughput", stats.getCount() / result.elapsedSeconds())
+                    .put("p50", stats.percentileMillis(50))
+                    .put("p90", stats.percentileMillis(90))
+                    .put("p99", stats.percentileMillis(99))
+                    .put("p999", stats.percentileMillis(99.9))
+                    .put("max", stats.maxMillis());
+        }
+        return report;
+    }
+
+    private void printTable(Result result) {
+        System.out.printf("%-42s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (EndpointStats stats : result.endpoints()) {
+            System.out.printf("%-42s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.getName(), stats.getCount(), stats.getErrors(), stats.getCount() / result.elapsedSeconds(),
+                    stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99), stats.maxMillis());
+        }
+        if (result.dropped() > 0) {
+            System.out.printf("%d arrivals dropped because too many requests were in flight%n", result.dropped());
+        }
+    }
+
+    private int compareWithBaseline(ObjectNode report, Path reportFile) throws IOException {
+        Path baselineFile = Path.of(option("baseline", "perf/loadtest-baseline.json"));
+        if (Boolean.parseBoolean(option("update-baseline", "false"))) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.copy(reportFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baselineFile);
+            return 0;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile + "; record one with -PloadTestUpdateBaseline=true");
+            return 0;
+        }
+        double threshold = Double.parseDouble(option("p99-threshold", "20"));
+        JsonNode baseline = objectMapper.readTree(baselineFile.toFile()).path("endpoints");
+        List<String> regressions = new ArrayList<>();
+        report.path("endpoints").fields().forEachRemaining(entry -> {
+            JsonNode before = baseline.path(entry.getKey());
+            if (before.isMissingNode() || before.path("p99").asDouble() <= 0) {
+                return;
+            }
+            double p99 = entry.getValue().path("p99").asDouble();
+            double change = (p99 - before.path("p99").asDouble()) / before.path("p99").asDouble() * 100;
+            System.out.printf("%-42s p99 %9.2f ms  %+6.1f%% vs baseline%n", entry.getKey(), p99, change);
+            if (change > threshold) {
+                regressions.add(entry.getKey());
+            }
+        });
+        if (!regressions.isEmpty()) {
+            System.out.printf("p99 regressed by more than %.0f%% on: %s%n", threshold, String.join(", ", regressions));
+            return 1;
+        }
+        return 0;
+    }
+
+    private static Process startApp(Path jar, int port, Path log) throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        System.out.println("Starting " + jar + " on port " + port + " (log: " + log + ")");
+        return new ProcessBuilder(java, "-jar", jar.toString(),
+                "--spring.profiles.active=perf", "--server.port=" + port)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void awaitHealthy(HttpClient client, String baseUrl) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application at " + baseUrl + " did not become healthy");
+    }
+
+    private String option(String name, String defaultValue) {
+        String value = options.getOrDefault(name, defaultValue);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return value;
+    }
+
+    private record Result(List<EndpointStats> endpoints, double elapsedSeconds, long dropped) {
+    }
+}
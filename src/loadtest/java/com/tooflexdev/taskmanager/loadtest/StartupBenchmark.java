@@ -0,0 +1,127 @@
+package com.tooflexdev.taskmanager.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application repeatedly and reports time to first successful request and resident
+ * memory at that point. Each extra JVM option set given with {@code --variant=name:opts} is
+ * measured alongside the plain run, e.g. a CDS archive or Spring AOT.
+ */
+public final class StartupBenchmark {
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String jar = null;
+        String profiles = "faststart,perf";
+        int runs = 5;
+        int port = 18081;
+        List<String[]> variants = new ArrayList<>();
+        variants.add(new String[]{"default", ""});
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--app-jar=")) {
+                jar = value;
+            } else if (arg.startsWith("--profiles=")) {
+                profiles = value;
+            } else if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(value);
+            } else if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(value);
+            } else if (arg.startsWith("--variant=")) {
+                int separator = value.indexOf(':');
+                variants.add(new String[]{value.substring(0, separator), value.substring(separator + 1)});
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        if (jar == null) {
+            throw new IllegalArgumentException("Missing required option --app-jar");
+        }
+
+        System.out.printf("%-12s %6s %14s %14s %12s%n", "variant", "runs", "first req ms", "best ms", "RSS MiB");
+        for (String[] variant : variants) {
+            long[] millis = new long[runs];
+            long rssTotal = 0;
+            for (int run = 0; run < runs; run++) {
+                Sample sample = measure(jar, profiles, port, variant[1]);
+                millis[run] = sample.millis();
+                rssTotal += sample.rssKib();
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-12s %6d %14d %14d %12.1f%n",
+                    variant[0], runs, millis[runs / 2], millis[0], rssTotal / (double) runs / 1024);
+        }
+    }
+
+    private static Sample measure(String jar, String profiles, int port, String jvmOptions)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        for (String option : jvmOptions.trim().split("\\s+")) {
+            if (!option.isEmpty()) {
+                command.add(option);
+            }
+        }
+        command.addAll(List.of("-jar", jar, "--spring.profiles.active=" + profiles, "--server.port=" + port));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            long deadline = start + TimeUnit.MINUTES.toNanos(2);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ": " + command);
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = (System.nanoTime() - start) / 1_000_000;
+                        return new Sample(millis, rssKib(process.pid()));
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Application did not answer within two minutes: " + command);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Linux only; elsewhere RSS is reported as zero
+    private static long rssKib(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return 0;
+    }
+
+    private record Sample(long millis, long rssKib) {
+    }
+}
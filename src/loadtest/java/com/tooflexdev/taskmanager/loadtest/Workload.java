@@ -0,0 +1,187 @@
+package com.tooflexdev.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The mixed workload: a weighted choice of login, task reads and writes and user administration,
+ * issued as the seeded perf users. Each operation reports under a route-style endpoint name.
+ */
+final class Workload {
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "DONE"};
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String password;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<SeedUser> users = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> createdTaskIds = new ConcurrentLinkedQueue<>();
+    private String adminToken;
+    private int totalWeight;
+
+    Workload(HttpClient client, String baseUrl, String password) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.password = password;
+        add("POST /auth/login", 5, this::login);
+        add("GET /api/v1/tasks", 5, random -> get("/api/v1/tasks", randomUser(random).token()));
+        add("GET /api/v1/tasks/status/{status}", 20,
+                random -> get("/api/v1/tasks/status/" + STATUSES[random.nextInt(STATUSES.length)], randomUser(random).token()));
+        add("GET /api/v1/tasks/category/{category}", 15,
+                random -> get("/api/v1/tasks/category/category-" + random.nextInt(10), randomUser(random).token()));
+        add("POST /api/v1/tasks", 15, this::createTask);
+        add("PUT /api/v1/tasks/{id}", 10, this::updateTask);
+        add("DELETE /api/v1/tasks/{id}", 5, this::deleteTask);
+        add("GET /api/v1/users", 15, random -> get("/api/v1/users?size=20&page=" + random.nextInt(10), adminToken));
+        add("GET /api/v1/users/{id}", 10, random -> get("/api/v1/users/" + randomUser(random).id(), adminToken));
+    }
+
+    // Logs in as the admin and up to tokenUsers seeded users before the run starts
+    void prepare(int tokenUsers) throws IOException, InterruptedException {
+        adminToken = token("perf-admin");
+        HttpResponse<String> page = client.send(
+                request("/api/v1/users?size=" + (tokenUsers + 1), adminToken).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        for (JsonNode user : objectMapper.readTree(page.body()).path("content")) {
+            String username = user.path("username").asText();
+            if (username.startsWith("perf-user-")) {
+                users.add(new SeedUser(user.path("id").asLong(), username, token(username)));
+            }
+        }
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No perf-user-* accounts found; is the app running with the perf profile?");
+        }
+    }
+
+    List<String> endpointNames() {
+        return operations.stream().map(Operation::name).toList();
+    }
+
+    Operation pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+
+    private void add(String name, int weight, Call call) {
+        operations.add(new Operation(name, weight, call));
+        totalWeight += weight;
+    }
+
+    private int login(Random random) throws IOException, InterruptedException {
+        return client.send(loginRequest(randomUser(random).username()), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int createTask(Random random) throws IOException, InterruptedException {
+        SeedUser user = randomUser(random);
+        ObjectNode body = taskBody(random);
+        body.putObject("user").put("id", user.id());
+        HttpResponse<String> response = client.send(
+                request("/api/v1/tasks", user.token()).POST(json(body)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            createdTaskIds.add(objectMapper.readTree(response.body()).path("id").asLong());
+        }
+        return response.statusCode();
+    }
+
+    private int updateTask(Random random) throws IOException, InterruptedException {
+        Long id = createdTaskIds.poll();
+        if (id == null) {
+            return createTask(random);
+        }
+        try {
+            return client.send(request("/api/v1/tasks/" + id, randomUser(random).token()).PUT(json(taskBody(random))).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } finally {
+            createdTaskIds.add(id);
+        }
+    }
+
+    private int deleteTask(Random random) throws IOException, InterruptedException {
+        Long id = createdTaskIds.poll();
+        if (id == null) {
+            return createTask(random);
+        }
+        return client.send(request("/api/v1/tasks/" + id, randomUser(random).token()).DELETE().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int get(String path, String token) throws IOException, InterruptedException {
+        return client.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private ObjectNode taskBody(Random random) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("title", "Load-test task " + random.nextInt(1_000_000));
+        body.put("description", "Created by the load generator");
+        body.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+        body.put("category", "category-" + random.nextInt(10));
+        body.put("priority", 1 + random.nextInt(5));
+        body.put("dueDate", LocalDateTime.now().plusDays(random.nextInt(60)).withNano(0).toString());
+        return body;
+    }
+
+    private String token(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    private HttpRequest loginRequest(String username) {
+        ObjectNode body = objectMapper.createObjectNode().put("username", username).put("password", password);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(json(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.BodyPublisher json(JsonNode body) {
+        return HttpRequest.BodyPublishers.ofString(body.toString());
+    }
+
+    private SeedUser randomUser(Random random) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    @FunctionalInterface
+    interface Call {
+        // Returns the HTTP status code
+        int execute(Random random) throws IOException, InterruptedException;
+    }
+
+    record Operation(String name, int weight, Call call) {
+    }
+
+    private record SeedUser(long id, String username, String token) {
+    }
+}
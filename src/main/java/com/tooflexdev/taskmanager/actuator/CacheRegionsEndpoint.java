@@ -0,0 +1,88 @@
+package com.tooflexdev.taskmanager.actuator;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes Hibernate second-level and query cache statistics per region at
+ * {@code /actuator/cacheregions}, and registers matching Micrometer meters.
+ */
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    private final Statistics statistics;
+
+    public CacheRegionsEndpoint(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            registerMeters(region, meterRegistry);
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(region -> {
+            CacheRegionStatistics stats = regionStatistics(region);
+            if (stats != null) {
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("hits", stats.getHitCount());
+                details.put("misses", stats.getMissCount());
+                details.put("puts", stats.getPutCount());
+                details.put("hitRatio", hitRatio(stats));
+                details.put("elementsInMemory", stats.getElementCountInMemory());
+                regions.put(region, details);
+            }
+        });
+        return regions;
+    }
+
+    private void registerMeters(String region, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("hibernate.cache.region.requests", this, self -> hitsOf(region))
+                .tag("region", region).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("hibernate.cache.region.requests", this, self -> missesOf(region))
+                .tag("region", region).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("hibernate.cache.region.hit.ratio", this, self -> {
+                    CacheRegionStatistics stats = regionStatistics(region);
+                    return stats != null ? hitRatio(stats) : Double.NaN;
+                })
+                .tag("region", region).register(meterRegistry);
+    }
+
+    private double hitsOf(String region) {
+        CacheRegionStatistics stats = regionStatistics(region);
+        return stats != null ? stats.getHitCount() : 0;
+    }
+
+    private double missesOf(String region) {
+        CacheRegionStatistics stats = regionStatistics(region);
+        return stats != null ? stats.getMissCount() : 0;
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        try {
+            return statistics.getDomainDataRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            // Query result regions are tracked separately from entity and collection regions
+            return statistics.getQueryRegionStatistics(region);
+        }
+    }
+
+    private static double hitRatio(CacheRegionStatistics stats) {
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return requests == 0 ? 0.0 : (double) stats.getHitCount() / requests;
+    }
+}
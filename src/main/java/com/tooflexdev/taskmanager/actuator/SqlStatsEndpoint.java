@@ -0,0 +1,45 @@
+package com.tooflexdev.taskmanager.actuator;
+
+import com.tooflexdev.taskmanager.metrics.SqlRouteStatistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exposes per-route SQL statement counts, hydrated rows, JDBC time and suspected N+1 requests
+ * at {@code /actuator/sqlstats}, worst routes by average statement count first.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlRouteStatistics statistics;
+
+    public SqlStatsEndpoint(SqlRouteStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> routes() {
+        Map<String, Object> routes = new LinkedHashMap<>();
+        new TreeMap<>(statistics.getRoutes()).entrySet().stream()
+                .sorted((a, b) -> Double.compare(b.getValue().getAverageStatements(), a.getValue().getAverageStatements()))
+                .forEach(entry -> {
+                    SqlRouteStatistics.RouteStats stats = entry.getValue();
+                    Map<String, Object> details = new LinkedHashMap<>();
+                    details.put("requests", stats.getRequests());
+                    details.put("statements", stats.getStatements());
+                    details.put("averageStatements", stats.getAverageStatements());
+                    details.put("maxStatements", stats.getMaxStatements());
+                    details.put("rows", stats.getRows());
+                    details.put("jdbcMillis", stats.getJdbcMillis());
+                    details.put("repeatedStatementRequests", stats.getRepeatedStatementRequests());
+                    routes.put(entry.getKey(), details);
+                });
+        return routes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.tooflexdev.taskmanager.actuator;
+
+import com.tooflexdev.taskmanager.sharding.ShardDirectory;
+import com.tooflexdev.taskmanager.sharding.ShardedTaskRepository;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows bucket ownership and task counts per shard at {@code /actuator/taskshards}. Rebalancing
+ * lives in {@link TaskShardsRebalanceEndpoint}, which is not exposed over the web by default.
+ */
+@Endpoint(id = "taskshards")
+public class TaskShardsEndpoint {
+
+    private final ShardDirectory directory;
+    private final ShardedTaskRepository repository;
+
+    public TaskShardsEndpoint(ShardDirectory directory, ShardedTaskRepository repository) {
+        this.directory = directory;
+        this.repository = repository;
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        Map<String, Object> shards = new LinkedHashMap<>();
+        shards.put("buckets", directory.getBucketCounts());
+        shards.put("tasks", repository.countByShard());
+        return shards;
+    }
+}
@@ -0,0 +1,30 @@
+package com.tooflexdev.taskmanager.actuator;
+
+import com.tooflexdev.taskmanager.sharding.ShardRebalancer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebalances the buckets onto a comma-separated {@code shards} list. Moving buckets copies and
+ * deletes task rows, so the endpoint is left out of the web exposure list and meant for JMX or an
+ * explicitly exposed, admin-only {@code /actuator/taskshardsrebalance}.
+ */
+@Endpoint(id = "taskshardsrebalance")
+public class TaskShardsRebalanceEndpoint {
+
+    private final ShardRebalancer rebalancer;
+
+    public TaskShardsRebalanceEndpoint(ShardRebalancer rebalancer) {
+        this.rebalancer = rebalancer;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebalance(String shards) {
+        List<String> names = Arrays.stream(shards.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList();
+        return rebalancer.rebalance(names);
+    }
+}
@@ -0,0 +1,10 @@
+package com.tooflexdev.taskmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods run on the auto-configured executor, which uses virtual threads in the vthreads profile
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
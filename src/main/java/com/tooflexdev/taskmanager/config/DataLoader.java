@@ -1,17 +1,17 @@
 package com.tooflexdev.taskmanager.config;
 
+import com.tooflexdev.taskmanager.datagen.SyntheticDataGenerator;
 import com.tooflexdev.taskmanager.domain.Role;
 import com.tooflexdev.taskmanager.domain.User;
 import com.tooflexdev.taskmanager.repository.RoleRepository;
 import com.tooflexdev.taskmanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.time.LocalDateTime;
 import java.util.Set;
 
 @Configuration
@@ -21,7 +21,9 @@ public class DataLoader {
     @Bean
     CommandLineRunner initDatabase(RoleRepository roleRepository,
                                    UserRepository userRepository,
-                                   PasswordEncoder passwordEncoder) {
+                                   PasswordEncoder passwordEncoder,
+                                   SyntheticDataGenerator dataGenerator,
+                                   @Value("${datagen.enabled:true}") boolean generateData) {
         return args -> {
             // Create roles if they don't exist
             Role adminRole = roleRepository.findByName("ADMIN")
@@ -48,6 +50,11 @@ public class DataLoader {
                 user.setRoles(Set.of(userRole));
                 userRepository.save(user);
             }
+
+            // Synthetic users and tasks on top of the fixed accounts; sized by datagen.* properties
+            if (generateData) {
+                dataGenerator.generate();
+            }
         };
     }
 }
@@ -0,0 +1,79 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.tooflexdev.taskmanager.datasource.ReplicaLagMonitor;
+import com.tooflexdev.taskmanager.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits database traffic between the primary ({@code spring.datasource.*}) and a read replica
+ * ({@code datasource.replica.*}) when {@code datasource.routing.enabled} is set. Everything that
+ * injects a {@link DataSource}, including Hibernate and Flyway, gets the routing proxy; without
+ * the flag Boot's single pooled DataSource is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:}") String username,
+                                              @Value("${datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        // Fail fast when the replica is unreachable; datasource.replica.hikari.connection-timeout overrides this
+        dataSource.setConnectionTimeout(1000);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${datasource.replica.max-lag-millis:1000}") long maxLagMillis,
+                                               @Value("${datasource.replica.lag-check-interval-millis:1000}") long checkIntervalMillis) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, meterRegistry, maxLagMillis,
+                Duration.ofMillis(checkIntervalMillis));
+        // Decide before the first request instead of waiting for the first scheduled check
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${datasource.routing.read-after-write-millis:2000}") long readAfterWriteMillis) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor,
+                meterRegistry, Duration.ofMillis(readAfterWriteMillis));
+        routing.afterPropertiesSet();
+        // The physical connection, and with it the routing decision, waits until the read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,51 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tooflexdev.taskmanager.enrichment.TaskEnrichmentPipeline;
+import com.tooflexdev.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Turns on AI enrichment of new tasks when {@code tasks.enrichment.enabled} is set. Both the
+ * OpenAI and the Ollama starters contribute a {@link ChatModel}, so {@code tasks.enrichment.chat-model}
+ * names the bean to use, e.g. {@code ollamaChatModel}; it may be left empty when only one exists.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.enrichment.enabled", havingValue = "true")
+public class EnrichmentConfig {
+
+    @Bean
+    public TaskEnrichmentPipeline taskEnrichmentPipeline(Map<String, ChatModel> chatModels,
+                                                         ObjectMapper objectMapper,
+                                                         TaskService taskService,
+                                                         MeterRegistry meterRegistry,
+                                                         @Value("${tasks.enrichment.chat-model:}") String chatModelName,
+                                                         @Value("${tasks.enrichment.queue-capacity:10000}") int queueCapacity,
+                                                         @Value("${tasks.enrichment.batch-size:20}") int batchSize,
+                                                         @Value("${tasks.enrichment.linger-millis:500}") long lingerMillis,
+                                                         @Value("${tasks.enrichment.max-concurrent-calls:2}") int maxConcurrentCalls,
+                                                         @Value("${tasks.enrichment.cache-size:10000}") int cacheSize) {
+        ChatModel chatModel;
+        if (!chatModelName.isBlank()) {
+            chatModel = chatModels.get(chatModelName);
+            if (chatModel == null) {
+                throw new IllegalStateException("tasks.enrichment.chat-model is " + chatModelName
+                        + " but the chat models are " + chatModels.keySet());
+            }
+        } else if (chatModels.size() == 1) {
+            chatModel = chatModels.values().iterator().next();
+        } else {
+            throw new IllegalStateException("Set tasks.enrichment.chat-model to one of " + chatModels.keySet());
+        }
+        return new TaskEnrichmentPipeline(chatModel, objectMapper, taskService, meterRegistry, queueCapacity,
+                batchSize, Duration.ofMillis(lingerMillis), maxConcurrentCalls, cacheSize);
+    }
+}
@@ -0,0 +1,42 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers Jackson modules with Boot's ObjectMapper. Blackbird replaces reflective getter and
+ * constructor calls with generated lambdas, which matters on large DTO lists.
+ * <p>
+ * Smile and CBOR converters are appended after the defaults rather than declared as beans:
+ * Boot would put converter beans first, and clients sending {@code Accept: *}{@code /*} would
+ * then receive binary payloads instead of JSON.
+ */
+@Configuration
+public class JacksonConfig implements WebMvcConfigurer {
+
+    private final JacksonFormats jacksonFormats;
+
+    public JacksonConfig(JacksonFormats jacksonFormats) {
+        this.jacksonFormats = jacksonFormats;
+    }
+
+    // Static so the ObjectMapper can be built before this configuration, which needs JacksonFormats
+    @Bean
+    public static Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(jacksonFormats.getSmileMapper()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(jacksonFormats.getCborMapper()));
+    }
+}
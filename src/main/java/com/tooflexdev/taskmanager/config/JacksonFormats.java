@@ -0,0 +1,76 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The wire formats the API speaks: JSON, Smile and CBOR, each backed by an ObjectMapper built
+ * from Boot's builder so every format sees the same modules and settings.
+ * <p>
+ * Regular endpoints negotiate through the message converters registered in {@link JacksonConfig};
+ * endpoints that write the response themselves, such as the streamed task listing, use
+ * {@link #negotiate(String)} to pick the same format from the {@code Accept} header.
+ */
+@Component
+public class JacksonFormats {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+
+    public JacksonFormats(ObjectMapper jsonMapper, Jackson2ObjectMapperBuilder builder) {
+        this.jsonMapper = jsonMapper;
+        // Switching the factory keeps every customization Boot applied to the builder
+        this.smileMapper = builder.factory(new SmileFactory()).build();
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+    }
+
+    public ObjectMapper getSmileMapper() {
+        return smileMapper;
+    }
+
+    public ObjectMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    // Most preferred supported type in the Accept header, JSON when absent or for wildcards, null when none fits
+    public MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> requested = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        requested.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : requested) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType supported : List.of(MediaType.APPLICATION_JSON, SMILE, CBOR)) {
+                if (mediaType.includes(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return null;
+    }
+
+    public ObjectMapper mapperFor(MediaType mediaType) {
+        if (SMILE.equalsTypeAndSubtype(mediaType)) {
+            return smileMapper;
+        }
+        if (CBOR.equalsTypeAndSubtype(mediaType)) {
+            return cborMapper;
+        }
+        return jsonMapper;
+    }
+}
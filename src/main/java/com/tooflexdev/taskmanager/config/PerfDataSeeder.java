@@ -0,0 +1,87 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.tooflexdev.taskmanager.domain.Role;
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.domain.User;
+import com.tooflexdev.taskmanager.repository.RoleRepository;
+import com.tooflexdev.taskmanager.repository.TaskRepository;
+import com.tooflexdev.taskmanager.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds the perf profile with a fixed, reproducible data set: {@code perf-admin} plus
+ * {@code perf-user-0..n}, all sharing one password so the load generator can log in as anyone.
+ */
+@Configuration
+@Profile("perf")
+public class PerfDataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfDataSeeder.class);
+
+    @Bean
+    CommandLineRunner seedPerfData(RoleRepository roleRepository,
+                                   UserRepository userRepository,
+                                   TaskRepository taskRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   @Value("${perf.seed.users:200}") int userCount,
+                                   @Value("${perf.seed.tasks-per-user:10}") int tasksPerUser,
+                                   @Value("${perf.seed.password:perf-password}") String password) {
+        return args -> {
+            Role adminRole = roleRepository.findByName("ADMIN")
+                    .orElseGet(() -> roleRepository.save(new Role("ADMIN")));
+            Role userRole = roleRepository.findByName("USER")
+                    .orElseGet(() -> roleRepository.save(new Role("USER")));
+            // One bcrypt hash for everyone keeps seeding fast
+            String passwordHash = passwordEncoder.encode(password);
+
+            List<User> users = new ArrayList<>(userCount + 1);
+            users.add(newUser("perf-admin", passwordHash, Set.of(adminRole, userRole)));
+            for (int i = 0; i < userCount; i++) {
+                users.add(newUser("perf-user-" + i, passwordHash, Set.of(userRole)));
+            }
+            users = userRepository.saveAll(users);
+
+            Random random = new Random(42);
+            LocalDateTime now = LocalDateTime.now();
+            List<Task> tasks = new ArrayList<>(userCount * tasksPerUser);
+            for (User user : users.subList(1, users.size())) {
+                for (int i = 0; i < tasksPerUser; i++) {
+                    Task task = new Task();
+                    task.setTitle("Seeded task " + i + " of " + user.getUsername());
+                    task.setDescription("Load-test task");
+                    task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+                    task.setCategory("category-" + random.nextInt(10));
+                    task.setPriority(1 + random.nextInt(5));
+                    task.setDueDate(now.plusDays(random.nextInt(120) - 30));
+                    task.setUser(user);
+                    tasks.add(task);
+                }
+            }
+            taskRepository.saveAll(tasks);
+            log.info("Seeded {} users and {} tasks for the perf profile", users.size(), tasks.size());
+        };
+    }
+
+    private static User newUser(String username, String passwordHash, Set<Role> roles) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@perf.example.com");
+        user.setPassword(passwordHash);
+        user.setRoles(roles);
+        return user;
+    }
+}
@@ -3,6 +3,7 @@ package com.tooflexdev.taskmanager.config;
 import com.tooflexdev.taskmanager.domain.Role;
 import com.tooflexdev.taskmanager.repository.RoleRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 public class RoleInitializer {
 
     @Bean
+    @ConditionalOnProperty(name = "roles.initializer.enabled", havingValue = "true", matchIfMissing = true)
     public CommandLineRunner initRoles(RoleRepository roleRepository) {
         return args -> {
             if (roleRepository.findByName("USER").isEmpty()) {
@@ -2,6 +2,7 @@ package com.tooflexdev.taskmanager.config;
 
 import com.tooflexdev.taskmanager.filter.JwtAuthFilter;
 import com.tooflexdev.taskmanager.service.UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,7 +30,10 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for JWT
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE completion re-dispatch
                         .requestMatchers("/auth/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll() // Probes carry no JWT
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("api/v1/users/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("api/v1/tasks/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                         .anyRequest().authenticated() // Secure all other paths
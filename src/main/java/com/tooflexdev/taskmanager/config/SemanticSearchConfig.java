@@ -0,0 +1,59 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.tooflexdev.taskmanager.search.EmbeddingModelTextEmbedder;
+import com.tooflexdev.taskmanager.search.HashingTextEmbedder;
+import com.tooflexdev.taskmanager.search.SemanticTaskIndex;
+import com.tooflexdev.taskmanager.search.TextEmbedder;
+import com.tooflexdev.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Turns on semantic task search when {@code tasks.search.enabled} is set. {@code tasks.search.embedder}
+ * is either {@code local}, a hashing embedder that works offline but only matches shared words, or
+ * the name of an {@link EmbeddingModel} bean such as {@code openAiEmbeddingModel}. The vector file
+ * records the bean name and dimensions and is started over when either changes; switching models
+ * behind the same bean name with the same dimensions still needs the file deleted by hand.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.search.enabled", havingValue = "true")
+public class SemanticSearchConfig {
+
+    @Bean(destroyMethod = "close")
+    public SemanticTaskIndex semanticTaskIndex(ListableBeanFactory beanFactory,
+                                               TaskService taskService,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${tasks.search.embedder:local}") String embedderName,
+                                               @Value("${tasks.search.local-dimensions:256}") int localDimensions,
+                                               @Value("${tasks.search.vector-file:data/search/task-vectors.f32}") String vectorFile,
+                                               @Value("${tasks.search.m:16}") int maxConnections,
+                                               @Value("${tasks.search.ef-construction:100}") int efConstruction,
+                                               @Value("${tasks.search.ef-search:64}") int efSearch,
+                                               @Value("${tasks.search.max-results:50}") int maxResults,
+                                               @Value("${tasks.search.duplicate-threshold:0.9}") double duplicateThreshold) {
+        TextEmbedder embedder;
+        if ("local".equals(embedderName)) {
+            embedder = new HashingTextEmbedder(localDimensions);
+        } else {
+            // Looked up by name so the local embedder never instantiates a model client
+            try {
+                embedder = new EmbeddingModelTextEmbedder(embedderName,
+                        beanFactory.getBean(embedderName, EmbeddingModel.class));
+            } catch (NoSuchBeanDefinitionException e) {
+                throw new IllegalStateException("tasks.search.embedder is " + embedderName + " but the embedding models are "
+                        + Arrays.toString(beanFactory.getBeanNamesForType(EmbeddingModel.class)), e);
+            }
+        }
+        return new SemanticTaskIndex(embedder, taskService, meterRegistry, Path.of(vectorFile), maxConnections,
+                efConstruction, efSearch, maxResults, duplicateThreshold);
+    }
+}
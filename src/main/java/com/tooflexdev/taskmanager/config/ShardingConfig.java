@@ -0,0 +1,113 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.tooflexdev.taskmanager.actuator.TaskShardsEndpoint;
+import com.tooflexdev.taskmanager.actuator.TaskShardsRebalanceEndpoint;
+import com.tooflexdev.taskmanager.sharding.ConsistentHashRing;
+import com.tooflexdev.taskmanager.sharding.ShardDirectory;
+import com.tooflexdev.taskmanager.sharding.ShardRebalancer;
+import com.tooflexdev.taskmanager.sharding.ShardedTaskRepository;
+import com.tooflexdev.taskmanager.sharding.TaskShards;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores tasks on the databases listed in {@code tasks.sharding.urls} instead of the primary when
+ * {@code tasks.sharding.enabled} is set. Shards are named {@code shard-0}, {@code shard-1}, ... in
+ * the order listed; users, roles and the bucket directory stay on the primary.
+ * <p>
+ * Tasks already in the primary's {@code task} table are not copied onto the shards, so startup
+ * is refused while it holds live tasks; export and re-create them through the API, or start from
+ * an empty table. Write-behind, reminders and archiving only know the primary's table and must
+ * be turned off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public TaskShards taskShards(@Value("${tasks.sharding.urls}") String urls,
+                                 @Value("${tasks.sharding.username:}") String username,
+                                 @Value("${tasks.sharding.password:}") String password,
+                                 @Value("${tasks.sharding.pool-size:10}") int poolSize,
+                                 @Value("${tasks.write-behind.enabled:false}") boolean writeBehind,
+                                 @Value("${reminders.enabled:true}") boolean reminders,
+                                 @Value("${archive.enabled:true}") boolean archive) {
+        // These read or write the primary's task table, which sharded mode keeps empty
+        if (writeBehind) {
+            throw new IllegalStateException("tasks.write-behind.enabled cannot be combined with tasks.sharding.enabled");
+        }
+        if (reminders) {
+            throw new IllegalStateException("reminders.enabled cannot be combined with tasks.sharding.enabled");
+        }
+        if (archive) {
+            throw new IllegalStateException("archive.enabled cannot be combined with tasks.sharding.enabled");
+        }
+        List<String> jdbcUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (int i = 0; i < jdbcUrls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(jdbcUrls.get(i));
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setPoolName("shard-" + i);
+            dataSources.put("shard-" + i, dataSource);
+        }
+        TaskShards shards = new TaskShards(dataSources);
+        shards.migrate();
+        return shards;
+    }
+
+    @Bean
+    @DependsOn("flywayInitializer") // task_shard_bucket comes from the primary's migrations
+    public ShardDirectory shardDirectory(DataSource dataSource, TaskShards taskShards,
+                                         @Value("${tasks.sharding.virtual-nodes:128}") int virtualNodes,
+                                         @Value("${tasks.sharding.directory-refresh-millis:1000}") long refreshMillis) {
+        Boolean primaryHasTasks = new JdbcTemplate(dataSource)
+                .queryForObject("SELECT EXISTS (SELECT 1 FROM task WHERE deleted_at IS NULL)", Boolean.class);
+        if (Boolean.TRUE.equals(primaryHasTasks)) {
+            // They would silently disappear from every listing, since sharded mode never reads the primary's task table
+            throw new IllegalStateException("tasks.sharding.enabled is set but the primary database still holds tasks; "
+                    + "move them onto the shards or clear the task table first");
+        }
+        ShardDirectory directory = new ShardDirectory(dataSource, Duration.ofMillis(refreshMillis));
+        directory.initialize(new ConsistentHashRing(taskShards.getNames(), virtualNodes), taskShards);
+        return directory;
+    }
+
+    @Bean
+    public ShardedTaskRepository shardedTaskRepository(TaskShards taskShards, ShardDirectory shardDirectory) {
+        return new ShardedTaskRepository(taskShards, shardDirectory);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(TaskShards taskShards, ShardDirectory shardDirectory,
+                                           @Value("${tasks.sharding.virtual-nodes:128}") int virtualNodes,
+                                           @Value("${tasks.sharding.directory-refresh-millis:1000}") long refreshMillis) {
+        // Old copies outlive the move until every instance has had two chances to refresh
+        return new ShardRebalancer(taskShards, shardDirectory, virtualNodes, Duration.ofMillis(2 * refreshMillis));
+    }
+
+    @Bean
+    public TaskShardsEndpoint taskShardsEndpoint(ShardDirectory shardDirectory,
+                                                 ShardedTaskRepository shardedTaskRepository) {
+        return new TaskShardsEndpoint(shardDirectory, shardedTaskRepository);
+    }
+
+    @Bean
+    public TaskShardsRebalanceEndpoint taskShardsRebalanceEndpoint(ShardRebalancer shardRebalancer) {
+        return new TaskShardsRebalanceEndpoint(shardRebalancer);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.tooflexdev.taskmanager.metrics.SqlContextCallableInterceptor;
+import com.tooflexdev.taskmanager.metrics.SqlRowCountingListener;
+import com.tooflexdev.taskmanager.metrics.SqlStatementCountingInspector;
+import com.tooflexdev.taskmanager.metrics.SqlTimingSessionListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires the per-request SQL counters into Hibernate: a statement inspector for statement counts,
+ * a session listener for JDBC time and a post-load listener for hydrated rows. Async handlers get
+ * the request's counters on their own thread through a callable interceptor.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig implements WebMvcConfigurer {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlInstrumentationCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCountingInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public InitializingBean sqlRowCountingRegistration(EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new SqlRowCountingListener());
+    }
+
+    // StreamingResponseBody runs as a callable, so this also covers the streamed task list
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new SqlContextCallableInterceptor());
+    }
+}
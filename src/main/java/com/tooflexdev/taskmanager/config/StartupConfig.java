@@ -0,0 +1,37 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.tooflexdev.taskmanager.datasource.ReplicaLagMonitor;
+import com.tooflexdev.taskmanager.enrichment.TaskEnrichmentPipeline;
+import com.tooflexdev.taskmanager.reminder.ReminderEngine;
+import com.tooflexdev.taskmanager.search.SemanticTaskIndex;
+import com.tooflexdev.taskmanager.service.TaskArchiveService;
+import com.tooflexdev.taskmanager.service.TaskEventBroker;
+import com.tooflexdev.taskmanager.service.TombstonePurger;
+import com.tooflexdev.taskmanager.service.UserExistenceFilter;
+import com.tooflexdev.taskmanager.writebehind.WriteBehindTaskUpdater;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps background beans eager when {@code spring.main.lazy-initialization} is on (the faststart
+ * profile). Their {@code @Scheduled} methods are only registered once the bean exists, and
+ * nothing else would ever ask for them.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                TombstonePurger.class,
+                TaskArchiveService.class,
+                TaskEventBroker.class,
+                ReminderEngine.class,
+                UserExistenceFilter.class,
+                WriteBehindTaskUpdater.class,
+                ReplicaLagMonitor.class,
+                TaskEnrichmentPipeline.class,
+                SemanticTaskIndex.class);
+    }
+}
@@ -1,16 +1,42 @@
 package com.tooflexdev.taskmanager.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tooflexdev.taskmanager.config.JacksonFormats;
 import com.tooflexdev.taskmanager.domain.Task;
 import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.ArchivedTaskResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskBatchResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskSearchResultDTO;
+import com.tooflexdev.taskmanager.search.SemanticTaskIndex;
+import com.tooflexdev.taskmanager.service.TaskArchiveService;
+import com.tooflexdev.taskmanager.service.TaskEventBroker;
 import com.tooflexdev.taskmanager.service.TaskService;
+import com.tooflexdev.taskmanager.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.Principal;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("api/v1/tasks")
@@ -18,47 +44,221 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskEventBroker taskEventBroker;
+    private final UserService userService;
+    private final TaskArchiveService taskArchiveService;
+    private final JacksonFormats jacksonFormats;
+    private final ObjectProvider<SemanticTaskIndex> semanticTaskIndex;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskEventBroker taskEventBroker, UserService userService,
+                          TaskArchiveService taskArchiveService, JacksonFormats jacksonFormats,
+                          ObjectProvider<SemanticTaskIndex> semanticTaskIndex) {
         this.taskService = taskService;
+        this.taskEventBroker = taskEventBroker;
+        this.userService = userService;
+        this.taskArchiveService = taskArchiveService;
+        this.jacksonFormats = jacksonFormats;
+        this.semanticTaskIndex = semanticTaskIndex;
     }
 
     @GetMapping
-    @Operation(summary = "Get all tasks", description = "Retrieve a list of all tasks")
-    public List<Task> getAllTasks() {
-        return taskService.getAllTasks();
+    @Operation(summary = "Get all tasks",
+            description = "Retrieve a list of all tasks, optionally limited to a sparse fieldset, as JSON, Smile or CBOR")
+    public ResponseEntity<StreamingResponseBody> getAllTasks(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,status")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Fields and format are resolved before streaming so bad input still gets a plain error status
+        List<String> selected;
+        MediaType mediaType;
+        try {
+            selected = fields != null ? taskService.resolveFields(fields) : null;
+            mediaType = jacksonFormats.negotiate(accept);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (mediaType == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        ObjectMapper objectMapper = jacksonFormats.mapperFor(mediaType);
+        // The mapper flushes after every value by default, which would push each task out on its own
+        ObjectWriter objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        // Written element by element as rows arrive, so the full list never sits in memory; closing flushes once
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                if (selected != null) {
+                    taskService.forEachTask(selected, row -> write(objectWriter, generator, row));
+                } else {
+                    taskService.forEachTask(task -> write(objectWriter, generator, task));
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get many tasks by id",
+            description = "Fetch up to a configured number of tasks in one query. Tasks come back in request order; "
+                    + "ids that do not exist or belong to another user are listed as missing. Admins see every task")
+    public ResponseEntity<TaskBatchResponseDTO> getTasksByIds(
+            @Parameter(description = "Comma-separated task ids, e.g. 12,7,31")
+            @RequestParam List<Long> ids,
+            Authentication authentication) {
+        Long ownerId = null;
+        if (!isAdmin(authentication)) {
+            Optional<Long> userId = userService.findIdByUsername(authentication.getName());
+            if (userId.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            ownerId = userId.get();
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksByIds(ids, ownerId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search tasks by meaning",
+            description = "Return the authenticated user's tasks closest in meaning to the query, best match first. "
+                    + "Not found unless semantic search is enabled")
+    public ResponseEntity<List<TaskSearchResultDTO>> searchTasks(
+            @Parameter(description = "Free-text query, e.g. prepare quarterly report")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of results")
+            @RequestParam(defaultValue = "10") int k,
+            @Parameter(description = "Minimum similarity score, from -1 to 1")
+            @RequestParam(defaultValue = "0") double minScore,
+            Authentication authentication) {
+        SemanticTaskIndex index = semanticTaskIndex.getIfAvailable();
+        Optional<Long> userId = userService.findIdByUsername(authentication.getName());
+        if (index == null || userId.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(index.search(userId.get(), q, k, minScore));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/duplicates")
+    @Operation(summary = "Find likely duplicates of a task",
+            description = "Return the authenticated user's other tasks whose title and description are nearly the same "
+                    + "in meaning as the given task's. Not found unless semantic search is enabled")
+    public ResponseEntity<List<TaskSearchResultDTO>> findDuplicateTasks(
+            @Parameter(description = "The ID of the task")
+            @PathVariable Long id,
+            Authentication authentication) {
+        SemanticTaskIndex index = semanticTaskIndex.getIfAvailable();
+        Optional<Long> userId = userService.findIdByUsername(authentication.getName());
+        if (index == null || userId.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(index.findDuplicates(userId.get(), id));
+        } catch (IllegalArgumentException e) {
+            // Unknown, not yet indexed or another user's task
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Get tasks by status", description = "Retrieve tasks filtered by their status")
-    public List<Task> getTasksByStatus(
+    public ResponseEntity<List<?>> getTasksByStatus(
             @Parameter(description = "The status of the tasks (e.g., PENDING, COMPLETED)")
-            @PathVariable TaskStatus status) {
-        return taskService.getTasksByStatus(status);
+            @PathVariable TaskStatus status,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,status")
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(taskService.getTasksByStatus(status));
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksByStatus(status, taskService.resolveFields(fields)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/category/{category}")
     @Operation(summary = "Get tasks by category", description = "Retrieve tasks filtered by their category")
-    public List<Task> getTasksByCategory(
+    public ResponseEntity<List<?>> getTasksByCategory(
             @Parameter(description = "The category of the tasks")
-            @PathVariable String category) {
-        return taskService.getTasksByCategory(category);
+            @PathVariable String category,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,status")
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(taskService.getTasksByCategory(category));
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksByCategory(category, taskService.resolveFields(fields)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/archive")
+    @Operation(summary = "Get archived tasks",
+            description = "Retrieve a page of completed tasks moved to the archive, across all users. Admins only")
+    public ResponseEntity<Page<ArchivedTaskResponseDTO>> getArchivedTasks(Pageable pageable,
+                                                                         Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(taskArchiveService.getArchivedTasks(pageable));
+    }
+
+    @GetMapping("/archive/user/{userId}")
+    @Operation(summary = "Get archived tasks by user",
+            description = "Retrieve a page of a user's archived tasks. Users may only read their own archive")
+    public ResponseEntity<Page<ArchivedTaskResponseDTO>> getArchivedTasksByUser(
+            @Parameter(description = "The ID of the user")
+            @PathVariable Long userId,
+            Pageable pageable,
+            Authentication authentication) {
+        if (!isAdmin(authentication)
+                && !userService.findIdByUsername(authentication.getName()).map(userId::equals).orElse(false)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(taskArchiveService.getArchivedTasksByUser(userId, pageable));
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task changes",
+            description = "Server-Sent Events stream of create, update and delete events for the authenticated user's tasks")
+    public ResponseEntity<SseEmitter> streamTaskEvents(Principal principal) {
+        return userService.findIdByUsername(principal.getName())
+                .map(taskEventBroker::subscribe)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
     @Operation(summary = "Create a new task", description = "Create a new task with the provided details")
-    public ResponseEntity<Task> createTask(@RequestBody Task task) {
-        Task createdTask = taskService.createTask(task);
+    public ResponseEntity<TaskResponseDTO> createTask(@RequestBody Task task) {
+        TaskResponseDTO createdTask = taskService.createTask(task);
         return ResponseEntity.ok(createdTask);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a task", description = "Update an existing task by its ID")
-    public ResponseEntity<Task> updateTask(
+    @Operation(summary = "Update a task",
+            description = "Update an existing task by its ID. In write-behind mode the update is acknowledged with "
+                    + "202 once it is durably logged; it is visible to reads at once and committed shortly after")
+    public ResponseEntity<TaskResponseDTO> updateTask(
             @Parameter(description = "The ID of the task to update")
             @PathVariable Long id,
             @RequestBody Task updatedTask) {
+        if (taskService.isWriteBehindEnabled()) {
+            return taskService.submitUpdate(id, updatedTask)
+                    ? ResponseEntity.accepted().build()
+                    : ResponseEntity.notFound().build();
+        }
         return taskService.updateTask(id, updatedTask)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -74,4 +274,17 @@ public class TaskController {
         }
         return ResponseEntity.notFound().build();
     }
-}
\ No newline at end of file
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private static void write(ObjectWriter objectWriter, JsonGenerator generator, Object value) {
+        try {
+            objectWriter.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.tooflexdev.taskmanager.controller;
 
+import com.tooflexdev.taskmanager.dto.BulkUserResultDTO;
 import com.tooflexdev.taskmanager.dto.UserRequestDTO;
 import com.tooflexdev.taskmanager.dto.UserResponseDTO;
+import com.tooflexdev.taskmanager.dto.UserSliceResponseDTO;
+import com.tooflexdev.taskmanager.service.BulkUserProvisioningService;
 import com.tooflexdev.taskmanager.service.UserService;
+import com.tooflexdev.taskmanager.validation.OrderedChecks;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,6 +21,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,10 +33,12 @@ import java.util.Set;
 public class UserController {
 
     private final UserService userService;
+    private final BulkUserProvisioningService bulkUserProvisioningService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, BulkUserProvisioningService bulkUserProvisioningService) {
         this.userService = userService;
+        this.bulkUserProvisioningService = bulkUserProvisioningService;
     }
 
 @GetMapping
@@ -58,8 +65,43 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
     }
 )
-    public ResponseEntity<Page<UserResponseDTO>> getAllUsers(Pageable pageable) {
-        return ResponseEntity.ok(userService.getAllUsers(pageable));
+    public ResponseEntity<Page<?>> getAllUsers(
+            Pageable pageable,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,username,roles")
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(userService.getAllUsers(pageable));
+        }
+        try {
+            return ResponseEntity.ok(userService.getAllUsers(pageable, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/scroll")
+    @Operation(
+            summary = "Scroll through users",
+            description = "Retrieve users ordered by username using keyset pagination. "
+                    + "Unlike the paged listing this issues no count query, so every slice is equally fast.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+            }
+    )
+    public ResponseEntity<UserSliceResponseDTO> scrollUsers(
+            @Parameter(description = "Cursor returned by the previous slice; omit for the first slice")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of users per slice (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Include a cached estimate of the total number of users")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(userService.getUserSlice(cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
@@ -127,7 +169,7 @@ public class UserController {
     )
     public ResponseEntity<UserResponseDTO> createUser(
             @Parameter(description = "User details", required = true)
-            @Valid @RequestBody UserRequestDTO userRequestDTO) {
+            @Validated(OrderedChecks.class) @RequestBody UserRequestDTO userRequestDTO) {
         try {
             UserResponseDTO createdUser = userService.createUser(userRequestDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
@@ -136,6 +178,26 @@ public class UserController {
         }
     }
 
+    @PostMapping("/bulk")
+    @Operation(
+            summary = "Create many users",
+            description = "Create a batch of users in one request. Each row is validated independently; "
+                    + "the result list reports, in request order, whether each row was created or rejected and why",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed, see per-row results"),
+                    @ApiResponse(responseCode = "400", description = "Batch too large", content = @Content)
+            }
+    )
+    public ResponseEntity<List<BulkUserResultDTO>> createUsers(
+            @Parameter(description = "Users to create", required = true)
+            @RequestBody List<UserRequestDTO> userRequestDTOs) {
+        try {
+            return ResponseEntity.ok(bulkUserProvisioningService.provisionUsers(userRequestDTOs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/role/{roleName}")
     @Operation(
             summary = "Create a new user with a role",
@@ -149,7 +211,7 @@ public class UserController {
             @Parameter(description = "The role to assign to the user", example = "USER")
             @PathVariable String roleName,
             @Parameter(description = "User details", required = true)
-            @Valid @RequestBody UserRequestDTO userRequestDTO) {
+            @Validated(OrderedChecks.class) @RequestBody UserRequestDTO userRequestDTO) {
         try {
             UserResponseDTO createdUser = userService.createUserWithRole(userRequestDTO, roleName);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
@@ -212,6 +274,7 @@ public class UserController {
             @Parameter(description = "The unique ID of the user to update", example = "1")
             @PathVariable Long id,
             @Parameter(description = "Updated user details", required = true)
+            // The email may be the user's own, so the uniqueness lookup in DatabaseChecks is left out
             @Valid @RequestBody UserRequestDTO userRequestDTO) {
         return userService.updateUser(id, userRequestDTO)
                 .map(ResponseEntity::ok)
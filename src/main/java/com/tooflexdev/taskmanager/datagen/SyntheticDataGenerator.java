@@ -0,0 +1,289 @@
+package com.tooflexdev.taskmanager.datagen;
+
+import com.tooflexdev.taskmanager.domain.Role;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates large synthetic data sets with JDBC batches on parallel workers.
+ * <p>
+ * Tasks are assigned to users with a Zipf distribution, categories are Zipf-skewed, a share of
+ * tasks become subtasks (chains up to {@code datagen.max-depth} deep) and creation and due dates
+ * are spread over {@code datagen.years} years. Rows get explicit ids above the current maximum,
+ * and work is cut into fixed-size segments that each draw from their own seeded random, so the
+ * output depends only on the seed and sizes, not on the number of workers. A database that
+ * already holds a generated set, such as the file-backed one of the datagen profile, is left as
+ * it is; delete it to generate again.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // Unit of parallel work and of randomness; subtask parents always come from the same segment
+    private static final int SEGMENT_SIZE = 10_000;
+    // Large prime above any int, so rank -> user index is a bijection for every user count
+    private static final long RANK_SCRAMBLE = 2_654_435_761L;
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO app_user (id, username, email, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_TASK_SQL =
+            "INSERT INTO task (id, title, description, status, category, priority, due_date, created_at, updated_at, "
+                    + "user_id, parent_task_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${datagen.users:100}")
+    private int userCount;
+    @Value("${datagen.tasks:2000}")
+    private long taskCount;
+    @Value("${datagen.seed:42}")
+    private long seed;
+    @Value("${datagen.workers:0}")
+    private int workers;
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+    @Value("${datagen.password:password}")
+    private String password;
+    @Value("${datagen.admin-ratio:0.001}")
+    private double adminRatio;
+    @Value("${datagen.tasks-per-user-exponent:0.8}")
+    private double tasksPerUserExponent;
+    @Value("${datagen.categories:40}")
+    private int categoryCount;
+    @Value("${datagen.category-exponent:1.3}")
+    private double categoryExponent;
+    @Value("${datagen.subtask-ratio:0.3}")
+    private double subtaskRatio;
+    @Value("${datagen.max-depth:8}")
+    private int maxDepth;
+    @Value("${datagen.years:5}")
+    private int years;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  RoleRepository roleRepository,
+                                  PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public void generate() {
+        if (userCount <= 0) {
+            return;
+        }
+        if (alreadyGenerated()) {
+            log.info("Synthetic data already present, skipping generation");
+            return;
+        }
+        long started = System.nanoTime();
+        long userBase = maxId("app_user");
+        long taskBase = maxId("task");
+        long userRoleId = roleId("USER");
+        long adminRoleId = roleId("ADMIN");
+        // One bcrypt hash for every generated user; hashing millions would dominate the run
+        String passwordHash = passwordEncoder.encode(password);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            AtomicLong usersDone = new AtomicLong();
+            List<Future<?>> userJobs = new ArrayList<>();
+            for (long from = 0; from < userCount; from += SEGMENT_SIZE) {
+                long segmentFrom = from;
+                long segmentTo = Math.min(from + SEGMENT_SIZE, userCount);
+                userJobs.add(pool.submit(() -> {
+                    insertUsers(segmentFrom, segmentTo, userBase, passwordHash, userRoleId, adminRoleId, now);
+                    progress("users", usersDone.addAndGet(segmentTo - segmentFrom), userCount);
+                }));
+            }
+            await(userJobs);
+
+            ZipfSampler userSampler = new ZipfSampler(userCount, tasksPerUserExponent);
+            ZipfSampler categorySampler = new ZipfSampler(categoryCount, categoryExponent);
+            AtomicLong tasksDone = new AtomicLong();
+            List<Future<?>> taskJobs = new ArrayList<>();
+            for (long from = 0; from < taskCount; from += SEGMENT_SIZE) {
+                long segmentFrom = from;
+                long segmentTo = Math.min(from + SEGMENT_SIZE, taskCount);
+                taskJobs.add(pool.submit(() -> {
+                    insertTasks(segmentFrom, segmentTo, taskBase, userBase, userSampler, categorySampler, now);
+                    progress("tasks", tasksDone.addAndGet(segmentTo - segmentFrom), taskCount);
+                }));
+            }
+            await(taskJobs);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Explicit ids bypass the identity sequences, so move them past the generated rows
+        restartIdentity("app_user", userBase + userCount + 1);
+        restartIdentity("task", taskBase + taskCount + 1);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Generated {} users and {} tasks in {} ms with {} workers (seed {})",
+                userCount, taskCount, elapsedMillis, threads, seed);
+    }
+
+    private void insertUsers(long from, long to, long userBase, String passwordHash,
+                             long userRoleId, long adminRoleId, LocalDateTime now) {
+        SplittableRandom random = new SplittableRandom(seed ^ (from * 0x9E3779B97F4A7C15L));
+        List<Object[]> users = new ArrayList<>((int) (to - from));
+        List<Object[]> userRoles = new ArrayList<>((int) (to - from));
+        for (long n = from; n < to; n++) {
+            long id = userBase + 1 + n;
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextLong(years * 525_600L)));
+            users.add(new Object[]{id, "gen-user-" + n, "gen-user-" + n + "@example.com", passwordHash, createdAt, createdAt});
+            userRoles.add(new Object[]{id, userRoleId});
+            if (random.nextDouble() < adminRatio) {
+                userRoles.add(new Object[]{id, adminRoleId});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            batchUpdate(INSERT_USER_SQL, users);
+            batchUpdate(INSERT_USER_ROLE_SQL, userRoles);
+        });
+    }
+
+    private void insertTasks(long from, long to, long taskBase, long userBase,
+                             ZipfSampler userSampler, ZipfSampler categorySampler, LocalDateTime now) {
+        Random random = new Random(seed ^ (from * 0xC2B2AE3D27D4EB4FL));
+        int size = (int) (to - from);
+        long[] owners = new long[size];
+        int[] depths = new int[size];
+        List<Object[]> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = taskBase + 1 + from + i;
+            Long parentId = null;
+            long userId;
+            int parent = i > 0 && random.nextDouble() < subtaskRatio ? pickParent(random, i, depths) : -1;
+            if (parent >= 0) {
+                parentId = taskBase + 1 + from + parent;
+                userId = owners[parent];
+                depths[i] = depths[parent] + 1;
+            } else {
+                userId = userBase + 1 + scramble(userSampler.sample(random), userSampler.size());
+            }
+            owners[i] = userId;
+
+            LocalDateTime createdAt = now.minusMinutes((long) (random.nextDouble() * years * 525_600L));
+            // Roughly one task in ten has no due date; the rest are due within six months of creation
+            LocalDateTime dueDate = random.nextInt(10) == 0 ? null : createdAt.plusDays(random.nextInt(180));
+            TaskStatus status = statusFor(random, dueDate, now);
+            LocalDateTime updatedAt = createdAt.plusMinutes(random.nextInt(60 * 24 * 30));
+            if (updatedAt.isAfter(now)) {
+                updatedAt = now;
+            }
+            rows.add(new Object[]{
+                    id,
+                    "Task " + (from + i),
+                    "Synthetic task " + (from + i),
+                    status.name(),
+                    "category-" + categorySampler.sample(random),
+                    priority(random),
+                    dueDate != null ? Timestamp.valueOf(dueDate) : null,
+                    Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(updatedAt),
+                    userId,
+                    parentId
+            });
+        }
+        // Parents precede their children within the segment, so batch order satisfies the foreign key
+        transactionTemplate.executeWithoutResult(status -> batchUpdate(INSERT_TASK_SQL, rows));
+    }
+
+    // Mostly extend the previous task's chain to build deep trees, otherwise branch from any earlier task
+    private int pickParent(Random random, int index, int[] depths) {
+        int candidate = random.nextInt(10) < 6 ? index - 1 : random.nextInt(index);
+        return depths[candidate] < maxDepth ? candidate : -1;
+    }
+
+    private static TaskStatus statusFor(Random random, LocalDateTime dueDate, LocalDateTime now) {
+        if (dueDate != null && dueDate.isBefore(now)) {
+            return random.nextInt(10) < 8 ? TaskStatus.DONE : TaskStatus.IN_PROGRESS;
+        }
+        return random.nextInt(3) == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.PENDING;
+    }
+
+    // Skewed towards the middle priorities
+    private static int priority(Random random) {
+        int value = 3 + (int) Math.round(random.nextGaussian());
+        return Math.max(1, Math.min(5, value));
+    }
+
+    // Spreads Zipf ranks over user ids so the heaviest users are not simply the oldest
+    private static long scramble(int rank, int n) {
+        return rank * RANK_SCRAMBLE % n;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    // Usernames restart at gen-user-0 on every run, so a second run would collide with the first
+    private boolean alreadyGenerated() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM app_user WHERE username = ?)", Boolean.class, "gen-user-0"));
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private long roleId(String name) {
+        return roleRepository.findByName(name)
+                .orElseGet(() -> roleRepository.save(new Role(name)))
+                .getId();
+    }
+
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+
+    private static void progress(String what, long done, long total) {
+        if (done == total || done % (SEGMENT_SIZE * 100L) == 0) {
+            log.info("Generated {}/{} {}", done, total, what);
+        }
+    }
+
+    private static void await(List<Future<?>> jobs) {
+        try {
+            for (Future<?> job : jobs) {
+                job.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data generation interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Data generation failed", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.tooflexdev.taskmanager.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Periodically measures how far the replica is behind the primary and decides whether read-only
+ * transactions may use it.
+ * <p>
+ * On PostgreSQL the lag is the age of the last replayed transaction, or zero when everything
+ * received has been replayed, so an idle primary is not mistaken for a lagging replica. Other
+ * databases, such as the H2 pair used locally, have no lag to measure and only get a liveness
+ * check. Any failure takes the replica out of rotation until the next successful check.
+ * <p>
+ * Checks run on the shared scheduler, so the query is bounded by a timeout. If no check has
+ * succeeded for two intervals, e.g. because the scheduler is busy or the check itself hangs
+ * waiting for a connection, the replica is treated as unusable until one does.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String POSTGRES_LAG_SQL = """
+            SELECT CASE
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT)
+            END
+            """;
+
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final long maxCheckAgeNanos;
+    private String lagQuery;
+
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+    private volatile long lastCheckedAt;
+
+    public ReplicaLagMonitor(DataSource replica, MeterRegistry meterRegistry, long maxLagMillis, Duration checkInterval) {
+        this.replica = new JdbcTemplate(replica);
+        // JDBC timeouts are whole seconds
+        this.replica.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+        this.maxLagMillis = maxLagMillis;
+        this.maxCheckAgeNanos = checkInterval.multipliedBy(2).toNanos();
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Replication lag measured on the replica, -1 when unknown")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the replica")
+                .register(meterRegistry);
+    }
+
+    // A verdict older than two check intervals is not trusted
+    public boolean isReplicaUsable() {
+        return replicaUsable && System.nanoTime() - lastCheckedAt <= maxCheckAgeNanos;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-millis:1000}")
+    public void check() {
+        boolean wasUsable = replicaUsable;
+        try {
+            Long lag = replica.queryForObject(lagQuery(), Long.class);
+            lagMillis = lag != null ? lag : 0;
+            lastCheckedAt = System.nanoTime();
+            replicaUsable = lagMillis <= maxLagMillis;
+        } catch (RuntimeException e) {
+            lagMillis = -1;
+            replicaUsable = false;
+            if (wasUsable) {
+                log.warn("Replica check failed, routing reads to the primary", e);
+            }
+            return;
+        }
+        if (wasUsable != replicaUsable) {
+            log.info("Replica {} (lag {} ms, limit {} ms)",
+                    replicaUsable ? "back in rotation" : "lagging, routing reads to the primary", lagMillis, maxLagMillis);
+        }
+    }
+
+    private String lagQuery() {
+        if (lagQuery == null) {
+            lagQuery = replica.execute((Connection connection) -> isPostgres(connection) ? POSTGRES_LAG_SQL : "SELECT 0");
+        }
+        return lagQuery;
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+}
@@ -0,0 +1,100 @@
+package com.tooflexdev.taskmanager.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * The decision is made when a physical connection is first needed, so this must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: transaction managers fetch their connection before the
+ * read-only flag is published. After a write transaction, the same user is pinned to the primary
+ * for a short window so they read their own writes despite replication lag, and all reads fall
+ * back to the primary while the {@link ReplicaLagMonitor} reports the replica as behind.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    // Why a connection went where it did; exported as the reason tag of datasource.routing
+    enum Route {
+        WRITE(Target.PRIMARY),
+        NO_TRANSACTION(Target.PRIMARY),
+        PINNED(Target.PRIMARY),
+        REPLICA_UNAVAILABLE(Target.PRIMARY),
+        READ_ONLY(Target.REPLICA);
+
+        private final Target target;
+
+        Route(Target target) {
+            this.target = target;
+        }
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Cache<String, Boolean> pinnedUsers;
+    private final Map<Route, Counter> routeCounters = new EnumMap<>(Route.class);
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry, Duration readAfterWriteWindow) {
+        this.lagMonitor = lagMonitor;
+        this.pinnedUsers = Caffeine.newBuilder().expireAfterWrite(readAfterWriteWindow).build();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        for (Route route : Route.values()) {
+            routeCounters.put(route, Counter.builder("datasource.routing")
+                    .description("Physical connections handed out, by target database and routing reason")
+                    .tag("target", route.target.name().toLowerCase())
+                    .tag("reason", route.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = route();
+        routeCounters.get(route).increment();
+        return route.target;
+    }
+
+    private Route route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.NO_TRANSACTION;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) {
+                pinnedUsers.put(user, Boolean.TRUE);
+            }
+            return Route.WRITE;
+        }
+        if (user != null && pinnedUsers.getIfPresent(user) != null) {
+            return Route.PINNED;
+        }
+        return lagMonitor.isReplicaUsable() ? Route.READ_ONLY : Route.REPLICA_UNAVAILABLE;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
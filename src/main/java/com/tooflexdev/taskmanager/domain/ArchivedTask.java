@@ -0,0 +1,43 @@
+package com.tooflexdev.taskmanager.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a completed task, moved out of the hot {@code task} table by the
+ * {@code TaskArchiveService}. Associations are kept as plain ids so the archive
+ * has no foreign keys into hot tables.
+ */
+@Entity
+@Table(name = "task_archive")
+@Getter
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    private String title;
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    private String category;
+    private Integer priority;
+    private LocalDateTime dueDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "parent_task_id")
+    private Long parentTaskId;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    protected ArchivedTask() {}
+}
@@ -0,0 +1,90 @@
+package com.tooflexdev.taskmanager.dto;
+
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archived task as returned by the API: the task's fields plus when it was archived.
+ */
+public class ArchivedTaskResponseDTO {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final TaskStatus status;
+    private final String category;
+    private final Integer priority;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long userId;
+    private final Long parentTaskId;
+    private final LocalDateTime archivedAt;
+
+    public ArchivedTaskResponseDTO(Long id, String title, String description, TaskStatus status, String category,
+                                   Integer priority, LocalDateTime dueDate, LocalDateTime createdAt,
+                                   LocalDateTime updatedAt, Long userId, Long parentTaskId,
+                                   LocalDateTime archivedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.category = category;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+        this.parentTaskId = parentTaskId;
+        this.archivedAt = archivedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getParentTaskId() {
+        return parentTaskId;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
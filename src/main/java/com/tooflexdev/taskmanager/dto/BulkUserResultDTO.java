@@ -0,0 +1,54 @@
+package com.tooflexdev.taskmanager.dto;
+
+import java.util.List;
+
+public class BulkUserResultDTO {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    private int index;
+    private String username;
+    private Status status;
+    private Long id;
+    private List<String> errors;
+
+    public BulkUserResultDTO(int index, String username, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.username = username;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BulkUserResultDTO created(int index, String username, Long id) {
+        return new BulkUserResultDTO(index, username, Status.CREATED, id, List.of());
+    }
+
+    public static BulkUserResultDTO rejected(int index, String username, List<String> errors) {
+        return new BulkUserResultDTO(index, username, Status.REJECTED, null, errors);
+    }
+
+    // Position of the row in the request
+    public int getIndex() {
+        return index;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
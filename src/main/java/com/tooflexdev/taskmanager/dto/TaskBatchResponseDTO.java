@@ -0,0 +1,24 @@
+package com.tooflexdev.taskmanager.dto;
+
+import java.util.List;
+
+public class TaskBatchResponseDTO {
+
+    private List<TaskResponseDTO> tasks;
+    private List<Long> missingIds;
+
+    public TaskBatchResponseDTO(List<TaskResponseDTO> tasks, List<Long> missingIds) {
+        this.tasks = tasks;
+        this.missingIds = missingIds;
+    }
+
+    // Found tasks, in the order their ids were requested
+    public List<TaskResponseDTO> getTasks() {
+        return tasks;
+    }
+
+    // Requested ids that do not exist or are not visible to the caller
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
@@ -0,0 +1,84 @@
+package com.tooflexdev.taskmanager.dto;
+
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task as returned by the API. Associations are flattened to ids, so serialization never
+ * touches the persistence context.
+ */
+public class TaskResponseDTO {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final TaskStatus status;
+    private final String category;
+    private final Integer priority;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long userId;
+    private final Long parentTaskId;
+
+    public TaskResponseDTO(Long id, String title, String description, TaskStatus status, String category,
+                           Integer priority, LocalDateTime dueDate, LocalDateTime createdAt,
+                           LocalDateTime updatedAt, Long userId, Long parentTaskId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.category = category;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+        this.parentTaskId = parentTaskId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getParentTaskId() {
+        return parentTaskId;
+    }
+}
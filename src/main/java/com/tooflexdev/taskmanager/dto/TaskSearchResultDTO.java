@@ -0,0 +1,21 @@
+package com.tooflexdev.taskmanager.dto;
+
+public class TaskSearchResultDTO {
+
+    private TaskResponseDTO task;
+    private double score;
+
+    public TaskSearchResultDTO(TaskResponseDTO task, double score) {
+        this.task = task;
+        this.score = score;
+    }
+
+    public TaskResponseDTO getTask() {
+        return task;
+    }
+
+    // Cosine similarity to the query, from -1 to 1
+    public double getScore() {
+        return score;
+    }
+}
@@ -1,5 +1,6 @@
 package com.tooflexdev.taskmanager.dto;
 
+import com.tooflexdev.taskmanager.validation.DatabaseChecks;
 import com.tooflexdev.taskmanager.validation.UniqueEmail;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -7,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.util.Set;
 
+// Validate with OrderedChecks to look the email up only once the fields are well-formed; the Default group skips it
 public class UserRequestDTO {
 
     @NotBlank(message = "Username is required")
@@ -15,7 +17,7 @@ public class UserRequestDTO {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @UniqueEmail(message = "Email is already taken")
+    @UniqueEmail(message = "Email is already taken", groups = DatabaseChecks.class)
     private String email;
 
     @NotBlank(message = "Password is required")
@@ -0,0 +1,36 @@
+package com.tooflexdev.taskmanager.dto;
+
+import java.util.List;
+
+public class UserSliceResponseDTO {
+
+    private List<UserResponseDTO> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long approximateTotal;
+
+    public UserSliceResponseDTO(List<UserResponseDTO> content, String nextCursor, boolean hasNext, Long approximateTotal) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.approximateTotal = approximateTotal;
+    }
+
+    public List<UserResponseDTO> getContent() {
+        return content;
+    }
+
+    // Opaque cursor to pass back for the next slice, null on the last slice
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    // Cached estimate of the total number of users, only present when requested
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+}
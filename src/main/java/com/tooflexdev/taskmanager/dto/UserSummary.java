@@ -0,0 +1,13 @@
+package com.tooflexdev.taskmanager.dto;
+
+/**
+ * Interface projection of the user columns needed for listings, so listing queries
+ * never hydrate {@code User} entities and their eagerly loaded roles.
+ */
+public interface UserSummary {
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+}
@@ -0,0 +1,78 @@
+package com.tooflexdev.taskmanager.dto.mapper;
+
+import com.tooflexdev.taskmanager.domain.ArchivedTask;
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.dto.ArchivedTaskResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskMapper {
+
+    // Reading the id of a lazy association does not initialize it
+    public static TaskResponseDTO toDTO(Task task) {
+        return new TaskResponseDTO(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getCategory(),
+                task.getPriority(),
+                task.getDueDate(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getUser() != null ? task.getUser().getId() : null,
+                task.getParentTask() != null ? task.getParentTask().getId() : null
+        );
+    }
+
+    public static ArchivedTaskResponseDTO toDTO(ArchivedTask task) {
+        return new ArchivedTaskResponseDTO(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getCategory(),
+                task.getPriority(),
+                task.getDueDate(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getUserId(),
+                task.getParentTaskId(),
+                task.getArchivedAt()
+        );
+    }
+
+    public static List<TaskResponseDTO> toDTOs(List<Task> tasks) {
+        List<TaskResponseDTO> dtos = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            dtos.add(toDTO(task));
+        }
+        return dtos;
+    }
+
+    // Only the requested fields, in request order, keyed like the projection queries' maps
+    public static Map<String, Object> toMap(TaskResponseDTO task, List<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            values.put(field, switch (field) {
+                case "id" -> task.getId();
+                case "title" -> task.getTitle();
+                case "description" -> task.getDescription();
+                case "status" -> task.getStatus();
+                case "category" -> task.getCategory();
+                case "priority" -> task.getPriority();
+                case "dueDate" -> task.getDueDate();
+                case "createdAt" -> task.getCreatedAt();
+                case "updatedAt" -> task.getUpdatedAt();
+                case "userId" -> task.getUserId();
+                case "parentTaskId" -> task.getParentTaskId();
+                default -> throw new IllegalArgumentException("Unknown task field: " + field);
+            });
+        }
+        return values;
+    }
+}
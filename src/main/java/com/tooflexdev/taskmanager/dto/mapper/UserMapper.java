@@ -3,8 +3,10 @@ package com.tooflexdev.taskmanager.dto.mapper;
 import com.tooflexdev.taskmanager.domain.User;
 import com.tooflexdev.taskmanager.dto.UserRequestDTO;
 import com.tooflexdev.taskmanager.dto.UserResponseDTO;
+import com.tooflexdev.taskmanager.dto.UserSummary;
 import com.tooflexdev.taskmanager.domain.Role;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class UserMapper {
@@ -20,6 +22,15 @@ public class UserMapper {
         );
     }
 
+    public static UserResponseDTO toDTO(UserSummary summary, Set<String> roles) {
+        return new UserResponseDTO(
+                summary.getId(),
+                summary.getUsername(),
+                summary.getEmail(),
+                roles
+        );
+    }
+
     public static User toEntity(UserRequestDTO dto) {
         User user = new User();
         user.setUsername(dto.getUsername());
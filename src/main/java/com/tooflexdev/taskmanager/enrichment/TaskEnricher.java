@@ -0,0 +1,98 @@
+package com.tooflexdev.taskmanager.enrichment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifies a batch of tasks with one chat model call.
+ * <p>
+ * Tasks are sent as a JSON array tagged with their position in the batch rather than their id,
+ * and the model answers with one object per position. Answers that are missing or malformed
+ * leave that task's slot empty instead of failing the whole batch.
+ */
+class TaskEnricher {
+
+    static final int MIN_PRIORITY = 1;
+    static final int MAX_PRIORITY = 5;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final int MAX_CATEGORY_LENGTH = 64;
+
+    private static final String INSTRUCTIONS = """
+            You classify tasks for a task manager. For every task in the JSON array you are given, choose a
+            short category of one or two words, such as Work, Personal, Finance, Health or Shopping, and a
+            priority from 1 (lowest) to 5 (highest) judged by urgency and importance. Answer with only a JSON
+            array holding one object per task, for example [{"index":0,"category":"Work","priority":3}].
+            """;
+
+    private final ChatModel chatModel;
+    private final ObjectMapper objectMapper;
+
+    TaskEnricher(ChatModel chatModel, ObjectMapper objectMapper) {
+        this.chatModel = chatModel;
+        this.objectMapper = objectMapper;
+    }
+
+    // One suggestion per task, in batch order; null where the model gave no usable answer
+    List<TaskEnrichment> enrich(List<TaskResponseDTO> tasks) {
+        ArrayNode input = objectMapper.createArrayNode();
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskResponseDTO task = tasks.get(i);
+            ObjectNode node = input.addObject().put("index", i).put("title", task.getTitle());
+            if (task.getDescription() != null && !task.getDescription().isBlank()) {
+                node.put("description", truncate(task.getDescription(), MAX_DESCRIPTION_LENGTH));
+            }
+            if (task.getDueDate() != null) {
+                node.put("dueDate", task.getDueDate().toLocalDate().toString());
+            }
+        }
+        ChatResponse response = chatModel.call(new Prompt(List.of(
+                new SystemMessage(INSTRUCTIONS), new UserMessage(input.toString()))));
+        return parse(response.getResult().getOutput().getContent(), tasks.size());
+    }
+
+    List<TaskEnrichment> parse(String answer, int size) {
+        TaskEnrichment[] results = new TaskEnrichment[size];
+        // Models like to wrap JSON in prose or code fences
+        int start = answer != null ? answer.indexOf('[') : -1;
+        int end = answer != null ? answer.lastIndexOf(']') : -1;
+        if (start < 0 || end < start) {
+            return Arrays.asList(results);
+        }
+        JsonNode array;
+        try {
+            array = objectMapper.readTree(answer.substring(start, end + 1));
+        } catch (JsonProcessingException e) {
+            return Arrays.asList(results);
+        }
+        for (JsonNode node : array) {
+            int index = node.path("index").asInt(-1);
+            String category = node.path("category").asText("").trim();
+            // Numbers given as strings are accepted; anything non-numeric reads as 0 and is rejected
+            int priority = node.path("priority").asInt(0);
+            if (index < 0 || index >= size || category.isEmpty() || priority == 0) {
+                continue;
+            }
+            results[index] = new TaskEnrichment(truncate(category, MAX_CATEGORY_LENGTH),
+                    Math.max(MIN_PRIORITY, Math.min(MAX_PRIORITY, priority)));
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
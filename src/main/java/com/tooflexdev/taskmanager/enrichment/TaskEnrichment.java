@@ -0,0 +1,23 @@
+package com.tooflexdev.taskmanager.enrichment;
+
+/**
+ * A category and priority suggested for a task by the chat model.
+ */
+final class TaskEnrichment {
+
+    private final String category;
+    private final int priority;
+
+    TaskEnrichment(String category, int priority) {
+        this.category = category;
+        this.priority = priority;
+    }
+
+    String getCategory() {
+        return category;
+    }
+
+    int getPriority() {
+        return priority;
+    }
+}
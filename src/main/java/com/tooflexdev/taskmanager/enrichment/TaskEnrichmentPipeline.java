@@ -0,0 +1,291 @@
+package com.tooflexdev.taskmanager.enrichment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import com.tooflexdev.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suggests a category and priority for new tasks that were created without one.
+ * <p>
+ * Created tasks are queued after their transaction commits, so {@code POST /api/v1/tasks} never
+ * waits for the model. A single batcher thread drains the queue into micro-batches of up to
+ * {@code batch-size} tasks, waiting at most {@code linger} for a batch to fill, and hands each
+ * batch to a small pool that caps concurrent model calls. While every call slot is busy the
+ * batcher waits, so a backlog turns into fuller batches rather than more calls. Suggestions are
+ * cached by a hash of the task's title and description, and tasks with the same content share a
+ * slot in a batch. Suggestions only fill fields that are still empty when they arrive.
+ * <p>
+ * Enrichment is best effort: a full queue drops new tasks, a failed call drops its batch, and
+ * tasks still queued at shutdown are not enriched.
+ */
+public class TaskEnrichmentPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEnrichmentPipeline.class);
+
+    private final TaskEnricher enricher;
+    private final TaskService taskService;
+    private final BlockingQueue<PendingTask> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int maxConcurrentCalls;
+    private final Semaphore callPermits;
+    private final ExecutorService callExecutor;
+    private final Cache<String, TaskEnrichment> cache;
+    private final Timer callTimer;
+    private final Timer lagTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter enrichedByModel;
+    private final Counter enrichedFromCache;
+    private final Counter failed;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread batcher;
+
+    public TaskEnrichmentPipeline(ChatModel chatModel,
+                                  ObjectMapper objectMapper,
+                                  TaskService taskService,
+                                  MeterRegistry meterRegistry,
+                                  int queueCapacity,
+                                  int batchSize,
+                                  Duration linger,
+                                  int maxConcurrentCalls,
+                                  int cacheSize) {
+        this.enricher = new TaskEnricher(chatModel, objectMapper);
+        this.taskService = taskService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.callPermits = new Semaphore(maxConcurrentCalls);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.callExecutor = Executors.newFixedThreadPool(maxConcurrentCalls, runnable -> {
+            Thread thread = new Thread(runnable, "task-enrichment-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(Duration.ofDays(1)).build();
+
+        this.callTimer = Timer.builder("tasks.enrichment.model.calls")
+                .description("Chat model calls, one per batch").register(meterRegistry);
+        this.lagTimer = Timer.builder("tasks.enrichment.lag")
+                .description("Time from commit until a task's suggestion is applied").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("tasks.enrichment.batch.size")
+                .description("Distinct tasks sent per model call").register(meterRegistry);
+        this.enrichedByModel = tasksCounter(meterRegistry, "model");
+        this.enrichedFromCache = tasksCounter(meterRegistry, "cache");
+        this.failed = tasksCounter(meterRegistry, "failed");
+        this.dropped = tasksCounter(meterRegistry, "dropped");
+        Gauge.builder("tasks.enrichment.queue.size", queue, BlockingQueue::size)
+                .description("Created tasks waiting to be batched").register(meterRegistry);
+        Gauge.builder("tasks.enrichment.calls.in-flight", this, TaskEnrichmentPipeline::getCallsInFlight)
+                .description("Model calls currently running").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        batcher = new Thread(this::runBatcher, "task-enrichment-batcher");
+        batcher.setDaemon(true);
+        batcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (batcher != null) {
+            batcher.interrupt();
+        }
+        callExecutor.shutdown();
+        try {
+            callExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.CREATED && event.getTask() != null) {
+            submit(event.getTask());
+        }
+    }
+
+    // Queue a task for enrichment without blocking, returning false if it needs none or the queue is full
+    public boolean submit(TaskResponseDTO task) {
+        boolean missingCategory = task.getCategory() == null || task.getCategory().isBlank();
+        if (!missingCategory && task.getPriority() != null) {
+            return false;
+        }
+        if (!queue.offer(new PendingTask(task, contentHash(task), System.nanoTime()))) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getCallsInFlight() {
+        return maxConcurrentCalls - callPermits.availablePermits();
+    }
+
+    private void runBatcher() {
+        while (running) {
+            try {
+                PendingTask first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingTask> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingTask next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Task enrichment batcher failed, continuing", e);
+            }
+        }
+    }
+
+    private void dispatch(List<PendingTask> batch) throws InterruptedException {
+        // Tasks with the same content need only one slot in the prompt
+        Map<String, List<PendingTask>> byContent = new LinkedHashMap<>();
+        for (PendingTask pending : batch) {
+            TaskEnrichment cached = cache.getIfPresent(pending.contentHash());
+            if (cached != null) {
+                apply(pending, cached, enrichedFromCache);
+            } else {
+                byContent.computeIfAbsent(pending.contentHash(), hash -> new ArrayList<>()).add(pending);
+            }
+        }
+        if (byContent.isEmpty()) {
+            return;
+        }
+        callPermits.acquire();
+        try {
+            callExecutor.execute(() -> {
+                try {
+                    enrich(byContent);
+                } finally {
+                    callPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            callPermits.release();
+            throw e;
+        }
+    }
+
+    private void enrich(Map<String, List<PendingTask>> byContent) {
+        List<List<PendingTask>> groups = new ArrayList<>(byContent.values());
+        List<TaskResponseDTO> tasks = new ArrayList<>(groups.size());
+        groups.forEach(group -> tasks.add(group.get(0).task()));
+        batchSizes.record(tasks.size());
+
+        List<TaskEnrichment> suggestions;
+        try {
+            suggestions = callTimer.recordCallable(() -> enricher.enrich(tasks));
+        } catch (Exception e) {
+            int count = groups.stream().mapToInt(List::size).sum();
+            log.warn("Enriching a batch of {} tasks failed; they keep their current category and priority", count, e);
+            failed.increment(count);
+            return;
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            TaskEnrichment suggestion = suggestions.get(i);
+            if (suggestion == null) {
+                failed.increment(groups.get(i).size());
+                continue;
+            }
+            cache.put(groups.get(i).get(0).contentHash(), suggestion);
+            for (PendingTask pending : groups.get(i)) {
+                apply(pending, suggestion, enrichedByModel);
+            }
+        }
+    }
+
+    private void apply(PendingTask pending, TaskEnrichment suggestion, Counter outcome) {
+        try {
+            taskService.enrichTask(pending.task().getId(), suggestion.getCategory(), suggestion.getPriority());
+            outcome.increment();
+            lagTimer.record(System.nanoTime() - pending.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply the suggested category and priority to task {}", pending.task().getId(), e);
+            failed.increment();
+        }
+    }
+
+    // Case and surrounding whitespace do not change the suggestion, so they do not change the key
+    static String contentHash(TaskResponseDTO task) {
+        String content = normalize(task.getTitle()) + '\u0000' + normalize(task.getDescription());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter tasksCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("tasks.enrichment.tasks")
+                .description("Created tasks processed by the enrichment pipeline")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record PendingTask(TaskResponseDTO task, String contentHash, long enqueuedNanos) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.tooflexdev.taskmanager.event;
+
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code TaskService} whenever a task is created, updated or deleted.
+ * Listeners that only care about committed data should use
+ * {@code @TransactionalEventListener}.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final Long userId;
+    // Snapshot of the task after the change, null for deletions
+    private final TaskResponseDTO task;
+    private final LocalDateTime occurredAt;
+
+    public static TaskChangedEvent created(TaskResponseDTO task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task.getUserId(), task, LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent updated(TaskResponseDTO task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task.getUserId(), task, LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent deleted(Long taskId, Long userId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, userId, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,164 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times every public method of {@code @Service} beans, every Spring Data repository call and the
+ * password encoder under a single {@code taskmanager.method} timer. Tags are bounded
+ * (layer, class, method, outcome) so histograms stay small and exemplars attach cleanly;
+ * percentiles and SLO buckets come from {@code management.metrics.distribution.*}.
+ * <p>
+ * With {@code metrics.method-timing.sample-rate} below 1 only that fraction of calls is timed,
+ * while {@code taskmanager.method.calls} still counts every call.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "metrics.method-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class MethodTimingAspect {
+
+    static final String TIMER_NAME = "taskmanager.method";
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final Map<MeterKey, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(MeterRegistry meterRegistry,
+                              @Value("${metrics.method-timing.sample-rate:1.0}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * com.tooflexdev.taskmanager..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "repository");
+    }
+
+    @Around("execution(* org.springframework.security.crypto.password.PasswordEncoder+.*(..))")
+    public Object timePasswordEncoder(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "security");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        // Repository methods are shared by every repository interface, so key on the proxy class too
+        MeterKey key = new MeterKey(joinPoint.getThis().getClass(), ((MethodSignature) joinPoint.getSignature()).getMethod());
+        MethodMeters methodMeters = meters.computeIfAbsent(key, k -> createMeters(joinPoint, layer));
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        long start = sampled ? System.nanoTime() : 0;
+        try {
+            Object result = joinPoint.proceed();
+            methodMeters.record(true, sampled, start);
+            return result;
+        } catch (Throwable ex) {
+            methodMeters.record(false, sampled, start);
+            throw ex;
+        }
+    }
+
+    private MethodMeters createMeters(ProceedingJoinPoint joinPoint, String layer) {
+        String className = repositoryOrTargetName(joinPoint, layer);
+        String methodName = joinPoint.getSignature().getName();
+        return new MethodMeters(
+                timer(layer, className, methodName, "success"),
+                () -> timer(layer, className, methodName, "error"),
+                sampleRate < 1.0 ? counter(layer, className, methodName, "success") : null,
+                sampleRate < 1.0 ? counter(layer, className, methodName, "error") : null);
+    }
+
+    // Repository targets are all SimpleJpaRepository, so name them after the repository interface
+    private static String repositoryOrTargetName(ProceedingJoinPoint joinPoint, String layer) {
+        if ("repository".equals(layer)) {
+            for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+                if (type.getName().startsWith("com.tooflexdev.taskmanager")) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+    }
+
+    private Timer timer(String layer, String className, String methodName, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Latency of service, repository and password encoder calls")
+                .tag("layer", layer)
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String layer, String className, String methodName, String outcome) {
+        return Counter.builder(TIMER_NAME + ".calls")
+                .description("Calls of service, repository and password encoder methods, including unsampled ones")
+                .tag("layer", layer)
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record MeterKey(Class<?> type, Method method) {
+    }
+
+    private static final class MethodMeters {
+        private final Timer success;
+        private final Supplier<Timer> errorTimerFactory;
+        private final Counter successCalls;
+        private final Counter errorCalls;
+        // Created on first failure so methods that never fail do not export an empty histogram
+        private volatile Timer error;
+
+        private MethodMeters(Timer success, Supplier<Timer> errorTimerFactory, Counter successCalls, Counter errorCalls) {
+            this.success = success;
+            this.errorTimerFactory = errorTimerFactory;
+            this.successCalls = successCalls;
+            this.errorCalls = errorCalls;
+        }
+
+        void record(boolean succeeded, boolean sampled, long start) {
+            if (sampled) {
+                long elapsed = System.nanoTime() - start;
+                if (succeeded) {
+                    success.record(elapsed, TimeUnit.NANOSECONDS);
+                } else {
+                    errorTimer().record(elapsed, TimeUnit.NANOSECONDS);
+                }
+            }
+            Counter calls = succeeded ? successCalls : errorCalls;
+            if (calls != null) {
+                calls.increment();
+            }
+        }
+
+        private Timer errorTimer() {
+            Timer timer = error;
+            if (timer == null) {
+                // Registering the same id twice returns the existing meter, so a race is harmless
+                timer = errorTimerFactory.get();
+                error = timer;
+            }
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the request's {@link SqlRequestContext} onto the thread that runs an async handler,
+ * such as a {@code StreamingResponseBody}, so the statements it executes are attributed to the
+ * route. {@link SqlRouteMetricsFilter} records the context once the async request completes.
+ */
+public class SqlContextCallableInterceptor implements CallableProcessingInterceptor {
+
+    private static final String ATTRIBUTE = SqlRequestContext.class.getName();
+
+    // Runs on the request thread, just before the handler returns
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            request.setAttribute(ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // Runs on the async thread
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof SqlRequestContext context) {
+            SqlRequestContext.bind(context);
+        }
+    }
+
+    // Runs on the async thread, also when the task failed
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        SqlRequestContext.end();
+    }
+}
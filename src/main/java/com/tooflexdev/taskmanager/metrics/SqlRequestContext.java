@@ -0,0 +1,96 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL counters, bound to the request thread by {@link SqlRouteMetricsFilter} and
+ * fed by the Hibernate hooks. Async handlers hand it to their own thread through
+ * {@link SqlContextCallableInterceptor}. Only one thread touches it at a time, so no synchronization.
+ */
+public final class SqlRequestContext {
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+
+    private final int repeatThreshold;
+    private final Map<String, Integer> statementShapes = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private long jdbcStart;
+    private String repeatedStatement;
+    private int repeatedCount;
+
+    private SqlRequestContext(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    static SqlRequestContext begin(int repeatThreshold) {
+        SqlRequestContext context = new SqlRequestContext(repeatThreshold);
+        CURRENT.set(context);
+        return context;
+    }
+
+    // Continue an existing request's context on another thread
+    static void bind(SqlRequestContext context) {
+        CURRENT.set(context);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // Null outside an instrumented request, e.g. on scheduler threads
+    public static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        int count = statementShapes.merge(sql, 1, Integer::sum);
+        if (count > repeatThreshold && count > repeatedCount) {
+            repeatedStatement = sql;
+            repeatedCount = count;
+        }
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    void jdbcStarted() {
+        jdbcStart = System.nanoTime();
+    }
+
+    void jdbcFinished() {
+        if (jdbcStart != 0) {
+            jdbcNanos += System.nanoTime() - jdbcStart;
+            jdbcStart = 0;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getDistinctStatements() {
+        return statementShapes.size();
+    }
+
+    // The most repeated statement if it crossed the N+1 threshold, otherwise null
+    public String getRepeatedStatement() {
+        return repeatedStatement;
+    }
+
+    public int getRepeatedCount() {
+        return repeatedCount;
+    }
+}
@@ -0,0 +1,96 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Binds a {@link SqlRequestContext} to each request and, once the request completes, attributes
+ * its SQL counters to the matched route, e.g. {@code GET /api/v1/tasks/status/{status}}.
+ * Runs ahead of the security chain so queries made while authenticating are counted too.
+ * Requests that go async, such as streamed responses, are recorded when the async request
+ * completes, with the statements run on the async thread included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlRouteMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlRouteMetricsFilter.class);
+
+    private final SqlRouteStatistics statistics;
+    private final boolean enabled;
+    private final int repeatThreshold;
+
+    public SqlRouteMetricsFilter(SqlRouteStatistics statistics,
+                                 @Value("${sql.instrumentation.enabled:true}") boolean enabled,
+                                 @Value("${sql.instrumentation.repeat-threshold:10}") int repeatThreshold) {
+        this.statistics = statistics;
+        this.enabled = enabled;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        SqlRequestContext context = SqlRequestContext.begin(repeatThreshold);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestContext.end();
+            String route = routeOf(request);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(route, context);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(route, context);
+            }
+        }
+    }
+
+    private void record(String route, SqlRequestContext context) {
+        boolean repeated = context.getRepeatedStatement() != null;
+        if (repeated) {
+            log.warn("Possible N+1 on {}: statement executed {} times in one request: {}",
+                    route, context.getRepeatedCount(), context.getRepeatedStatement());
+        }
+        statistics.record(route, context, repeated);
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+    }
+}
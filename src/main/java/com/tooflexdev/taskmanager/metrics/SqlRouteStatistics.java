@@ -0,0 +1,114 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates per-request SQL counters by HTTP route, both as Micrometer meters and as
+ * in-memory totals for the {@code sqlstats} actuator endpoint.
+ */
+@Component
+public class SqlRouteStatistics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public SqlRouteStatistics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void record(String route, SqlRequestContext context, boolean repeatedStatementDetected) {
+        routes.computeIfAbsent(route, this::createStats).record(context, repeatedStatementDetected);
+    }
+
+    public Map<String, RouteStats> getRoutes() {
+        return routes;
+    }
+
+    private RouteStats createStats(String route) {
+        return new RouteStats(
+                DistributionSummary.builder("http.sql.statements").tag("route", route)
+                        .description("SQL statements executed per request").register(meterRegistry),
+                DistributionSummary.builder("http.sql.rows").tag("route", route)
+                        .description("Entity rows hydrated per request").register(meterRegistry),
+                Timer.builder("http.sql.jdbc.time").tag("route", route)
+                        .description("Time spent executing JDBC statements per request").register(meterRegistry),
+                Counter.builder("http.sql.repeated.statements").tag("route", route)
+                        .description("Requests that repeated one statement more than the N+1 threshold")
+                        .register(meterRegistry));
+    }
+
+    public static final class RouteStats {
+        private final DistributionSummary statementsSummary;
+        private final DistributionSummary rowsSummary;
+        private final Timer jdbcTimer;
+        private final Counter repeatedCounter;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder jdbcNanos = new LongAdder();
+        private final LongAdder repeatedStatementRequests = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        private RouteStats(DistributionSummary statementsSummary, DistributionSummary rowsSummary,
+                           Timer jdbcTimer, Counter repeatedCounter) {
+            this.statementsSummary = statementsSummary;
+            this.rowsSummary = rowsSummary;
+            this.jdbcTimer = jdbcTimer;
+            this.repeatedCounter = repeatedCounter;
+        }
+
+        private void record(SqlRequestContext context, boolean repeatedStatementDetected) {
+            statementsSummary.record(context.getStatements());
+            rowsSummary.record(context.getRows());
+            jdbcTimer.record(context.getJdbcNanos(), TimeUnit.NANOSECONDS);
+            requests.increment();
+            statements.add(context.getStatements());
+            rows.add(context.getRows());
+            jdbcNanos.add(context.getJdbcNanos());
+            maxStatements.accumulate(context.getStatements());
+            if (repeatedStatementDetected) {
+                repeatedCounter.increment();
+                repeatedStatementRequests.increment();
+            }
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public double getAverageStatements() {
+            long count = getRequests();
+            return count == 0 ? 0 : (double) getStatements() / count;
+        }
+
+        public long getMaxStatements() {
+            return maxStatements.get();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public double getJdbcMillis() {
+            return jdbcNanos.sum() / 1_000_000.0;
+        }
+
+        public long getRepeatedStatementRequests() {
+            return repeatedStatementRequests.sum();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Counts entity rows hydrated by Hibernate for the current request. Projection and
+ * plain JDBC rows are not included.
+ */
+public class SqlRowCountingListener implements PostLoadEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            context.recordRows(1);
+        }
+    }
+}
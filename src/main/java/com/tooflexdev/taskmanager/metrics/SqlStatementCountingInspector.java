@@ -0,0 +1,19 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares against the current request. Statements are
+ * already parameterized, so the SQL text doubles as the statement shape for N+1 detection.
+ */
+public class SqlStatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            context.recordStatement(sql);
+        }
+        return sql;
+    }
+}
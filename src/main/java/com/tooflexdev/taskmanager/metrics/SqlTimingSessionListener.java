@@ -0,0 +1,36 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Accumulates JDBC execution time into the current request. Hibernate creates one instance per
+ * session from the {@code hibernate.session.events.auto} setting.
+ */
+public class SqlTimingSessionListener extends BaseSessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            context.jdbcStarted();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            context.jdbcFinished();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
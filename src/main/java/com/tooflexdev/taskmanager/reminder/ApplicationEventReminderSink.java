@@ -0,0 +1,24 @@
+package com.tooflexdev.taskmanager.reminder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Republishes reminders as application events for in-process {@code @EventListener}s.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.sink.events.enabled", havingValue = "true")
+public class ApplicationEventReminderSink implements ReminderSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationEventReminderSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void deliver(Reminder reminder) {
+        eventPublisher.publishEvent(reminder);
+    }
+}
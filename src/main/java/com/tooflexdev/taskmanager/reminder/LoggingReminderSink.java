@@ -0,0 +1,19 @@
+package com.tooflexdev.taskmanager.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "reminders.sink.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void deliver(Reminder reminder) {
+        log.info("Task {} for user {} is due at {}: {}",
+                reminder.getTaskId(), reminder.getUserId(), reminder.getDueDate(), reminder.getTitle());
+    }
+}
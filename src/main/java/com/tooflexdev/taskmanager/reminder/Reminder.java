@@ -0,0 +1,23 @@
+package com.tooflexdev.taskmanager.reminder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A due-date reminder for one task. Built directly from a JPQL constructor expression so the
+ * reminder window can be loaded without hydrating task entities. {@code updatedAt} orders a
+ * loaded row against task changes that arrive while the window is being loaded.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class Reminder {
+    private final Long taskId;
+    private final Long userId;
+    private final String title;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime updatedAt;
+}
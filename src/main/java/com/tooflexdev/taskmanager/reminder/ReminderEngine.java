@@ -0,0 +1,241 @@
+package com.tooflexdev.taskmanager.reminder;
+
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import com.tooflexdev.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fires due-date reminders {@code lead-time} before a task is due.
+ * <p>
+ * Only the next window of due dates is kept in memory: it is loaded with an indexed range query
+ * on {@code due_date} and extended incrementally as time passes. Task changes are applied from
+ * {@link TaskChangedEvent}s, so each create, update or delete costs one O(1) wheel operation.
+ * Changes that arrive while a window is being loaded are kept aside and win over loaded rows
+ * that are not newer, so a slow load never brings back a deleted or changed reminder.
+ * <p>
+ * Due reminders are handed to a bounded delivery pool, so a slow sink such as the webhook does
+ * not hold up the scheduler thread. When the pool's queue is full, reminders are dropped and
+ * counted in {@code reminders.dropped}.
+ */
+@Service
+public class ReminderEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderEngine.class);
+
+    private final TaskRepository taskRepository;
+    private final List<ReminderSink> sinks;
+    private final boolean enabled;
+    private final long leadTimeMinutes;
+    private final long windowMinutes;
+    private final TimingWheel<Long, Reminder> wheel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ThreadPoolExecutor deliveryPool;
+    private final Counter firedReminders;
+    private final Counter droppedReminders;
+
+    // Due dates before this instant are already loaded into the wheel
+    private LocalDateTime loadedUntil;
+    // Latest change per task seen while a window load runs, null otherwise
+    private Map<Long, TaskChangedEvent> changesDuringLoad;
+
+    public ReminderEngine(TaskRepository taskRepository,
+                          List<ReminderSink> sinks,
+                          MeterRegistry meterRegistry,
+                          @Value("${reminders.enabled:true}") boolean enabled,
+                          @Value("${reminders.lead-time-minutes:60}") long leadTimeMinutes,
+                          @Value("${reminders.window-minutes:120}") long windowMinutes,
+                          @Value("${reminders.tick-millis:1000}") long tickMillis,
+                          @Value("${reminders.wheel-size:8192}") int wheelSize,
+                          @Value("${reminders.delivery-threads:4}") int deliveryThreads,
+                          @Value("${reminders.delivery-queue-capacity:10000}") int deliveryQueueCapacity) {
+        this.taskRepository = taskRepository;
+        this.sinks = sinks;
+        this.enabled = enabled;
+        this.leadTimeMinutes = leadTimeMinutes;
+        this.windowMinutes = windowMinutes;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.deliveryPool = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(deliveryQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "reminder-delivery-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.firedReminders = Counter.builder("reminders.fired")
+                .description("Due-date reminders delivered to sinks").register(meterRegistry);
+        this.droppedReminders = Counter.builder("reminders.dropped")
+                .description("Due-date reminders dropped because the delivery queue was full").register(meterRegistry);
+        Gauge.builder("reminders.delivery.queued", deliveryPool, pool -> pool.getQueue().size())
+                .description("Due reminders waiting for a delivery thread").register(meterRegistry);
+        Gauge.builder("reminders.scheduled", wheel, TimingWheel::size)
+                .description("Reminders currently held in the timing wheel").register(meterRegistry);
+    }
+
+    // Extend the in-memory window with the next range of upcoming due dates
+    @Scheduled(fixedDelayString = "${reminders.reload-interval-millis:600000}")
+    public void loadWindow() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime from;
+        LocalDateTime to = LocalDateTime.now().plusMinutes(leadTimeMinutes + windowMinutes);
+        lock.lock();
+        try {
+            from = loadedUntil != null ? loadedUntil : LocalDateTime.now();
+            if (!to.isAfter(from)) {
+                return;
+            }
+            changesDuringLoad = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+
+        // Queried outside the lock; changes committed meanwhile are collected by onTaskChanged
+        List<Reminder> upcoming;
+        try {
+            upcoming = taskRepository.findRemindersDueBetween(from, to, TaskStatus.DONE);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                changesDuringLoad = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            Map<Long, TaskChangedEvent> changes = changesDuringLoad;
+            changesDuringLoad = null;
+            loadedUntil = to;
+            for (Reminder reminder : upcoming) {
+                TaskChangedEvent change = changes.remove(reminder.getTaskId());
+                if (change == null || isOlder(change, reminder)) {
+                    schedule(reminder);
+                } else {
+                    apply(change);
+                }
+            }
+            // Changes to tasks the load did not return, applied again now that the window is wider
+            changes.values().forEach(this::apply);
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Loaded {} reminders due between {} and {}", upcoming.size(), from, to);
+    }
+
+    @Scheduled(fixedDelayString = "${reminders.tick-millis:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<Reminder> due = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advance(System.currentTimeMillis(), (taskId, reminder) -> due.add(reminder));
+        } finally {
+            lock.unlock();
+        }
+        for (Reminder reminder : due) {
+            try {
+                deliveryPool.execute(() -> deliver(reminder));
+            } catch (RejectedExecutionException e) {
+                droppedReminders.increment();
+                log.warn("Reminder delivery queue is full, dropping the reminder for task {}", reminder.getTaskId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled || event.getTaskId() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.put(event.getTaskId(), event);
+            }
+            apply(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getScheduledCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        deliveryPool.shutdownNow();
+    }
+
+    // Called with the lock held
+    private void apply(TaskChangedEvent event) {
+        TaskResponseDTO task = event.getTask();
+        if (task == null || task.getStatus() == TaskStatus.DONE || task.getDueDate() == null
+                || loadedUntil == null || !task.getDueDate().isBefore(loadedUntil)) {
+            // Deleted, completed, undated or beyond the window: a later load picks it up if needed
+            wheel.cancel(event.getTaskId());
+        } else {
+            schedule(new Reminder(event.getTaskId(), event.getUserId(), task.getTitle(), task.getDueDate(),
+                    task.getUpdatedAt()));
+        }
+    }
+
+    private void deliver(Reminder reminder) {
+        for (ReminderSink sink : sinks) {
+            try {
+                sink.deliver(reminder);
+            } catch (RuntimeException e) {
+                log.warn("Reminder sink {} failed for task {}", sink.getClass().getSimpleName(), reminder.getTaskId(), e);
+            }
+        }
+        firedReminders.increment();
+    }
+
+    // A loaded row wins only if it is strictly newer than the change; deletes always win
+    private static boolean isOlder(TaskChangedEvent change, Reminder reminder) {
+        TaskResponseDTO task = change.getTask();
+        if (task == null || task.getUpdatedAt() == null || reminder.getUpdatedAt() == null) {
+            return false;
+        }
+        return task.getUpdatedAt().isBefore(reminder.getUpdatedAt());
+    }
+
+    private void schedule(Reminder reminder) {
+        LocalDateTime remindAt = reminder.getDueDate().minusMinutes(leadTimeMinutes);
+        wheel.schedule(reminder.getTaskId(), reminder, remindAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,8 @@
+package com.tooflexdev.taskmanager.reminder;
+
+/**
+ * Destination for fired reminders. Every sink bean in the context receives every reminder.
+ */
+public interface ReminderSink {
+    void deliver(Reminder reminder);
+}
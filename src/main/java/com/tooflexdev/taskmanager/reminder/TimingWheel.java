@@ -0,0 +1,122 @@
+package com.tooflexdev.taskmanager.reminder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Hashed timing wheel with O(1) schedule and cancel.
+ * <p>
+ * Entries are bucketed by their absolute deadline tick; deadlines further out than one wheel
+ * revolution simply stay in their bucket until a later pass reaches them. Every entry is linked
+ * into an intrusive doubly-linked list, so cancellation needs no bucket scan.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public class TimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Node<K, V>[] buckets;
+    private final Map<K, Node<K, V>> index = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = (Node<K, V>[]) new Node[size];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    // Schedule (or reschedule) an entry; deadlines in the past fire on the next advance
+    public void schedule(K key, V value, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        Node<K, V> node = new Node<>(key, value, tick);
+        int bucket = (int) (tick & mask);
+        node.next = buckets[bucket];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[bucket] = node;
+        index.put(key, node);
+    }
+
+    public boolean cancel(K key) {
+        Node<K, V> node = index.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return index.containsKey(key);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // Expire every entry whose deadline is at or before the given time, returning the number fired
+    public int advance(long nowMillis, BiConsumer<K, V> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            return 0;
+        }
+        long steps = Math.min(targetTick - currentTick, (long) buckets.length);
+        int fired = 0;
+        for (long step = 1; step <= steps; step++) {
+            int bucket = (int) ((currentTick + step) & mask);
+            Node<K, V> node = buckets[bucket];
+            while (node != null) {
+                Node<K, V> next = node.next;
+                if (node.tick <= targetTick) {
+                    unlink(node);
+                    index.remove(node.key);
+                    onExpired.accept(node.key, node.value);
+                    fired++;
+                }
+                node = next;
+            }
+        }
+        currentTick = targetTick;
+        return fired;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[(int) (node.tick & mask)] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final long tick;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long tick) {
+            this.key = key;
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+}
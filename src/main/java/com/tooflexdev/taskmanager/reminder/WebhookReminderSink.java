@@ -0,0 +1,41 @@
+package com.tooflexdev.taskmanager.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Posts reminders as JSON to a configured URL. Delivery is best-effort: failures are logged and
+ * the reminder is not retried.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.sink.webhook.url")
+public class WebhookReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookReminderSink.class);
+
+    private final RestClient restClient;
+
+    public WebhookReminderSink(RestClient.Builder restClientBuilder,
+                               @Value("${reminders.sink.webhook.url}") String url) {
+        this.restClient = restClientBuilder.baseUrl(url).build();
+    }
+
+    @Override
+    public void deliver(Reminder reminder) {
+        try {
+            restClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(reminder)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            log.warn("Failed to deliver reminder for task {}: {}", reminder.getTaskId(), e.getMessage());
+        }
+    }
+}
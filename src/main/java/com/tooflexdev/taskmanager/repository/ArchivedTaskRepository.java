@@ -0,0 +1,19 @@
+package com.tooflexdev.taskmanager.repository;
+
+import com.tooflexdev.taskmanager.domain.ArchivedTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    // Find archived tasks by user ID
+    Page<ArchivedTask> findByUserId(Long userId, Pageable pageable);
+
+    // Find the archived subtasks of an archived task
+    List<ArchivedTask> findByParentTaskId(Long parentTaskId);
+}
@@ -0,0 +1,34 @@
+package com.tooflexdev.taskmanager.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses a {@code fields=} query parameter such as {@code id,title,status} into the ordered,
+ * de-duplicated list of properties a projection should select.
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    public static List<String> parse(String fields, Set<String> allowed) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name + "; allowed fields are " + allowed);
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        return new ArrayList<>(selected);
+    }
+}
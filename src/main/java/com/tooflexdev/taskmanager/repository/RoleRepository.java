@@ -1,10 +1,18 @@
 package com.tooflexdev.taskmanager.repository;
 
 import com.tooflexdev.taskmanager.domain.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Served from the query cache; roles are effectively static
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Role> findByName(String name);
+
+    List<Role> findByNameIn(Collection<String> names);
 }
@@ -0,0 +1,24 @@
+package com.tooflexdev.taskmanager.repository;
+
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Sparse-fieldset queries on tasks: only the requested columns are selected, and each row comes
+ * back as a map keyed by field name in the requested order.
+ */
+public interface TaskProjectionRepository {
+
+    Set<String> FIELDS = Set.of("id", "title", "description", "status", "category", "priority",
+            "dueDate", "createdAt", "updatedAt", "userId", "parentTaskId");
+
+    // Status and category filters are optional; null matches every task
+    List<Map<String, Object>> findProjected(List<String> fields, TaskStatus status, String category);
+
+    // Must be consumed inside a transaction
+    Stream<Map<String, Object>> streamProjected(List<String> fields);
+}
@@ -0,0 +1,79 @@
+package com.tooflexdev.taskmanager.repository;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findProjected(List<String> fields, TaskStatus status, String category) {
+        return entityManager.createQuery(query(fields, status, category)).getResultList().stream()
+                .map(tuple -> toMap(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public Stream<Map<String, Object>> streamProjected(List<String> fields) {
+        return entityManager.createQuery(query(fields, null, null))
+                .setHint("org.hibernate.fetchSize", 500)
+                .getResultStream()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    private CriteriaQuery<Tuple> query(List<String> fields, TaskStatus status, String category) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(path(task, field).alias(field));
+        }
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(task.get("status"), status));
+        }
+        if (category != null) {
+            predicates.add(cb.equal(task.get("category"), category));
+        }
+        return query.where(predicates.toArray(Predicate[]::new));
+    }
+
+    // Association ids come from the foreign key columns; the parent join is left so roots are kept
+    private static Path<?> path(Root<Task> task, String field) {
+        return switch (field) {
+            case "userId" -> task.get("user").get("id");
+            case "parentTaskId" -> task.join("parentTask", JoinType.LEFT).get("id");
+            default -> task.get(field);
+        };
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+}
@@ -2,13 +2,25 @@ package com.tooflexdev.taskmanager.repository;
 
 import com.tooflexdev.taskmanager.domain.Task;
 import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.reminder.Reminder;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskProjectionRepository {
 
     // Find tasks by status
     List<Task> findByStatus(TaskStatus status);
@@ -22,4 +34,57 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // Find tasks by priority
     List<Task> findByPriority(Integer priority);
 
+    // Stream every task as a response DTO without materializing entities; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new com.tooflexdev.taskmanager.dto.TaskResponseDTO(t.id, t.title, t.description, t.status, "
+            + "t.category, t.priority, t.dueDate, t.createdAt, t.updatedAt, t.user.id, p.id) "
+            + "from Task t left join t.parentTask p")
+    Stream<TaskResponseDTO> streamAllAsDTOs();
+
+    // Load the given tasks as DTOs with one IN query; in-clause padding keeps the set of distinct statements small
+    @Query("select new com.tooflexdev.taskmanager.dto.TaskResponseDTO(t.id, t.title, t.description, t.status, "
+            + "t.category, t.priority, t.dueDate, t.createdAt, t.updatedAt, t.user.id, p.id) "
+            + "from Task t left join t.parentTask p where t.id in :ids")
+    List<TaskResponseDTO> findDTOsByIdIn(Collection<Long> ids);
+
+    // Same as findDTOsByIdIn, restricted to the tasks of one user
+    @Query("select new com.tooflexdev.taskmanager.dto.TaskResponseDTO(t.id, t.title, t.description, t.status, "
+            + "t.category, t.priority, t.dueDate, t.createdAt, t.updatedAt, t.user.id, p.id) "
+            + "from Task t left join t.parentTask p where t.id in :ids and t.user.id = :userId")
+    List<TaskResponseDTO> findDTOsByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    // Find reminders for open tasks due in [from, to), served by a range scan on due_date
+    @Query("select new com.tooflexdev.taskmanager.reminder.Reminder(t.id, t.user.id, t.title, t.dueDate, t.updatedAt) "
+            + "from Task t where t.dueDate >= :from and t.dueDate < :to "
+            + "and (t.status is null or t.status <> :excludedStatus)")
+    List<Reminder> findRemindersDueBetween(LocalDateTime from, LocalDateTime to, TaskStatus excludedStatus);
+
+    // Find the owner of a task without loading the entity
+    @Query("select t.user.id from Task t where t.id = :id")
+    Optional<Long> findUserIdById(Long id);
+
+    // Mark a task as deleted; TaskService tombstones its subtree in the same transaction
+    @Modifying
+    @Query("update Task t set t.deletedAt = :deletedAt where t.id = :id and t.deletedAt is null")
+    int softDeleteById(Long id, LocalDateTime deletedAt);
+
+    // Mark a set of tasks as deleted, e.g. one level of a deleted subtree
+    @Modifying
+    @Query("update Task t set t.deletedAt = :deletedAt where t.id in :ids and t.deletedAt is null")
+    int softDeleteByIdIn(Collection<Long> ids, LocalDateTime deletedAt);
+
+    // Ids of the live subtasks of the given tasks
+    @Query("select t.id from Task t where t.parentTask.id in :parentIds")
+    List<Long> findIdsByParentTaskIdIn(Collection<Long> parentIds);
+
+    // Mark all tasks of a user as deleted
+    @Modifying
+    @Query("update Task t set t.deletedAt = :deletedAt where t.user.id = :userId and t.deletedAt is null")
+    int softDeleteByUserId(Long userId, LocalDateTime deletedAt);
+
+    // Load a task with a row lock for read-modify-write updates that must not lose a concurrent change
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findByIdForUpdate(Long id);
+
 }
\ No newline at end of file
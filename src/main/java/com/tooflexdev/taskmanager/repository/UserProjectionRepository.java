@@ -0,0 +1,21 @@
+package com.tooflexdev.taskmanager.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse-fieldset page queries on users. The selectable fields are those of
+ * {@code UserResponseDTO}, so a selection never reveals what the full response hides, such as
+ * the timestamps. Roles live in a join table and are resolved by the service, so they are not a
+ * selectable column here.
+ */
+public interface UserProjectionRepository {
+
+    Set<String> FIELDS = Set.of("id", "username", "email");
+
+    Page<Map<String, Object>> findProjected(List<String> fields, Pageable pageable);
+}
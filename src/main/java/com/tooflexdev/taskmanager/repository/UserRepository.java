@@ -1,17 +1,28 @@
 package com.tooflexdev.taskmanager.repository;
 
 import com.tooflexdev.taskmanager.domain.User;
+import com.tooflexdev.taskmanager.dto.UserSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserProjectionRepository {
 
     // Find a user by username
     Optional<User> findByUsername(String username);
 
+    // Resolve a user's ID without loading the entity and its roles
+    @Query("select u.id from User u where u.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
     // Find a user by email
     Optional<User> findByEmail(String email);
 
@@ -20,4 +31,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Check if a user exists by username
     boolean existsByUsername(String username);
+
+    // First keyset slice of users ordered by (username, id); a List result skips the count query
+    @Query("select u.id as id, u.username as username, u.email as email from User u order by u.username, u.id")
+    List<UserSummary> findFirstSummaries(Pageable pageable);
+
+    // Keyset slice of users strictly after the given (username, id) position
+    @Query("select u.id as id, u.username as username, u.email as email from User u "
+            + "where u.username > :username or (u.username = :username and u.id > :id) "
+            + "order by u.username, u.id")
+    List<UserSummary> findSummariesAfter(String username, Long id, Pageable pageable);
+
+    // Batch-fetch role names for a page of users as (userId, roleName) rows
+    @Query("select u.id, r.name from User u join u.roles r where u.id in :userIds")
+    List<Object[]> findRoleNamesByUserIds(Collection<Long> userIds);
+
+    // Mark a user as deleted; the row is purged in the background
+    @Modifying
+    @Query("update User u set u.deletedAt = :deletedAt where u.id = :id and u.deletedAt is null")
+    int softDeleteById(Long id, LocalDateTime deletedAt);
 }
\ No newline at end of file
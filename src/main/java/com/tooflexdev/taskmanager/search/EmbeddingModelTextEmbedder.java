@@ -0,0 +1,44 @@
+package com.tooflexdev.taskmanager.search;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embeds text with a Spring AI {@link EmbeddingModel}, such as the OpenAI or Ollama one.
+ */
+public class EmbeddingModelTextEmbedder implements TextEmbedder {
+
+    private final String name;
+    private final EmbeddingModel embeddingModel;
+    private final int dimensions;
+
+    // The name identifies the model, usually its bean name
+    public EmbeddingModelTextEmbedder(String name, EmbeddingModel embeddingModel) {
+        this.name = name;
+        this.embeddingModel = embeddingModel;
+        // May cost a model call, so it is asked once
+        this.dimensions = embeddingModel.dimensions();
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public String id() {
+        return name + ":" + dimensions;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        // Not every provider returns unit vectors
+        for (float[] vector : embeddingModel.embed(texts)) {
+            vectors.add(TextEmbedder.normalize(vector.clone()));
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,74 @@
+package com.tooflexdev.taskmanager.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A deterministic embedder that needs no model: words and their character trigrams are hashed
+ * into a fixed number of signed buckets. It only captures lexical overlap, so "fix login bug"
+ * and "login fails" are close but "authentication error" is not; it exists for offline
+ * development and tests.
+ */
+public class HashingTextEmbedder implements TextEmbedder {
+
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    public HashingTextEmbedder(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public String id() {
+        return "local:" + dimensions;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            vectors.add(embedOne(text));
+        }
+        return vectors;
+    }
+
+    private float[] embedOne(String text) {
+        float[] vector = new float[dimensions];
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            add(vector, hash(word), 1);
+            String padded = "#" + word + "#";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                add(vector, hash(padded.substring(i, i + 3)), TRIGRAM_WEIGHT);
+            }
+        }
+        return TextEmbedder.normalize(vector);
+    }
+
+    // The low bits pick the bucket and the top bit the sign, so collisions tend to cancel out
+    private void add(float[] vector, long hash, float weight) {
+        vector[(int) Long.remainderUnsigned(hash, dimensions)] += hash < 0 ? -weight : weight;
+    }
+
+    // FNV-1a over the UTF-16 code units
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,255 @@
+package com.tooflexdev.taskmanager.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Hierarchical navigable small world graph for approximate nearest-neighbour search by dot
+ * product (Malkov and Yashunin, 2016).
+ * <p>
+ * Each node lives on layers 0 to a randomly drawn level, with exponentially fewer nodes per
+ * layer. A search descends greedily through the sparse upper layers and then runs a best-first
+ * search of width {@code ef} on layer 0. Neighbours are chosen with the paper's diversity
+ * heuristic, so links also reach into other clusters. Deleted nodes stay in the graph as
+ * waypoints but are never returned; callers rebuild the graph once too many pile up.
+ * <p>
+ * Not thread-safe.
+ */
+final class HnswGraph {
+
+    record Match(int id, float score) {
+    }
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingDouble(Match::score).reversed();
+
+    private final Vectors vectors;
+    private final int maxConnections;
+    private final int maxConnectionsLayer0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final Map<Integer, Node> nodes = new HashMap<>();
+
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private int deleted;
+
+    HnswGraph(Vectors vectors, int maxConnections, int efConstruction, long seed) {
+        this.vectors = vectors;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsLayer0 = maxConnections * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(maxConnections);
+        this.random = new SplittableRandom(seed);
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    int deletedCount() {
+        return deleted;
+    }
+
+    // Ids of nodes not marked deleted
+    List<Integer> liveIds() {
+        List<Integer> ids = new ArrayList<>(nodes.size() - deleted);
+        nodes.forEach((id, node) -> {
+            if (!node.deleted) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    void insert(int id) {
+        if (nodes.containsKey(id)) {
+            throw new IllegalArgumentException("Node " + id + " is already in the graph");
+        }
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        nodes.put(id, new Node(level, maxConnections, maxConnectionsLayer0));
+        if (entryPoint < 0) {
+            entryPoint = id;
+            topLevel = level;
+            return;
+        }
+
+        IntToDoubleFunction score = other -> vectors.dot(id, other);
+        int current = entryPoint;
+        for (int layer = topLevel; layer > level; layer--) {
+            current = greedy(score, current, layer);
+        }
+        for (int layer = Math.min(level, topLevel); layer >= 0; layer--) {
+            List<Match> candidates = searchLayer(score, current, efConstruction, layer);
+            for (Match neighbour : selectNeighbours(candidates, maxConnections)) {
+                link(id, neighbour.id(), layer);
+                link(neighbour.id(), id, layer);
+            }
+            current = candidates.get(0).id();
+        }
+        if (level > topLevel) {
+            topLevel = level;
+            entryPoint = id;
+        }
+    }
+
+    void delete(int id) {
+        Node node = nodes.get(id);
+        if (node != null && !node.deleted) {
+            node.deleted = true;
+            deleted++;
+        }
+    }
+
+    // The k live nodes most similar to the query, best first
+    List<Match> search(float[] query, int k, int ef) {
+        if (entryPoint < 0) {
+            return List.of();
+        }
+        IntToDoubleFunction score = id -> vectors.dot(id, query);
+        int current = entryPoint;
+        for (int layer = topLevel; layer > 0; layer--) {
+            current = greedy(score, current, layer);
+        }
+        // Widen the search by the deleted nodes it may have to step over
+        int width = Math.max(ef, k);
+        width += Math.min(deleted, width);
+        List<Match> matches = new ArrayList<>(k);
+        for (Match match : searchLayer(score, current, width, 0)) {
+            if (!nodes.get(match.id()).deleted) {
+                matches.add(match);
+                if (matches.size() == k) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Follow links on one layer to a local maximum
+    private int greedy(IntToDoubleFunction score, int start, int layer) {
+        int current = start;
+        double best = score.applyAsDouble(current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            for (int i = 0; i < node.linkCounts[layer]; i++) {
+                int candidate = node.links[layer][i];
+                double candidateScore = score.applyAsDouble(candidate);
+                if (candidateScore > best) {
+                    best = candidateScore;
+                    current = candidate;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Best-first search keeping the ef best nodes seen, returned best first
+    private List<Match> searchLayer(IntToDoubleFunction score, int entry, int ef, int layer) {
+        Set<Integer> visited = new HashSet<>();
+        PriorityQueue<Match> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Match> results = new PriorityQueue<>(Comparator.comparingDouble(Match::score));
+        Match start = new Match(entry, (float) score.applyAsDouble(entry));
+        visited.add(entry);
+        candidates.add(start);
+        results.add(start);
+        while (!candidates.isEmpty()) {
+            Match candidate = candidates.poll();
+            if (results.size() >= ef && candidate.score() < results.peek().score()) {
+                break;
+            }
+            Node node = nodes.get(candidate.id());
+            for (int i = 0; i < node.linkCounts[layer]; i++) {
+                int neighbour = node.links[layer][i];
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                float neighbourScore = (float) score.applyAsDouble(neighbour);
+                if (results.size() < ef || neighbourScore > results.peek().score()) {
+                    Match match = new Match(neighbour, neighbourScore);
+                    candidates.add(match);
+                    results.add(match);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        List<Match> sorted = new ArrayList<>(results);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+
+    // Keep a candidate only if it is closer to the base than to every neighbour already kept, then top up
+    // with the rejected ones so small graphs stay well connected. Candidates come best first.
+    private List<Match> selectNeighbours(List<Match> candidates, int limit) {
+        List<Match> selected = new ArrayList<>(limit);
+        List<Match> rejected = new ArrayList<>();
+        for (Match candidate : candidates) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            boolean diverse = true;
+            for (Match kept : selected) {
+                if (vectors.dot(candidate.id(), kept.id()) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : rejected).add(candidate);
+        }
+        for (int i = 0; i < rejected.size() && selected.size() < limit; i++) {
+            selected.add(rejected.get(i));
+        }
+        return selected;
+    }
+
+    // Add a link, re-selecting the node's neighbours when it is full
+    private void link(int from, int to, int layer) {
+        Node node = nodes.get(from);
+        int limit = layer == 0 ? maxConnectionsLayer0 : maxConnections;
+        int count = node.linkCounts[layer];
+        if (count < limit) {
+            node.links[layer][count] = to;
+            node.linkCounts[layer] = count + 1;
+            return;
+        }
+        List<Match> candidates = new ArrayList<>(count + 1);
+        for (int i = 0; i < count; i++) {
+            candidates.add(new Match(node.links[layer][i], vectors.dot(from, node.links[layer][i])));
+        }
+        candidates.add(new Match(to, vectors.dot(from, to)));
+        candidates.sort(BEST_FIRST);
+        List<Match> kept = selectNeighbours(candidates, limit);
+        for (int i = 0; i < kept.size(); i++) {
+            node.links[layer][i] = kept.get(i).id();
+        }
+        node.linkCounts[layer] = kept.size();
+    }
+
+    private static final class Node {
+
+        private final int[][] links;
+        private final int[] linkCounts;
+        private boolean deleted;
+
+        private Node(int level, int maxConnections, int maxConnectionsLayer0) {
+            this.links = new int[level + 1][];
+            for (int layer = 0; layer <= level; layer++) {
+                links[layer] = new int[layer == 0 ? maxConnectionsLayer0 : maxConnections];
+            }
+            this.linkCounts = new int[level + 1];
+        }
+    }
+}
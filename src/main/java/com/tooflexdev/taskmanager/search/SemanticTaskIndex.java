@@ -0,0 +1,399 @@
+package com.tooflexdev.taskmanager.search;
+
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskSearchResultDTO;
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import com.tooflexdev.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Semantic search over each user's tasks.
+ * <p>
+ * Title and description are embedded with a {@link TextEmbedder}; vectors are stored as float32
+ * in a memory-mapped {@link VectorStore} and indexed in one {@link HnswGraph} per user, so a
+ * query only ever walks the caller's own tasks. The graphs are rebuilt from the vector file on
+ * startup without calling the model, and a background pass then embeds whatever changed while
+ * the application was down. Task changes are applied after commit on a single indexing thread;
+ * a write that leaves title and description untouched costs no embedding.
+ * <p>
+ * Updates and deletes only mark the old graph node as deleted. Once deleted nodes outnumber
+ * live ones, the user's graph is rebuilt and their records become free for reuse.
+ * <p>
+ * Each instance keeps its own index and only hears about changes made on that instance, so with
+ * several instances behind a load balancer an index misses the others' writes until the periodic
+ * resync compares it with the database again.
+ */
+public class SemanticTaskIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SemanticTaskIndex.class);
+
+    private static final int EMBEDDING_BATCH_SIZE = 64;
+    private static final int MIN_DELETED_BEFORE_REBUILD = 64;
+
+    private final TextEmbedder embedder;
+    private final TaskService taskService;
+    private final VectorStore store;
+    private final int maxConnections;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int maxResults;
+    private final double duplicateThreshold;
+    private final Map<Long, UserGraph> graphs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> slotsByTask = new ConcurrentHashMap<>();
+    // Guards the store and the free list; graph changes additionally take the user's graph lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ExecutorService indexer;
+    private final AtomicBoolean resyncQueued = new AtomicBoolean();
+    private final Timer queryTimer;
+    private final Timer embedTimer;
+
+    public SemanticTaskIndex(TextEmbedder embedder,
+                             TaskService taskService,
+                             MeterRegistry meterRegistry,
+                             Path vectorFile,
+                             int maxConnections,
+                             int efConstruction,
+                             int efSearch,
+                             int maxResults,
+                             double duplicateThreshold) {
+        this.embedder = embedder;
+        this.taskService = taskService;
+        this.store = new VectorStore(vectorFile, embedder.id(), embedder.dimensions());
+        this.maxConnections = maxConnections;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.maxResults = maxResults;
+        this.duplicateThreshold = duplicateThreshold;
+        this.indexer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queryTimer = Timer.builder("tasks.search.query")
+                .description("Nearest-neighbour lookups in a user's task graph, embedding excluded")
+                .register(meterRegistry);
+        this.embedTimer = Timer.builder("tasks.search.embed")
+                .description("Embedding calls for queries and changed tasks").register(meterRegistry);
+        Gauge.builder("tasks.search.indexed", slotsByTask, Map::size)
+                .description("Tasks with an embedding in the search index").register(meterRegistry);
+    }
+
+    // Rebuild the graphs from the vector file, then catch up with the database in the background
+    @PostConstruct
+    public void start() {
+        writeLock.lock();
+        try {
+            for (int slot = 0; slot < store.size(); slot++) {
+                if (store.isFree(slot)) {
+                    freeSlots.add(slot);
+                } else {
+                    slotsByTask.put(store.taskId(slot), slot);
+                    graph(store.userId(slot)).graph.insert(slot);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Loaded {} task embeddings for {} users", slotsByTask.size(), graphs.size());
+        indexer.execute(this::synchronize);
+    }
+
+    // Catch up with changes made on other instances; a resync still waiting to run is not queued twice
+    @Scheduled(fixedDelayString = "${tasks.search.resync-interval-millis:900000}",
+            initialDelayString = "${tasks.search.resync-interval-millis:900000}")
+    public void resync() {
+        if (resyncQueued.compareAndSet(false, true)) {
+            indexer.execute(() -> {
+                resyncQueued.set(false);
+                synchronize();
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            indexer.execute(() -> remove(event.getTaskId()));
+        } else if (event.getTask() != null) {
+            indexer.execute(() -> index(List.of(event.getTask())));
+        }
+    }
+
+    // The caller's tasks closest in meaning to the query, best first
+    public List<TaskSearchResultDTO> search(long userId, String query, int limit, double minScore) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("A search query is required");
+        }
+        int k = Math.max(1, Math.min(limit, maxResults));
+        float[] vector = embedTimer.record(() -> embedder.embed(query));
+        return results(userId, nearest(userId, vector, k), minScore, -1);
+    }
+
+    // The caller's other tasks so similar to the given one that they are likely duplicates
+    public List<TaskSearchResultDTO> findDuplicates(long userId, long taskId) {
+        Integer slot = slotsByTask.get(taskId);
+        if (slot == null) {
+            throw new IllegalArgumentException("Task " + taskId + " is not indexed");
+        }
+        float[] vector;
+        UserGraph graph = graphs.get(userId);
+        if (graph == null) {
+            throw new IllegalArgumentException("Task " + taskId + " is not indexed");
+        }
+        graph.lock.readLock().lock();
+        try {
+            // Re-checked under the lock; a concurrent rebuild may have reused the slot
+            if (store.isFree(slot) || store.taskId(slot) != taskId || store.userId(slot) != userId) {
+                throw new IllegalArgumentException("Task " + taskId + " is not indexed");
+            }
+            vector = store.vector(slot);
+        } finally {
+            graph.lock.readLock().unlock();
+        }
+        return results(userId, nearest(userId, vector, maxResults + 1), duplicateThreshold, taskId);
+    }
+
+    public int getIndexedCount() {
+        return slotsByTask.size();
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        indexer.shutdown();
+        try {
+            indexer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeLock.lock();
+        try {
+            store.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Embed tasks that are new or whose text changed since the stored embedding, and drop vanished ones
+    void synchronize() {
+        try {
+            Set<Long> seen = new HashSet<>();
+            List<TaskResponseDTO> stale = new ArrayList<>();
+            // Collected first so no database stream stays open across model calls
+            taskService.forEachTask(task -> {
+                seen.add(task.getId());
+                Integer slot = slotsByTask.get(task.getId());
+                if (slot == null || store.contentHash(slot) != contentHash(task)) {
+                    stale.add(task);
+                }
+            });
+            for (int from = 0; from < stale.size(); from += EMBEDDING_BATCH_SIZE) {
+                index(stale.subList(from, Math.min(from + EMBEDDING_BATCH_SIZE, stale.size())));
+            }
+            int removed = 0;
+            for (Long taskId : new ArrayList<>(slotsByTask.keySet())) {
+                if (!seen.contains(taskId)) {
+                    remove(taskId);
+                    removed++;
+                }
+            }
+            store.force();
+            log.info("Search index synchronized: {} tasks embedded, {} removed", stale.size(), removed);
+        } catch (RuntimeException e) {
+            log.warn("Synchronizing the search index failed; it will catch up as tasks change", e);
+        }
+    }
+
+    // Embed and store tasks whose text changed; tasks with an up-to-date embedding are skipped
+    void index(List<TaskResponseDTO> tasks) {
+        List<TaskResponseDTO> changed = new ArrayList<>(tasks.size());
+        List<String> texts = new ArrayList<>(tasks.size());
+        for (TaskResponseDTO task : tasks) {
+            Integer slot = slotsByTask.get(task.getId());
+            if (slot == null || store.contentHash(slot) != contentHash(task)) {
+                changed.add(task);
+                texts.add(text(task));
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<float[]> vectors = embedTimer.record(() -> embedder.embed(texts));
+        writeLock.lock();
+        try {
+            for (int i = 0; i < changed.size(); i++) {
+                TaskResponseDTO task = changed.get(i);
+                Integer previous = slotsByTask.get(task.getId());
+                if (previous != null) {
+                    store.free(previous);
+                }
+                Integer free = freeSlots.poll();
+                int slot;
+                if (free != null) {
+                    slot = free;
+                    store.write(slot, task.getId(), task.getUserId(), contentHash(task), vectors.get(i));
+                } else {
+                    slot = store.append(task.getId(), task.getUserId(), contentHash(task), vectors.get(i));
+                }
+                UserGraph graph = graph(task.getUserId());
+                graph.lock.writeLock().lock();
+                try {
+                    if (previous != null) {
+                        graph.graph.delete(previous);
+                    }
+                    graph.graph.insert(slot);
+                } finally {
+                    graph.lock.writeLock().unlock();
+                }
+                if (previous != null) {
+                    graph.tombstones.add(previous);
+                }
+                slotsByTask.put(task.getId(), slot);
+                compactIfNeeded(graph);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void remove(Long taskId) {
+        writeLock.lock();
+        try {
+            Integer slot = slotsByTask.remove(taskId);
+            if (slot == null) {
+                return;
+            }
+            UserGraph graph = graph(store.userId(slot));
+            store.free(slot);
+            graph.lock.writeLock().lock();
+            try {
+                graph.graph.delete(slot);
+            } finally {
+                graph.lock.writeLock().unlock();
+            }
+            graph.tombstones.add(slot);
+            compactIfNeeded(graph);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Rebuild a graph without its deleted nodes once they outnumber the live ones; caller holds writeLock
+    private void compactIfNeeded(UserGraph graph) {
+        int deleted = graph.graph.deletedCount();
+        if (deleted < MIN_DELETED_BEFORE_REBUILD || deleted < graph.graph.size() - deleted) {
+            return;
+        }
+        HnswGraph rebuilt = newGraph();
+        graph.graph.liveIds().forEach(rebuilt::insert);
+        graph.lock.writeLock().lock();
+        try {
+            graph.graph = rebuilt;
+        } finally {
+            graph.lock.writeLock().unlock();
+        }
+        // No graph links to the deleted records any more, so they can be reused
+        freeSlots.addAll(graph.tombstones);
+        graph.tombstones.clear();
+    }
+
+    private List<HnswGraph.Match> nearest(long userId, float[] vector, int k) {
+        UserGraph graph = graphs.get(userId);
+        if (graph == null) {
+            return List.of();
+        }
+        graph.lock.readLock().lock();
+        try {
+            return queryTimer.record(() -> graph.graph.search(vector, k, efSearch));
+        } finally {
+            graph.lock.readLock().unlock();
+        }
+    }
+
+    // Load the matched tasks, dropping any the caller cannot see, weak matches and the excluded task
+    private List<TaskSearchResultDTO> results(long userId, List<HnswGraph.Match> matches, double minScore,
+                                              long excludedTaskId) {
+        Map<Long, Float> scores = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        for (HnswGraph.Match match : matches) {
+            long taskId = store.taskId(match.id());
+            if (taskId >= 0 && taskId != excludedTaskId && match.score() >= minScore) {
+                scores.put(taskId, match.score());
+                ids.add(taskId);
+            }
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<TaskSearchResultDTO> results = new ArrayList<>(ids.size());
+        // The batch lookup returns tasks in request order, which is best match first
+        for (TaskResponseDTO task : taskService.getTasksByIds(ids, userId).getTasks()) {
+            results.add(new TaskSearchResultDTO(task, scores.get(task.getId())));
+        }
+        return results;
+    }
+
+    private UserGraph graph(long userId) {
+        return graphs.computeIfAbsent(userId, id -> new UserGraph(newGraph()));
+    }
+
+    private HnswGraph newGraph() {
+        return new HnswGraph(store, maxConnections, efConstruction, 42);
+    }
+
+    private static String text(TaskResponseDTO task) {
+        String description = task.getDescription();
+        return description == null || description.isBlank()
+                ? String.valueOf(task.getTitle())
+                : task.getTitle() + "\n" + description;
+    }
+
+    // FNV-1a of the embedded text; a change of status or due date keeps the embedding
+    static long contentHash(TaskResponseDTO task) {
+        String text = text(task);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static final class UserGraph {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // Freed records still reachable as graph waypoints; reusable once the graph is rebuilt
+        private final List<Integer> tombstones = new ArrayList<>();
+        private volatile HnswGraph graph;
+
+        private UserGraph(HnswGraph graph) {
+            this.graph = graph;
+        }
+    }
+}
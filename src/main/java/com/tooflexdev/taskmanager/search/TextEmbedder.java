@@ -0,0 +1,37 @@
+package com.tooflexdev.taskmanager.search;
+
+import java.util.List;
+
+/**
+ * Turns text into unit-length float vectors, so the dot product of two vectors is their cosine
+ * similarity.
+ */
+public interface TextEmbedder {
+
+    int dimensions();
+
+    // Names the model and dimensions; vectors from embedders with different ids are not comparable
+    String id();
+
+    // One vector per text, in order
+    List<float[]> embed(List<String> texts);
+
+    default float[] embed(String text) {
+        return embed(List.of(text)).get(0);
+    }
+
+    // Scale a vector to unit length in place; the zero vector stays as it is
+    static float[] normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        if (sum > 0) {
+            float scale = (float) (1 / Math.sqrt(sum));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+}
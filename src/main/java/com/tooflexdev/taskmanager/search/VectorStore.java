@@ -0,0 +1,243 @@
+package com.tooflexdev.taskmanager.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Task embeddings in a memory-mapped file, so vectors live off-heap and survive restarts.
+ * <p>
+ * After a {@value #HEADER_BYTES}-byte header ({@code magic, version, dimensions, size} and the
+ * UTF-8 id of the embedder that wrote the vectors) the file is an array of fixed-size records: task id, user id and content hash as longs, followed by the vector as
+ * little-endian float32. A freed record has task id -1. The file is mapped in chunks of
+ * {@value #RECORDS_PER_CHUNK} records and grows a chunk at a time. A file written by another
+ * embedder is started over, since its vectors are not comparable with new ones.
+ * <p>
+ * Not thread-safe for writers; callers serialize changes. Readers may run concurrently with a
+ * writer as long as they only read records published to them through a lock.
+ */
+final class VectorStore implements Vectors, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorStore.class);
+
+    private static final int MAGIC = 0x54564543;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 128;
+    private static final int EMBEDDER_OFFSET = 20;
+    private static final int MAX_EMBEDDER_BYTES = HEADER_BYTES - EMBEDDER_OFFSET;
+    private static final int RECORD_HEADER_LONGS = 3;
+    private static final int RECORDS_PER_CHUNK = 4096;
+    private static final long FREE = -1;
+
+    private final int dimensions;
+    private final int recordFloats;
+    private final long chunkBytes;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+
+    // Replaced, never modified, when the file grows
+    private volatile FloatBuffer[] floatChunks = new FloatBuffer[0];
+    private volatile LongBuffer[] longChunks = new LongBuffer[0];
+    private MappedByteBuffer[] mappedChunks = new MappedByteBuffer[0];
+    private int size;
+
+    VectorStore(Path file, String embedderId, int dimensions) {
+        byte[] embedder = embedderId.getBytes(StandardCharsets.UTF_8);
+        if (embedder.length > MAX_EMBEDDER_BYTES) {
+            throw new IllegalArgumentException("Embedder id is longer than " + MAX_EMBEDDER_BYTES + " bytes: " + embedderId);
+        }
+        this.dimensions = dimensions;
+        // Two floats per long keep every record 8-byte aligned
+        this.recordFloats = RECORD_HEADER_LONGS * 2 + dimensions + (dimensions % 2);
+        this.chunkBytes = (long) RECORDS_PER_CHUNK * recordFloats * Float.BYTES;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open vector file " + file, e);
+        }
+        if (header.getInt(0) == MAGIC && header.getInt(4) == VERSION && header.getInt(8) == dimensions
+                && embedderId.equals(storedEmbedder())) {
+            size = header.getInt(12);
+            ensureCapacity(size);
+        } else {
+            if (header.getInt(0) == MAGIC && header.getInt(4) == VERSION) {
+                log.warn("Vector file {} was written by embedder {}, the index now uses {}; starting over",
+                        file, storedEmbedder(), embedderId);
+            } else if (header.getInt(0) == MAGIC) {
+                log.warn("Vector file {} has format version {}, expected {}; starting over",
+                        file, header.getInt(4), VERSION);
+            }
+            header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, dimensions).putInt(12, 0)
+                    .putInt(16, embedder.length).put(EMBEDDER_OFFSET, embedder);
+            size = 0;
+        }
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    // The id written by the previous run, or null when the header does not hold a valid one
+    private String storedEmbedder() {
+        int length = header.getInt(16);
+        if (length <= 0 || length > MAX_EMBEDDER_BYTES) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        header.get(EMBEDDER_OFFSET, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Number of records ever allocated, freed ones included
+    int size() {
+        return size;
+    }
+
+    boolean isFree(int slot) {
+        return taskId(slot) == FREE;
+    }
+
+    long taskId(int slot) {
+        return longs(slot).get(longOffset(slot));
+    }
+
+    long userId(int slot) {
+        return longs(slot).get(longOffset(slot) + 1);
+    }
+
+    long contentHash(int slot) {
+        return longs(slot).get(longOffset(slot) + 2);
+    }
+
+    float[] vector(int slot) {
+        float[] vector = new float[dimensions];
+        floats(slot).get(vectorOffset(slot), vector);
+        return vector;
+    }
+
+    // Append a record at the end of the file and return its slot
+    int append(long taskId, long userId, long contentHash, float[] vector) {
+        int slot = size;
+        ensureCapacity(slot + 1);
+        write(slot, taskId, userId, contentHash, vector);
+        size = slot + 1;
+        header.putInt(12, size);
+        return slot;
+    }
+
+    void write(int slot, long taskId, long userId, long contentHash, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        floats(slot).put(vectorOffset(slot), vector);
+        LongBuffer longs = longs(slot);
+        int offset = longOffset(slot);
+        longs.put(offset + 1, userId);
+        longs.put(offset + 2, contentHash);
+        // Written last, so a record read back after a crash is either complete or still free
+        longs.put(offset, taskId);
+    }
+
+    void free(int slot) {
+        longs(slot).put(longOffset(slot), FREE);
+    }
+
+    @Override
+    public float dot(int slot, float[] query) {
+        FloatBuffer floats = floats(slot);
+        int offset = vectorOffset(slot);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += floats.get(offset + i) * query[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(int a, int b) {
+        FloatBuffer floatsA = floats(a);
+        FloatBuffer floatsB = floats(b);
+        int offsetA = vectorOffset(a);
+        int offsetB = vectorOffset(b);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += floatsA.get(offsetA + i) * floatsB.get(offsetB + i);
+        }
+        return sum;
+    }
+
+    // Flush dirty pages to disk; the OS does this eventually anyway
+    void force() {
+        header.force();
+        for (MappedByteBuffer chunk : mappedChunks) {
+            chunk.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureCapacity(int records) {
+        int chunks = (records + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK;
+        if (chunks <= mappedChunks.length) {
+            return;
+        }
+        MappedByteBuffer[] mapped = Arrays.copyOf(mappedChunks, chunks);
+        FloatBuffer[] floats = Arrays.copyOf(floatChunks, chunks);
+        LongBuffer[] longs = Arrays.copyOf(longChunks, chunks);
+        try {
+            for (int i = mappedChunks.length; i < chunks; i++) {
+                mapped[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + i * chunkBytes, chunkBytes);
+                mapped[i].order(ByteOrder.LITTLE_ENDIAN);
+                floats[i] = mapped[i].asFloatBuffer();
+                longs[i] = mapped[i].asLongBuffer();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow the vector file", e);
+        }
+        mappedChunks = mapped;
+        floatChunks = floats;
+        longChunks = longs;
+    }
+
+    private FloatBuffer floats(int slot) {
+        return floatChunks[slot / RECORDS_PER_CHUNK];
+    }
+
+    private LongBuffer longs(int slot) {
+        return longChunks[slot / RECORDS_PER_CHUNK];
+    }
+
+    private int longOffset(int slot) {
+        return (slot % RECORDS_PER_CHUNK) * (recordFloats / 2);
+    }
+
+    private int vectorOffset(int slot) {
+        return (slot % RECORDS_PER_CHUNK) * recordFloats + RECORD_HEADER_LONGS * 2;
+    }
+}
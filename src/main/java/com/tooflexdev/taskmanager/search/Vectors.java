@@ -0,0 +1,11 @@
+package com.tooflexdev.taskmanager.search;
+
+/**
+ * Unit vectors addressed by an int id, compared by dot product.
+ */
+interface Vectors {
+
+    float dot(int a, int b);
+
+    float dot(int id, float[] query);
+}
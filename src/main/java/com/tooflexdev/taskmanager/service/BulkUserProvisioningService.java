@@ -0,0 +1,261 @@
+package com.tooflexdev.taskmanager.service;
+
+import com.tooflexdev.taskmanager.domain.Role;
+import com.tooflexdev.taskmanager.dto.BulkUserResultDTO;
+import com.tooflexdev.taskmanager.dto.UserRequestDTO;
+import com.tooflexdev.taskmanager.repository.RoleRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users in one request.
+ * <p>
+ * Uniqueness is checked for the whole batch with set-based queries rather than the per-row
+ * {@code @UniqueEmail} probe, roles are resolved once, passwords are hashed in parallel on the
+ * {@link PasswordHashingPool}, and users and their role links are written as JDBC batches.
+ * Invalid rows are rejected individually; the valid rows are inserted in a single transaction,
+ * which starts only after hashing so no connection is held while bcrypt runs. A username or email
+ * taken by a concurrent request after the uniqueness check fails that batch; it is then retried
+ * row by row, each under a savepoint, and only the conflicting rows are rejected.
+ */
+@Service
+public class BulkUserProvisioningService {
+
+    // Keeps IN lists and JDBC batches well below driver limits
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO app_user (username, email, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordHashingPool passwordHashingPool;
+    private final UserExistenceFilter userExistenceFilter;
+    private final Validator validator;
+    private final int maxBatchSize;
+
+    public BulkUserProvisioningService(NamedParameterJdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       RoleRepository roleRepository,
+                                       PasswordHashingPool passwordHashingPool,
+                                       UserExistenceFilter userExistenceFilter,
+                                       Validator validator,
+                                       @Value("${users.bulk.max-size:5000}") int maxBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.roleRepository = roleRepository;
+        this.passwordHashingPool = passwordHashingPool;
+        this.userExistenceFilter = userExistenceFilter;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public List<BulkUserResultDTO> provisionUsers(List<UserRequestDTO> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " users can be created per request");
+        }
+
+        Map<String, Role> roles = resolveRoles(requests);
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        findExisting(requests, takenUsernames, takenEmails);
+
+        BulkUserResultDTO[] results = new BulkUserResultDTO[requests.size()];
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            UserRequestDTO request = requests.get(i);
+            if (request == null) {
+                results[i] = BulkUserResultDTO.rejected(i, null, List.of("User is required"));
+                continue;
+            }
+            List<String> errors = validate(request, roles, takenUsernames, takenEmails);
+            if (errors.isEmpty()) {
+                // Later rows in the same batch must not reuse this username or email
+                takenUsernames.add(request.getUsername());
+                takenEmails.add(request.getEmail());
+                accepted.add(i);
+            } else {
+                results[i] = BulkUserResultDTO.rejected(i, request.getUsername(), errors);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<String> hashes = passwordHashingPool.encodeAll(
+                    accepted.stream().map(i -> requests.get(i).getPassword()).toList());
+            Map<Integer, List<String>> conflicts = new HashMap<>();
+            Map<String, Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> insertUsers(requests, accepted, hashes, roles, null));
+            } catch (DuplicateKeyException e) {
+                // A concurrent request took a key after findExisting; retry row by row so only its rows fail
+                ids = transactionTemplate.execute(status -> insertUsers(requests, accepted, hashes, roles, conflicts));
+            }
+            for (int i : accepted) {
+                UserRequestDTO request = requests.get(i);
+                if (conflicts.containsKey(i)) {
+                    results[i] = BulkUserResultDTO.rejected(i, request.getUsername(), conflicts.get(i));
+                    continue;
+                }
+                results[i] = BulkUserResultDTO.created(i, request.getUsername(), ids.get(request.getUsername()));
+                userExistenceFilter.put(request.getUsername(), request.getEmail());
+            }
+        }
+        return List.of(results);
+    }
+
+    private List<String> validate(UserRequestDTO request, Map<String, Role> roles,
+                                  Set<String> takenUsernames, Set<String> takenEmails) {
+        List<String> errors = new ArrayList<>();
+        // The Default group leaves out DatabaseChecks: emails were looked up for the whole batch in findExisting
+        for (ConstraintViolation<UserRequestDTO> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (takenUsernames.contains(request.getUsername())) {
+            errors.add("username: Username is already taken");
+        }
+        if (takenEmails.contains(request.getEmail()) && errors.stream().noneMatch(e -> e.startsWith("email:"))) {
+            errors.add("email: Email is already in use");
+        }
+        if (request.getRoles() != null) {
+            request.getRoles().stream()
+                    .filter(roleName -> !roles.containsKey(roleName))
+                    .forEach(roleName -> errors.add("roles: Role not found: " + roleName));
+        }
+        return errors;
+    }
+
+    // Resolve every role named in the batch with a single query
+    private Map<String, Role> resolveRoles(List<UserRequestDTO> requests) {
+        Set<String> roleNames = requests.stream()
+                .filter(request -> request != null && request.getRoles() != null)
+                .flatMap(request -> request.getRoles().stream())
+                .collect(Collectors.toSet());
+        if (roleNames.isEmpty()) {
+            return Map.of();
+        }
+        return roleRepository.findByNameIn(roleNames).stream()
+                .collect(Collectors.toMap(Role::getName, Function.identity()));
+    }
+
+    // Collect usernames and emails already present, including soft-deleted rows that still hold the unique keys
+    private void findExisting(List<UserRequestDTO> requests, Set<String> takenUsernames, Set<String> takenEmails) {
+        List<UserRequestDTO> rows = requests.stream().filter(request -> request != null).toList();
+        List<String> usernames = rows.stream().map(UserRequestDTO::getUsername).filter(v -> v != null).distinct().toList();
+        List<String> emails = rows.stream().map(UserRequestDTO::getEmail).filter(v -> v != null).distinct().toList();
+        for (List<String> chunk : chunks(usernames)) {
+            takenUsernames.addAll(jdbcTemplate.queryForList(
+                    "SELECT username FROM app_user WHERE username IN (:values)", Map.of("values", chunk), String.class));
+        }
+        for (List<String> chunk : chunks(emails)) {
+            takenEmails.addAll(jdbcTemplate.queryForList(
+                    "SELECT email FROM app_user WHERE email IN (:values)", Map.of("values", chunk), String.class));
+        }
+    }
+
+    // Insert the accepted users and their role links, returning generated ids by username. With a conflicts map
+    // each user is inserted under its own savepoint, and rows that hit a unique key are recorded there instead.
+    private Map<String, Long> insertUsers(List<UserRequestDTO> requests, List<Integer> accepted, List<String> hashes,
+                                          Map<String, Role> roles, Map<Integer, List<String>> conflicts) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> userRows = new ArrayList<>(accepted.size());
+        for (int n = 0; n < accepted.size(); n++) {
+            UserRequestDTO request = requests.get(accepted.get(n));
+            userRows.add(new Object[]{request.getUsername(), request.getEmail(), hashes.get(n), now, now});
+        }
+        List<Integer> inserted = new ArrayList<>(accepted.size());
+        if (conflicts == null) {
+            for (List<Object[]> chunk : chunks(userRows)) {
+                jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_USER_SQL, chunk);
+            }
+            inserted.addAll(accepted);
+        } else {
+            for (int n = 0; n < accepted.size(); n++) {
+                Object[] row = userRows.get(n);
+                if (insertUnlessTaken(row)) {
+                    inserted.add(accepted.get(n));
+                } else {
+                    conflicts.put(accepted.get(n), conflictErrors(requests.get(accepted.get(n))));
+                }
+            }
+        }
+
+        List<String> usernames = inserted.stream().map(i -> requests.get(i).getUsername()).toList();
+        Map<String, Long> ids = new HashMap<>();
+        for (List<String> chunk : chunks(usernames)) {
+            jdbcTemplate.query("SELECT id, username FROM app_user WHERE username IN (:values)",
+                    Map.of("values", chunk), rs -> {
+                        ids.put(rs.getString("username"), rs.getLong("id"));
+                    });
+        }
+
+        List<Object[]> roleRows = new ArrayList<>();
+        for (int i : inserted) {
+            UserRequestDTO request = requests.get(i);
+            for (String roleName : request.getRoles()) {
+                roleRows.add(new Object[]{ids.get(request.getUsername()), roles.get(roleName).getId()});
+            }
+        }
+        for (List<Object[]> chunk : chunks(roleRows)) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_USER_ROLE_SQL, chunk);
+        }
+        return ids;
+    }
+
+    // JPA transactions offer no nested savepoints, so the row's savepoint is set on the transaction's connection
+    private boolean insertUnlessTaken(Object[] row) {
+        return jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                jdbcTemplate.getJdbcTemplate().update(INSERT_USER_SQL, row);
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (DuplicateKeyException e) {
+                connection.rollback(savepoint);
+                return false;
+            }
+        });
+    }
+
+    // Name the key a concurrent request took; the other request has committed, so its row is visible here
+    private List<String> conflictErrors(UserRequestDTO request) {
+        List<String> errors = new ArrayList<>();
+        Map<String, String> keys = Map.of("username", request.getUsername(), "email", request.getEmail());
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM app_user WHERE username = :username)", keys, Boolean.class))) {
+            errors.add("username: Username is already taken");
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM app_user WHERE email = :email)", keys, Boolean.class))) {
+            errors.add("email: Email is already in use");
+        }
+        return errors.isEmpty() ? List.of("Username or email is already in use") : errors;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += CHUNK_SIZE) {
+            chunks.add(values.subList(from, Math.min(from + CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,186 @@
+package com.tooflexdev.taskmanager.service;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.dto.ArchivedTaskResponseDTO;
+import com.tooflexdev.taskmanager.dto.mapper.TaskMapper;
+import com.tooflexdev.taskmanager.repository.ArchivedTaskRepository;
+import com.tooflexdev.taskmanager.writebehind.WriteBehindTaskUpdater;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves old {@code DONE} tasks, together with their subtrees, from the hot {@code task} table
+ * into {@code task_archive}, and serves the opt-in archive queries.
+ * <p>
+ * Each batch is one transaction: a bounded set of root tasks is selected, their subtrees are
+ * resolved level by level, copied with a single {@code INSERT ... SELECT} per chunk and then
+ * deleted deepest level first so the parent foreign key is never violated.
+ * <p>
+ * Buffered write-behind updates are flushed before a run, so a task updated recently is no
+ * longer old enough to archive; updates that arrive for a task while it is being archived are
+ * discarded with it.
+ */
+@Service
+public class TaskArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    // Keeps IN lists well below driver parameter limits
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String SELECT_ROOTS_SQL = """
+            SELECT id FROM task
+            WHERE status = 'DONE'
+              AND updated_at < :cutoff
+              AND parent_task_id IS NULL
+              AND deleted_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    private static final String COPY_TO_ARCHIVE_SQL = """
+            INSERT INTO task_archive (id, title, description, status, category, priority, due_date,
+                                      created_at, updated_at, user_id, parent_task_id, archived_at)
+            SELECT id, title, description, status, category, priority, due_date,
+                   created_at, updated_at, user_id, parent_task_id, :archivedAt
+            FROM task
+            WHERE id IN (:ids) AND deleted_at IS NULL
+            """;
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final WriteBehindTaskUpdater writeBehind;
+    private final boolean enabled;
+    private final int minAgeDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Timer batchTimer;
+    private final Counter archivedRows;
+
+    public TaskArchiveService(ArchivedTaskRepository archivedTaskRepository,
+                              NamedParameterJdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              EntityManagerFactory entityManagerFactory,
+                              WriteBehindTaskUpdater writeBehind,
+                              MeterRegistry meterRegistry,
+                              @Value("${archive.enabled:true}") boolean enabled,
+                              @Value("${archive.min-age-days:365}") int minAgeDays,
+                              @Value("${archive.batch-size:200}") int batchSize,
+                              @Value("${archive.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.writeBehind = writeBehind;
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchTimer = Timer.builder("archive.batch")
+                .description("Time to move one batch of task subtrees into the archive").register(meterRegistry);
+        this.archivedRows = Counter.builder("archive.rows")
+                .description("Tasks moved into the archive").register(meterRegistry);
+    }
+
+    // Get all archived tasks
+    @Transactional(readOnly = true)
+    public Page<ArchivedTaskResponseDTO> getArchivedTasks(Pageable pageable) {
+        return archivedTaskRepository.findAll(pageable).map(TaskMapper::toDTO);
+    }
+
+    // Get archived tasks for a specific user
+    @Transactional(readOnly = true)
+    public Page<ArchivedTaskResponseDTO> getArchivedTasksByUser(Long userId, Pageable pageable) {
+        return archivedTaskRepository.findByUserId(userId, pageable).map(TaskMapper::toDTO);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        writeBehind.flush();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = batchTimer.record(() -> transactionTemplate.execute(status -> archiveBatch(cutoff)));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            archivedRows.increment(moved);
+        }
+        if (archived > 0) {
+            // Archived rows were deleted behind Hibernate's back
+            entityManagerFactory.getCache().evict(Task.class);
+            log.info("Archived {} tasks completed before {}", archived, cutoff);
+        }
+    }
+
+    // Move one batch of root tasks and their subtrees, returning the number of archived rows
+    int archiveBatch(LocalDateTime cutoff) {
+        List<Long> roots = jdbcTemplate.queryForList(SELECT_ROOTS_SQL,
+                Map.of("cutoff", cutoff, "limit", batchSize), Long.class);
+        if (roots.isEmpty()) {
+            return 0;
+        }
+
+        List<List<Long>> levels = new ArrayList<>();
+        List<Long> level = roots;
+        while (!level.isEmpty()) {
+            levels.add(level);
+            level = selectChildren(level);
+        }
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        int copied = 0;
+        for (List<Long> ids : levels) {
+            for (List<Long> chunk : chunks(ids)) {
+                copied += jdbcTemplate.update(COPY_TO_ARCHIVE_SQL, Map.of("ids", chunk, "archivedAt", archivedAt));
+            }
+        }
+        for (int depth = levels.size() - 1; depth >= 0; depth--) {
+            for (List<Long> chunk : chunks(levels.get(depth))) {
+                jdbcTemplate.update("DELETE FROM task WHERE id IN (:ids)", Map.of("ids", chunk));
+            }
+            levels.get(depth).forEach(writeBehind::discard);
+        }
+        return copied;
+    }
+
+    private List<Long> selectChildren(List<Long> parentIds) {
+        List<Long> children = new ArrayList<>();
+        for (List<Long> chunk : chunks(parentIds)) {
+            children.addAll(jdbcTemplate.queryForList("SELECT id FROM task WHERE parent_task_id IN (:ids)",
+                    Map.of("ids", chunk), Long.class));
+        }
+        return children;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,256 @@
+package com.tooflexdev.taskmanager.service;
+
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans task change events out to Server-Sent Events subscribers.
+ * <p>
+ * Each subscriber owns a bounded buffer that is drained by a small shared dispatch pool, so idle
+ * connections hold no thread. A subscriber whose buffer overflows is considered too slow and is
+ * disconnected; the client is expected to reconnect and re-sync.
+ * <p>
+ * {@code SseEmitter.send} blocks while a client does not read. A send still running after
+ * {@code tasks.events.send-timeout} marks its subscriber as stalled: it is dropped, and the pool
+ * gets an extra thread until the container gives up on the write, so a few stalled clients cannot
+ * hold every dispatch thread and make healthy subscribers overflow.
+ */
+@Service
+public class TaskEventBroker {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBroker.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    // Marks a send the stall check has given up on; otherwise sendStartedAt is 0 or a start time
+    private static final long STALLED = Long.MIN_VALUE;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor dispatchExecutor;
+    private final int bufferSize;
+    private final long emitterTimeout;
+    private final int dispatchThreads;
+    private final long sendTimeoutNanos;
+    private final int maxStalledSends;
+    private final ReentrantLock poolLock = new ReentrantLock();
+    // Sends past the timeout that still hold a dispatch thread
+    private int stalledSends;
+
+    public TaskEventBroker(@Value("${tasks.events.buffer-size:256}") int bufferSize,
+                           @Value("${tasks.events.emitter-timeout:1800000}") long emitterTimeout,
+                           @Value("${tasks.events.dispatch-threads:4}") int dispatchThreads,
+                           @Value("${tasks.events.send-timeout:2000}") long sendTimeoutMillis,
+                           @Value("${tasks.events.max-stalled-sends:64}") int maxStalledSends) {
+        this.bufferSize = bufferSize;
+        this.emitterTimeout = emitterTimeout;
+        this.dispatchThreads = dispatchThreads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.maxStalledSends = maxStalledSends;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatchExecutor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "task-events-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Register a new SSE subscriber for the given user
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = createEmitter(emitterTimeout);
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        Set<Subscriber> targets = subscribers.get(event.getUserId());
+        if (targets != null) {
+            targets.forEach(subscriber -> enqueue(subscriber, event));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.events.heartbeat-interval:15000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(targets -> targets.forEach(subscriber -> enqueue(subscriber, HEARTBEAT)));
+    }
+
+    // Drop subscribers whose send has outlasted the timeout and lend the pool a thread for each
+    @Scheduled(fixedDelayString = "${tasks.events.stall-check-interval:1000}")
+    public void checkStalledSends() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(targets -> targets.forEach(subscriber -> {
+            long started = subscriber.sendStartedAt.get();
+            // The compare-and-set fails if that send has returned meanwhile
+            if (started != 0 && started != STALLED && now - started > sendTimeoutNanos
+                    && subscriber.sendStartedAt.compareAndSet(started, STALLED)) {
+                log.debug("Dropping stalled task event subscriber for user {}", subscriber.userId);
+                // Completing the emitter would wait for the blocked send; the dispatch thread does it instead
+                unsubscribe(subscriber);
+                resizePool(1);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchExecutor.shutdownNow();
+        subscribers.values().forEach(targets -> targets.forEach(this::close));
+    }
+
+    private void enqueue(Subscriber subscriber, Object message) {
+        if (!subscriber.buffer.offer(message)) {
+            log.debug("Dropping slow task event subscriber for user {}", subscriber.userId);
+            // Completed by the drain, so the publisher never waits behind a send in progress
+            unsubscribe(subscriber);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatchExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        boolean stalled = false;
+        try {
+            Object message;
+            while (!stalled && !subscriber.closed && (message = subscriber.buffer.poll()) != null) {
+                subscriber.sendStartedAt.set(System.nanoTime());
+                try {
+                    subscriber.emitter.send(toSseEvent(message));
+                } finally {
+                    stalled = subscriber.sendStartedAt.getAndSet(0) == STALLED;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (stalled) {
+            // The send has returned, so this thread is back and the loaned one can go
+            resizePool(-1);
+        }
+        if (subscriber.closed) {
+            complete(subscriber);
+        } else if (!subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(Object message) {
+        if (message == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        TaskChangedEvent event = (TaskChangedEvent) message;
+        return SseEmitter.event()
+                .name("task-" + event.getType().name().toLowerCase(Locale.ROOT))
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private void close(Subscriber subscriber) {
+        unsubscribe(subscriber);
+        complete(subscriber);
+    }
+
+    private static void complete(Subscriber subscriber) {
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // Already completed
+        }
+    }
+
+    // Grow or shrink the pool by one thread per stalled send, up to maxStalledSends extra threads
+    private void resizePool(int delta) {
+        poolLock.lock();
+        try {
+            stalledSends += delta;
+            int size = dispatchThreads + Math.min(stalledSends, maxStalledSends);
+            if (size > dispatchExecutor.getMaximumPoolSize()) {
+                dispatchExecutor.setMaximumPoolSize(size);
+                dispatchExecutor.setCorePoolSize(size);
+            } else if (size < dispatchExecutor.getMaximumPoolSize()) {
+                dispatchExecutor.setCorePoolSize(size);
+                dispatchExecutor.setMaximumPoolSize(size);
+            }
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    // Test seam for observing sends
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.closed) {
+            return;
+        }
+        subscriber.closed = true;
+        subscriber.buffer.clear();
+        subscribers.computeIfPresent(subscriber.userId, (id, targets) -> {
+            if (targets.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong sendStartedAt = new AtomicLong();
+        private volatile boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter, BlockingQueue<Object> buffer) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -2,74 +2,235 @@ package com.tooflexdev.taskmanager.service;
 
 import com.tooflexdev.taskmanager.domain.Task;
 import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskBatchResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.dto.mapper.TaskMapper;
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import com.tooflexdev.taskmanager.repository.FieldSelection;
+import com.tooflexdev.taskmanager.repository.TaskProjectionRepository;
 import com.tooflexdev.taskmanager.repository.TaskRepository;
+import com.tooflexdev.taskmanager.sharding.ShardedTaskRepository;
+import com.tooflexdev.taskmanager.writebehind.WriteBehindTaskUpdater;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindTaskUpdater writeBehind;
+    private final int maxMultiGetIds;
+    // For reads that flush write-behind updates first: the flush commits before the read transaction
+    // starts, so a request never holds two connections at once
+    private final TransactionTemplate readTransaction;
+    // Present only with tasks.sharding.enabled; tasks then live on the shards instead of the primary
+    private final ShardedTaskRepository shardedTasks;
 
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                       WriteBehindTaskUpdater writeBehind,
+                       Optional<ShardedTaskRepository> shardedTasks,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${tasks.multi-get.max-ids:200}") int maxMultiGetIds) {
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.writeBehind = writeBehind;
+        this.shardedTasks = shardedTasks.orElse(null);
+        this.maxMultiGetIds = maxMultiGetIds;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
     }
 
     // Get all tasks
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> getAllTasks() {
+        return allTasks();
+    }
+
+    // Stream all tasks to the consumer one at a time, for responses too large to hold in memory
+    public void forEachTask(Consumer<TaskResponseDTO> consumer) {
+        if (shardedTasks != null) {
+            shardedTasks.findAll().forEach(consumer);
+            return;
+        }
+        flushPendingUpdates();
+        readTransaction.executeWithoutResult(transaction -> {
+            try (Stream<TaskResponseDTO> tasks = taskRepository.streamAllAsDTOs()) {
+                tasks.forEach(consumer);
+            }
+        });
+    }
+
+    // Stream all tasks with only the requested fields selected and serialized
+    public void forEachTask(List<String> fields, Consumer<Map<String, Object>> consumer) {
+        if (shardedTasks != null) {
+            shardedTasks.findAll().forEach(task -> consumer.accept(TaskMapper.toMap(task, fields)));
+            return;
+        }
+        flushPendingUpdates();
+        readTransaction.executeWithoutResult(transaction -> {
+            try (Stream<Map<String, Object>> tasks = taskRepository.streamProjected(fields)) {
+                tasks.forEach(consumer);
+            }
+        });
+    }
+
+    // Validate a fields= parameter against the task projection
+    public List<String> resolveFields(String fields) {
+        return FieldSelection.parse(fields, TaskProjectionRepository.FIELDS);
+    }
+
+    // Get many tasks with one IN query, in request order; a non-null ownerId limits the result to that user's tasks
+    @Transactional(readOnly = true)
+    public TaskBatchResponseDTO getTasksByIds(List<Long> ids, Long ownerId) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("At least one task id is required");
+        }
+        if (requested.size() > maxMultiGetIds) {
+            throw new IllegalArgumentException("At most " + maxMultiGetIds + " tasks can be fetched per request");
+        }
+
+        List<TaskResponseDTO> found = shardedTasks != null
+                ? shardedTasks.findByIds(requested, ownerId)
+                : ownerId == null
+                ? taskRepository.findDTOsByIdIn(requested)
+                : taskRepository.findDTOsByIdInAndUserId(requested, ownerId);
+        Map<Long, TaskResponseDTO> byId = new HashMap<>();
+        found.forEach(task -> byId.put(task.getId(), writeBehind.hasPending() ? writeBehind.overlay(task) : task));
+
+        List<TaskResponseDTO> tasks = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            TaskResponseDTO task = byId.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TaskBatchResponseDTO(tasks, missingIds);
     }
 
     // Get tasks by status
-    public List<Task> getTasksByStatus(TaskStatus status) {
-        return taskRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> getTasksByStatus(TaskStatus status) {
+        if (shardedTasks != null) {
+            return shardedTasks.findByStatus(status);
+        }
+        return withPendingUpdates(TaskMapper.toDTOs(taskRepository.findByStatus(status)),
+                task -> task.getStatus() == status);
+    }
+
+    // Get tasks by status, reading only the requested columns
+    public List<Map<String, Object>> getTasksByStatus(TaskStatus status, List<String> fields) {
+        if (shardedTasks != null) {
+            return shardedTasks.findByStatus(status).stream().map(task -> TaskMapper.toMap(task, fields)).toList();
+        }
+        flushPendingUpdates();
+        return readTransaction.execute(transaction -> taskRepository.findProjected(fields, status, null));
     }
 
     // Get tasks by category
-    public List<Task> getTasksByCategory(String category) {
-        return taskRepository.findByCategory(category);
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> getTasksByCategory(String category) {
+        if (shardedTasks != null) {
+            return shardedTasks.findByCategory(category);
+        }
+        return withPendingUpdates(TaskMapper.toDTOs(taskRepository.findByCategory(category)),
+                task -> Objects.equals(task.getCategory(), category));
+    }
+
+    // Get tasks by category, reading only the requested columns
+    public List<Map<String, Object>> getTasksByCategory(String category, List<String> fields) {
+        if (shardedTasks != null) {
+            return shardedTasks.findByCategory(category).stream().map(task -> TaskMapper.toMap(task, fields)).toList();
+        }
+        flushPendingUpdates();
+        return readTransaction.execute(transaction -> taskRepository.findProjected(fields, null, category));
     }
 
     // Get tasks for a specific user
-    public List<Task> getTasksByUser(Long userId) {
-        return taskRepository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> getTasksByUser(Long userId) {
+        if (shardedTasks != null) {
+            return shardedTasks.findByUserId(userId);
+        }
+        return withPendingUpdates(TaskMapper.toDTOs(taskRepository.findByUserId(userId)),
+                task -> Objects.equals(task.getUserId(), userId));
     }
 
     // Get tasks by priority
-    public List<Task> getTasksByPriority(Integer priority) {
-        return taskRepository.findByPriority(priority);
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> getTasksByPriority(Integer priority) {
+        if (shardedTasks != null) {
+            return shardedTasks.findByPriority(priority);
+        }
+        return withPendingUpdates(TaskMapper.toDTOs(taskRepository.findByPriority(priority)),
+                task -> Objects.equals(task.getPriority(), priority));
     }
 
     // Get tasks with overdue deadlines
-    public List<Task> getOverdueTasks() {
-        List<Task> tasks = taskRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> getOverdueTasks() {
+        List<TaskResponseDTO> tasks = allTasks();
         return tasks.stream()
                 .filter(task -> task.getDueDate().isBefore(LocalDateTime.now()))
                 .collect(Collectors.toList());
     }
 
     // Get tasks created after a specific time
-    public List<Task> getTasksCreatedAfter(LocalDateTime createdAt) {
-        return taskRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> getTasksCreatedAfter(LocalDateTime createdAt) {
+        return allTasks().stream()
                 .filter(task -> task.getCreatedAt().isAfter(createdAt))
                 .collect(Collectors.toList());
     }
 
     // Create a new task
-    public Task createTask(Task task) {
+    @Transactional
+    public TaskResponseDTO createTask(Task task) {
+        if (shardedTasks != null) {
+            TaskResponseDTO savedTask = shardedTasks.insert(task);
+            eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+            return savedTask;
+        }
         task.setCreatedAt(LocalDateTime.now());
         task.setUpdatedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        TaskResponseDTO savedTask = TaskMapper.toDTO(taskRepository.save(task));
+        eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+        return savedTask;
     }
 
     // Update an existing task
-    public Optional<Task> updateTask(Long taskId, Task updatedTask) {
+    @Transactional
+    public Optional<TaskResponseDTO> updateTask(Long taskId, Task updatedTask) {
+        if (shardedTasks != null) {
+            Optional<TaskResponseDTO> savedTask = shardedTasks.update(taskId, updatedTask);
+            savedTask.ifPresent(task -> eventPublisher.publishEvent(TaskChangedEvent.updated(task)));
+            return savedTask;
+        }
         return taskRepository.findById(taskId).map(task -> {
             task.setTitle(updatedTask.getTitle());
             task.setDescription(updatedTask.getDescription());
@@ -78,16 +239,122 @@ public class TaskService {
             task.setPriority(updatedTask.getPriority());
             task.setDueDate(updatedTask.getDueDate());
             task.setUpdatedAt(LocalDateTime.now());
-            return taskRepository.save(task);
+            TaskResponseDTO savedTask = TaskMapper.toDTO(taskRepository.save(task));
+            eventPublisher.publishEvent(TaskChangedEvent.updated(savedTask));
+            return savedTask;
         });
     }
 
-    // Delete a task by ID
+    // Apply a suggested category and priority to the fields the task is still missing
+    @Transactional
+    public Optional<TaskResponseDTO> enrichTask(Long taskId, String category, Integer priority) {
+        Optional<TaskResponseDTO> enriched;
+        if (shardedTasks != null) {
+            enriched = shardedTasks.fillMissingClassification(taskId, category, priority);
+        } else {
+            // Change the loaded entity rather than run a bulk update, which would evict the whole task cache region;
+            // the row lock keeps a concurrent edit from being overwritten between the check and the write
+            enriched = taskRepository.findByIdForUpdate(taskId).map(task -> {
+                if (task.getCategory() == null || task.getCategory().isEmpty()) {
+                    task.setCategory(category);
+                }
+                if (task.getPriority() == null) {
+                    task.setPriority(priority);
+                }
+                task.setUpdatedAt(LocalDateTime.now());
+                return TaskMapper.toDTO(task);
+            });
+        }
+        enriched.ifPresent(task -> eventPublisher.publishEvent(TaskChangedEvent.updated(task)));
+        return enriched;
+    }
+
+    // True when updates are acknowledged after the write-behind log append instead of after the commit
+    public boolean isWriteBehindEnabled() {
+        return writeBehind.isEnabled();
+    }
+
+    // Accept an update in write-behind mode; it is visible to reads at once and committed with the next flush
+    public boolean submitUpdate(Long taskId, Task updatedTask) {
+        return writeBehind.submit(taskId, updatedTask);
+    }
+
+    // Soft-delete a task and its subtree by ID; the TombstonePurger removes the rows later
+    @Transactional
     public boolean deleteTask(Long taskId) {
-        if (taskRepository.existsById(taskId)) {
-            taskRepository.deleteById(taskId);
-            return true;
+        if (shardedTasks != null) {
+            // Shards have no tombstones or purger; the task and its subtree are removed at once
+            return shardedTasks.delete(taskId)
+                    .map(userId -> {
+                        eventPublisher.publishEvent(TaskChangedEvent.deleted(taskId, userId));
+                        return true;
+                    })
+                    .orElse(false);
+        }
+        return taskRepository.findUserIdById(taskId)
+                .map(userId -> {
+                    LocalDateTime deletedAt = LocalDateTime.now();
+                    if (taskRepository.softDeleteById(taskId, deletedAt) == 0) {
+                        return false;
+                    }
+                    writeBehind.discard(taskId);
+                    softDeleteSubtree(taskId, deletedAt);
+                    eventPublisher.publishEvent(TaskChangedEvent.deleted(taskId, userId));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    // Tombstone the subtasks level by level, like ShardedTaskRepository.delete, so none stays visible
+    // until the purger runs
+    private void softDeleteSubtree(Long taskId, LocalDateTime deletedAt) {
+        List<Long> level = taskRepository.findIdsByParentTaskIdIn(List.of(taskId));
+        while (!level.isEmpty()) {
+            level.forEach(writeBehind::discard);
+            taskRepository.softDeleteByIdIn(level, deletedAt);
+            level = taskRepository.findIdsByParentTaskIdIn(level);
+        }
+    }
+
+    private List<TaskResponseDTO> allTasks() {
+        if (shardedTasks != null) {
+            return shardedTasks.findAll();
+        }
+        return withPendingUpdates(TaskMapper.toDTOs(taskRepository.findAll()), task -> true);
+    }
+
+    // Show buffered write-behind updates on top of a query result, so callers always read their own writes.
+    // A buffered update can move a task into or out of the filter, so the result is re-checked and buffered
+    // tasks the query did not return are loaded and added when they now match.
+    private List<TaskResponseDTO> withPendingUpdates(List<TaskResponseDTO> tasks, Predicate<TaskResponseDTO> filter) {
+        if (!writeBehind.hasPending()) {
+            return tasks;
+        }
+        List<TaskResponseDTO> result = new ArrayList<>(tasks.size());
+        Set<Long> others = writeBehind.getPendingTaskIds();
+        for (TaskResponseDTO task : tasks) {
+            others.remove(task.getId());
+            TaskResponseDTO current = writeBehind.overlay(task);
+            if (filter.test(current)) {
+                result.add(current);
+            }
+        }
+        if (!others.isEmpty()) {
+            for (TaskResponseDTO task : taskRepository.findDTOsByIdIn(others)) {
+                TaskResponseDTO current = writeBehind.overlay(task);
+                if (filter.test(current)) {
+                    result.add(current);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Queries that cannot be overlaid, such as projections and streams, read after a flush instead. Callers
+    // are not transactional, so the flush commits on its own before their read transaction begins.
+    private void flushPendingUpdates() {
+        if (writeBehind.hasPending()) {
+            writeBehind.flush();
         }
-        return false;
     }
 }
@@ -0,0 +1,168 @@
+package com.tooflexdev.taskmanager.service;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.domain.User;
+import com.tooflexdev.taskmanager.writebehind.WriteBehindTaskUpdater;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hard-deletes soft-deleted tasks and users off the request path.
+ * <p>
+ * Tombstones are first propagated down task subtrees and onto the tasks of deleted users, then
+ * rows are removed leaf-first in bounded, set-based batches so no entity is ever loaded.
+ */
+@Service
+public class TombstonePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstonePurger.class);
+
+    // Upper bound on subtree depth handled in a single run
+    private static final int MAX_CASCADE_DEPTH = 64;
+
+    private static final String CASCADE_TO_SUBTASKS_SQL = """
+            UPDATE task SET deleted_at = :deletedAt
+            WHERE deleted_at IS NULL
+              AND parent_task_id IN (SELECT id FROM task WHERE deleted_at IS NOT NULL)
+            """;
+
+    private static final String CASCADE_TO_USER_TASKS_SQL = """
+            UPDATE task SET deleted_at = :deletedAt
+            WHERE deleted_at IS NULL
+              AND user_id IN (SELECT id FROM app_user WHERE deleted_at IS NOT NULL)
+            """;
+
+    private static final String SELECT_TASK_LEAVES_SQL = """
+            SELECT t.id FROM task t
+            WHERE t.deleted_at IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM task c WHERE c.parent_task_id = t.id)
+            ORDER BY t.id
+            LIMIT :limit
+            """;
+
+    private static final String SELECT_USERS_SQL = """
+            SELECT u.id FROM app_user u
+            WHERE u.deleted_at IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM task t WHERE t.user_id = u.id)
+            ORDER BY u.id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final WriteBehindTaskUpdater writeBehind;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Timer taskBatchTimer;
+    private final Timer userBatchTimer;
+    private final Counter purgedTasks;
+    private final Counter purgedUsers;
+
+    public TombstonePurger(NamedParameterJdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           EntityManagerFactory entityManagerFactory,
+                           WriteBehindTaskUpdater writeBehind,
+                           MeterRegistry meterRegistry,
+                           @Value("${purge.batch-size:500}") int batchSize,
+                           @Value("${purge.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.writeBehind = writeBehind;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.taskBatchTimer = Timer.builder("purge.batch").tag("table", "task")
+                .description("Time to hard-delete one batch of tombstoned rows").register(meterRegistry);
+        this.userBatchTimer = Timer.builder("purge.batch").tag("table", "app_user")
+                .description("Time to hard-delete one batch of tombstoned rows").register(meterRegistry);
+        this.purgedTasks = Counter.builder("purge.rows").tag("table", "task")
+                .description("Tombstoned rows hard-deleted").register(meterRegistry);
+        this.purgedUsers = Counter.builder("purge.rows").tag("table", "app_user")
+                .description("Tombstoned rows hard-deleted").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${purge.interval:60000}", initialDelayString = "${purge.initial-delay:60000}")
+    public void purge() {
+        int tombstoned = cascadeTombstones();
+        int tasks = purgeTasks();
+        int users = purgeUsers();
+        if (tombstoned > 0 || tasks > 0 || users > 0) {
+            // Rows were changed behind Hibernate's back
+            entityManagerFactory.getCache().evict(Task.class);
+            entityManagerFactory.getCache().evict(User.class);
+        }
+        if (tasks > 0 || users > 0) {
+            log.info("Purged {} tombstoned tasks and {} tombstoned users", tasks, users);
+        }
+    }
+
+    // Propagate tombstones to the tasks of deleted users and down deleted subtrees, one level per statement
+    int cascadeTombstones() {
+        Map<String, Object> params = Map.of("deletedAt", LocalDateTime.now());
+        int tombstoned = jdbcTemplate.update(CASCADE_TO_USER_TASKS_SQL, params);
+        for (int level = 0; level < MAX_CASCADE_DEPTH; level++) {
+            int updated = jdbcTemplate.update(CASCADE_TO_SUBTASKS_SQL, params);
+            if (updated == 0) {
+                break;
+            }
+            tombstoned += updated;
+        }
+        return tombstoned;
+    }
+
+    int purgeTasks() {
+        int purged = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer deleted = taskBatchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(SELECT_TASK_LEAVES_SQL, Map.of("limit", batchSize), Long.class);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                // Subtasks and tasks of deleted users were tombstoned without discarding their updates
+                ids.forEach(writeBehind::discard);
+                return jdbcTemplate.update("DELETE FROM task WHERE id IN (:ids)", Map.of("ids", ids));
+            }));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+            purgedTasks.increment(deleted);
+        }
+        return purged;
+    }
+
+    int purgeUsers() {
+        int purged = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer deleted = userBatchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(SELECT_USERS_SQL, Map.of("limit", batchSize), Long.class);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                Map<String, Object> params = Map.of("ids", ids);
+                jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (:ids)", params);
+                return jdbcTemplate.update("DELETE FROM app_user WHERE id IN (:ids)", params);
+            }));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+            purgedUsers.increment(deleted);
+        }
+        return purged;
+    }
+}
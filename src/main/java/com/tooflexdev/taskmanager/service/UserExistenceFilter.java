@@ -0,0 +1,188 @@
+package com.tooflexdev.taskmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Negative cache for username and email uniqueness checks.
+ * <p>
+ * Holds Bloom filters of every username and email in {@code app_user}, built at startup by
+ * streaming the table and kept current as users are written. A negative answer means the value
+ * is definitely unused and the database probe can be skipped; a positive answer must still be
+ * confirmed by the repository. The unique constraints remain the source of truth.
+ * <p>
+ * Bloom filters cannot forget values, so removals only make the filter more conservative. The
+ * filters are rebuilt once removals or growth push them past their configured accuracy.
+ */
+@Component
+public class UserExistenceFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExistenceFilter.class);
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong removals = new AtomicLong();
+    private final Counter definiteNegatives;
+    private final Counter possiblePositives;
+
+    // Null until the first build completes; every check answers "maybe" until then
+    private volatile Filters current;
+    // Non-null while a rebuild is streaming the table, so concurrent writes land in both
+    private volatile Filters next;
+
+    public UserExistenceFilter(DataSource dataSource,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${users.bloom.enabled:true}") boolean enabled,
+                               @Value("${users.bloom.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${users.bloom.fpp:0.01}") double falsePositiveProbability) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(1000);
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+
+        this.definiteNegatives = Counter.builder("users.bloom.checks").tag("result", "negative")
+                .description("Uniqueness checks answered by the Bloom filter").register(meterRegistry);
+        this.possiblePositives = Counter.builder("users.bloom.checks").tag("result", "maybe")
+                .description("Uniqueness checks answered by the Bloom filter").register(meterRegistry);
+        Gauge.builder("users.bloom.memory", this, self -> self.filterStat(BloomFilter::getMemoryBytes))
+                .baseUnit("bytes").description("Memory held by the username and email filters").register(meterRegistry);
+        Gauge.builder("users.bloom.insertions", this, self -> self.filterStat(BloomFilter::getInsertions))
+                .description("Values added to the username and email filters").register(meterRegistry);
+        Gauge.builder("users.bloom.expected.fpp", this, UserExistenceFilter::getExpectedFalsePositiveProbability)
+                .description("Expected false-positive probability of the filters").register(meterRegistry);
+    }
+
+    public boolean mightContainUsername(String username) {
+        Filters filters = current;
+        return check(filters == null || username == null || filters.usernames.mightContain(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return check(filters == null || email == null || filters.emails.mightContain(email));
+    }
+
+    // Record a username and email that now exist in the database
+    public void put(String username, String email) {
+        Filters pending = next;
+        if (pending != null) {
+            pending.add(username, email);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(username, email);
+        }
+    }
+
+    // Record that a username or email was released by a delete or update
+    public void recordRemoval() {
+        removals.incrementAndGet();
+    }
+
+    public double getExpectedFalsePositiveProbability() {
+        Filters filters = current;
+        if (filters == null) {
+            return 1.0;
+        }
+        return Math.max(filters.usernames.getExpectedFalsePositiveProbability(),
+                filters.emails.getExpectedFalsePositiveProbability());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // Rebuild when stale entries or growth have degraded the filters well past the target rate
+    @Scheduled(fixedDelayString = "${users.bloom.maintenance-interval:600000}")
+    public void maintain() {
+        Filters filters = current;
+        if (!enabled || filters == null) {
+            return;
+        }
+        long inserted = filters.usernames.getInsertions();
+        boolean tooManyRemovals = inserted > 0 && removals.get() > inserted / 4;
+        boolean degraded = getExpectedFalsePositiveProbability() > 2 * falsePositiveProbability;
+        if (tooManyRemovals || degraded) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            Long userCount = streamingJdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_user", Long.class);
+            long capacity = Math.max(expectedInsertions, 2 * (userCount != null ? userCount : 0));
+            Filters rebuilt = new Filters(capacity, falsePositiveProbability);
+            next = rebuilt;
+            removals.set(0);
+            transactionTemplate.executeWithoutResult(status -> streamingJdbcTemplate.query(
+                    "SELECT username, email FROM app_user",
+                    rs -> {
+                        rebuilt.add(rs.getString(1), rs.getString(2));
+                    }));
+            current = rebuilt;
+            log.info("Built user Bloom filters for {} users ({} bytes, expected fpp {})",
+                    rebuilt.usernames.getInsertions(), rebuilt.usernames.getMemoryBytes() + rebuilt.emails.getMemoryBytes(),
+                    getExpectedFalsePositiveProbability());
+        } finally {
+            next = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean check(boolean mightContain) {
+        (mightContain ? possiblePositives : definiteNegatives).increment();
+        return mightContain;
+    }
+
+    private double filterStat(ToLongFunction<BloomFilter> stat) {
+        Filters filters = current;
+        return filters == null ? 0 : stat.applyAsLong(filters.usernames) + stat.applyAsLong(filters.emails);
+    }
+
+    private static final class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long capacity, double falsePositiveProbability) {
+            this.usernames = BloomFilter.create(capacity, falsePositiveProbability);
+            this.emails = BloomFilter.create(capacity, falsePositiveProbability);
+        }
+
+        private void add(String username, String email) {
+            if (username != null) {
+                usernames.put(username);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+}
@@ -4,32 +4,66 @@ import com.tooflexdev.taskmanager.domain.Role;
 import com.tooflexdev.taskmanager.domain.User;
 import com.tooflexdev.taskmanager.dto.UserRequestDTO;
 import com.tooflexdev.taskmanager.dto.UserResponseDTO;
+import com.tooflexdev.taskmanager.dto.UserSliceResponseDTO;
+import com.tooflexdev.taskmanager.dto.UserSummary;
 import com.tooflexdev.taskmanager.dto.mapper.UserMapper;
+import com.tooflexdev.taskmanager.repository.FieldSelection;
 import com.tooflexdev.taskmanager.repository.RoleRepository;
+import com.tooflexdev.taskmanager.repository.TaskRepository;
+import com.tooflexdev.taskmanager.repository.UserProjectionRepository;
 import com.tooflexdev.taskmanager.repository.UserRepository;
+import com.tooflexdev.taskmanager.sharding.ShardedTaskRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class UserService implements UserDetailsService {
 
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final long USER_COUNT_TTL_MILLIS = 60_000;
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TaskRepository taskRepository;
+    private final UserExistenceFilter userExistenceFilter;
+    private final ObjectProvider<ShardedTaskRepository> shardedTasks;
+
+    // Cached approximate user count as {count, computedAtMillis}
+    private volatile long[] cachedUserCount;
 
     @Autowired
-    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                       TaskRepository taskRepository, UserExistenceFilter userExistenceFilter,
+                       ObjectProvider<ShardedTaskRepository> shardedTasks) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.taskRepository = taskRepository;
+        this.userExistenceFilter = userExistenceFilter;
+        this.shardedTasks = shardedTasks;
     }
 
     @Override
@@ -49,28 +83,102 @@ public class UserService implements UserDetailsService {
                 .map(UserMapper::toDTO);
     }
 
+    // Page of users with only the requested fields; roles, if asked for, are batch-loaded for the page
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllUsers(Pageable pageable, String fields) {
+        Set<String> allowed = new HashSet<>(UserProjectionRepository.FIELDS);
+        allowed.add("roles");
+        List<String> requested = FieldSelection.parse(fields, allowed);
+        if (!requested.contains("roles")) {
+            return userRepository.findProjected(requested, pageable);
+        }
+
+        List<String> columns = new ArrayList<>(requested);
+        columns.remove("roles");
+        if (!columns.contains("id")) {
+            columns.add("id");
+        }
+        Page<Map<String, Object>> page = userRepository.findProjected(columns, pageable);
+        Map<Long, Set<String>> rolesByUser = new HashMap<>();
+        if (page.hasContent()) {
+            List<Long> userIds = page.getContent().stream().map(row -> (Long) row.get("id")).toList();
+            for (Object[] row : userRepository.findRoleNamesByUserIds(userIds)) {
+                rolesByUser.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+            }
+        }
+        return page.map(row -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (String field : requested) {
+                result.put(field, "roles".equals(field)
+                        ? rolesByUser.getOrDefault((Long) row.get("id"), Set.of())
+                        : row.get(field));
+            }
+            return result;
+        });
+    }
+
+    // Keyset slice of users ordered by (username, id): no COUNT query and no OFFSET scan
+    @Transactional(readOnly = true)
+    public UserSliceResponseDTO getUserSlice(String cursor, int size, boolean includeTotal) {
+        int sliceSize = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+        // Fetch one extra row to learn whether another slice follows
+        Pageable window = PageRequest.of(0, sliceSize + 1);
+        List<UserSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userRepository.findFirstSummaries(window);
+        } else {
+            UserCursor position = decodeCursor(cursor);
+            rows = userRepository.findSummariesAfter(position.username(), position.id(), window);
+        }
+
+        boolean hasNext = rows.size() > sliceSize;
+        if (hasNext) {
+            rows = rows.subList(0, sliceSize);
+        }
+
+        Map<Long, Set<String>> rolesByUser = new HashMap<>();
+        if (!rows.isEmpty()) {
+            List<Long> userIds = rows.stream().map(UserSummary::getId).toList();
+            for (Object[] row : userRepository.findRoleNamesByUserIds(userIds)) {
+                rolesByUser.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+            }
+        }
+
+        List<UserResponseDTO> content = rows.stream()
+                .map(row -> UserMapper.toDTO(row, rolesByUser.getOrDefault(row.getId(), Set.of())))
+                .toList();
+        String nextCursor = hasNext ? encodeCursor(rows.get(rows.size() - 1)) : null;
+        return new UserSliceResponseDTO(content, nextCursor, hasNext, includeTotal ? approximateUserCount() : null);
+    }
+
     public Optional<UserResponseDTO> getUserById(Long id) {
         return userRepository.findById(id)
                 .map(UserMapper::toDTO);
     }
 
+    public Optional<Long> findIdByUsername(String username) {
+        return userRepository.findIdByUsername(username);
+    }
+
     public Optional<UserResponseDTO> getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .map(UserMapper::toDTO);
     }
 
     public UserResponseDTO createUser(UserRequestDTO userRequestDTO) {
-        if (userRepository.existsByUsername(userRequestDTO.getUsername())) {
+        // The Bloom filter answers most checks; only possible matches reach the database
+        if (userExistenceFilter.mightContainUsername(userRequestDTO.getUsername())
+                && userRepository.existsByUsername(userRequestDTO.getUsername())) {
             throw new IllegalArgumentException("Username is already taken");
         }
-        if (userRepository.existsByEmail(userRequestDTO.getEmail())) {
+        if (userExistenceFilter.mightContainEmail(userRequestDTO.getEmail())
+                && userRepository.existsByEmail(userRequestDTO.getEmail())) {
             throw new IllegalArgumentException("Email is already in use");
         }
 
         User user = UserMapper.toEntity(userRequestDTO);
         user.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
-        User savedUser = userRepository.save(user);
-        return UserMapper.toDTO(savedUser);
+        return UserMapper.toDTO(saveNewUser(user));
     }
 
     public UserResponseDTO createUserWithRole(UserRequestDTO userRequestDTO, String roleName) {
@@ -80,8 +188,7 @@ public class UserService implements UserDetailsService {
         User user = UserMapper.toEntity(userRequestDTO);
         user.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
         user.getRoles().add(role);
-        User savedUser = userRepository.save(user);
-        return UserMapper.toDTO(savedUser);
+        return UserMapper.toDTO(saveNewUser(user));
     }
 
     public UserResponseDTO addRoleToUser(Long userId, String roleName) {
@@ -104,15 +211,69 @@ public class UserService implements UserDetailsService {
                         existingUser.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
                     }
                     User savedUser = userRepository.save(existingUser);
+                    // The previous username and email stay in the filter as harmless false positives
+                    userExistenceFilter.recordRemoval();
+                    userExistenceFilter.put(savedUser.getUsername(), savedUser.getEmail());
                     return UserMapper.toDTO(savedUser);
                 });
     }
 
+    // Soft-delete a user and their tasks; the TombstonePurger removes the rows later
+    @Transactional
     public boolean deleteUser(Long id) {
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
-            return true;
+        LocalDateTime deletedAt = LocalDateTime.now();
+        if (userRepository.softDeleteById(id, deletedAt) == 0) {
+            return false;
         }
-        return false;
+        taskRepository.softDeleteByUserId(id, deletedAt);
+        // Sharded tasks have no tombstones and go at once
+        shardedTasks.ifAvailable(tasks -> tasks.deleteByUserId(id));
+        userExistenceFilter.recordRemoval();
+        return true;
+    }
+
+    // Insert a new user; the unique constraints remain the final word on duplicates
+    private User saveNewUser(User user) {
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Username or email is already taken", e);
+        }
+        userExistenceFilter.put(savedUser.getUsername(), savedUser.getEmail());
+        return savedUser;
+    }
+
+    private long approximateUserCount() {
+        long[] cached = cachedUserCount;
+        long now = System.currentTimeMillis();
+        if (cached == null || now - cached[1] > USER_COUNT_TTL_MILLIS) {
+            cached = new long[]{userRepository.count(), now};
+            cachedUserCount = cached;
+        }
+        return cached[0];
+    }
+
+    private static String encodeCursor(UserSummary last) {
+        String position = last.getId() + ":" + last.getUsername();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new UserCursor(Long.valueOf(position.substring(0, separator)), position.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            // Also covers malformed Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // Keyset position of the last user in a slice
+    private record UserCursor(Long id, String username) {
     }
 }
\ No newline at end of file
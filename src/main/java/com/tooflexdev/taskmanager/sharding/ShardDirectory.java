@@ -0,0 +1,218 @@
+package com.tooflexdev.taskmanager.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Maps users to shards, stored on the primary database.
+ * <p>
+ * Users hash into a fixed number of buckets, and {@code task_shard_bucket} records which shard
+ * owns each bucket. The consistent-hash ring only proposes assignments; the table is what routes,
+ * so a rebalance can move buckets one at a time and a crash leaves every bucket with exactly one
+ * recorded owner.
+ * <p>
+ * Every instance caches the owners and checks {@code task_shard_directory.version} at most once
+ * per refresh interval, reloading when another instance has moved buckets. Reads may therefore
+ * use an owner that is up to one interval out of date. Writes do not rely on the cache: each
+ * shard keeps the buckets it owns in {@code task_bucket_owner}, writers lock their bucket's row
+ * there, and a write that finds the row gone refreshes the directory and retries on the new owner.
+ * <p>
+ * Task ids are handed out in blocks from {@code task_shard_id_seq}, so they stay unique across
+ * shards and survive moves unchanged.
+ */
+public class ShardDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardDirectory.class);
+
+    public static final int BUCKETS = 1024;
+
+    private static final int ID_BLOCK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataFieldMaxValueIncrementer idBlocks;
+    private final long refreshNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ReentrantLock idLock = new ReentrantLock();
+
+    // Replaced, never modified: routing reads it without locking
+    private volatile Snapshot snapshot;
+    private long nextId;
+    private long idLimit;
+
+    public ShardDirectory(DataSource primary, Duration refreshInterval) {
+        this.jdbcTemplate = new JdbcTemplate(primary);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(primary));
+        boolean postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+        this.idBlocks = postgres
+                ? new PostgresSequenceMaxValueIncrementer(primary, "task_shard_id_seq")
+                : new H2SequenceMaxValueIncrementer(primary, "task_shard_id_seq");
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    // Load the bucket owners, assigning them from the ring and recording ownership on the shards the
+    // first time sharding is enabled
+    public void initialize(ConsistentHashRing ring, TaskShards shards) {
+        Snapshot loaded = load();
+        List<Object[]> missing = new ArrayList<>();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (loaded.owners()[bucket] == null) {
+                missing.add(new Object[]{bucket, ring.ownerOf(bucket)});
+            }
+        }
+        if (!missing.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate("INSERT INTO task_shard_bucket (bucket, shard) VALUES (?, ?)", missing);
+            } catch (DuplicateKeyException e) {
+                log.info("Another instance assigned the shard buckets first");
+            }
+            loaded = load();
+        }
+        snapshot = loaded;
+        seedOwnership(shards);
+    }
+
+    public static int bucketOf(long userId) {
+        return (int) Long.remainderUnsigned(ConsistentHashRing.mix(userId), BUCKETS);
+    }
+
+    public String ownerOf(int bucket) {
+        Snapshot current = snapshot;
+        if (System.nanoTime() - current.checkedAt() > refreshNanos) {
+            refresh();
+            current = snapshot;
+        }
+        return current.owners()[bucket];
+    }
+
+    // Number of buckets each shard owns
+    public Map<String, Integer> getBucketCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.merge(ownerOf(bucket), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // Run a read against the bucket's owner as last seen; writes go through ShardedTaskRepository's fence
+    public <T> T withBucket(int bucket, Function<String, T> action) {
+        return action.apply(ownerOf(bucket));
+    }
+
+    // Reload the owners if any instance has moved buckets since they were last read
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            Snapshot current = snapshot;
+            long version = readVersion();
+            snapshot = version == current.version()
+                    ? new Snapshot(current.owners(), version, System.nanoTime())
+                    : load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Record a new owner and tell the other instances; callers hold the rebalance lease
+    void reassign(int bucket, String shard) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE task_shard_bucket SET shard = ? WHERE bucket = ?", shard, bucket);
+            jdbcTemplate.update("UPDATE task_shard_directory SET version = version + 1 WHERE id = 1");
+        });
+        refresh();
+    }
+
+    // Take or renew the lease that lets one instance rebalance at a time
+    boolean acquireRebalanceLease(String holder, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update("""
+                UPDATE task_shard_directory SET rebalance_owner = ?, rebalance_lease_until = ?
+                WHERE id = 1 AND (rebalance_owner IS NULL OR rebalance_owner = ? OR rebalance_lease_until < ?)
+                """, holder, now.plus(lease), holder, now) == 1;
+    }
+
+    void releaseRebalanceLease(String holder) {
+        jdbcTemplate.update("""
+                UPDATE task_shard_directory SET rebalance_owner = NULL, rebalance_lease_until = NULL
+                WHERE id = 1 AND rebalance_owner = ?
+                """, holder);
+    }
+
+    public long nextTaskId() {
+        idLock.lock();
+        try {
+            if (nextId == idLimit) {
+                nextId = idBlocks.nextLongValue() * ID_BLOCK_SIZE;
+                idLimit = nextId + ID_BLOCK_SIZE;
+            }
+            return nextId++;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    // Shards that have never recorded ownership (a new installation, or one from before ownership was
+    // recorded) take the buckets the directory gives them. Once any shard owns a bucket this is a no-op:
+    // after that, at most the one bucket being moved is unowned at a time.
+    private void seedOwnership(TaskShards shards) {
+        for (String name : shards.getNames()) {
+            Integer owned = shards.get(name).getJdbcTemplate().getJdbcTemplate()
+                    .queryForObject("SELECT COUNT(*) FROM task_bucket_owner", Integer.class);
+            if (owned != null && owned > 0) {
+                return;
+            }
+        }
+        for (String name : shards.getNames()) {
+            List<Object[]> buckets = new ArrayList<>();
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                if (name.equals(snapshot.owners()[bucket])) {
+                    buckets.add(new Object[]{bucket});
+                }
+            }
+            TaskShards.Shard shard = shards.get(name);
+            try {
+                shard.getTransactionTemplate().executeWithoutResult(status -> shard.getJdbcTemplate().getJdbcTemplate()
+                        .batchUpdate("INSERT INTO task_bucket_owner (bucket) VALUES (?)", buckets));
+            } catch (DuplicateKeyException e) {
+                log.info("Another instance recorded bucket ownership on {} first", name);
+            }
+        }
+    }
+
+    // The version is read first, so a move that lands in between is picked up by the next refresh
+    private Snapshot load() {
+        long version = readVersion();
+        String[] owners = new String[BUCKETS];
+        jdbcTemplate.query("SELECT bucket, shard FROM task_shard_bucket", rs -> {
+            owners[rs.getInt("bucket")] = rs.getString("shard");
+        });
+        return new Snapshot(owners, version, System.nanoTime());
+    }
+
+    private long readVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM task_shard_directory WHERE id = 1", Long.class);
+        return version != null ? version : 0;
+    }
+
+    private record Snapshot(String[] owners, long version, long checkedAt) {
+    }
+}
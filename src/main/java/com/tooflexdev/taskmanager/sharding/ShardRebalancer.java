@@ -0,0 +1,179 @@
+package com.tooflexdev.taskmanager.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves buckets between shards so ownership matches a new set of shards, without downtime.
+ * <p>
+ * Only one instance rebalances at a time, under a lease in {@code task_shard_directory}. Buckets
+ * are moved one at a time: the source shard first gives up the bucket's ownership row, which
+ * waits for writes in flight and turns later ones, from any instance, away to retry. The rows are
+ * then copied to the target together with its new ownership row, and the directory is switched.
+ * Requests for other buckets are not held up. A consistent-hash ring keeps the number of moved
+ * buckets close to the share the added or removed shards should own.
+ * <p>
+ * The old copies are deleted only after a grace period, so instances still reading with the old
+ * owners keep finding the rows until they refresh. A crash mid-move leaves the ownership rows and
+ * the directory out of step; the next rebalance first reconciles them, then clears rows from
+ * every shard that does not own their bucket.
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private static final List<String> COLUMN_NAMES = List.of("id", "bucket", "title", "description", "status",
+            "category", "priority", "due_date", "created_at", "updated_at", "user_id", "parent_task_id");
+
+    private static final String COLUMNS = String.join(", ", COLUMN_NAMES);
+
+    private static final String INSERT_SQL = "INSERT INTO task (" + COLUMNS + ") VALUES (:"
+            + String.join(", :", COLUMN_NAMES) + ")";
+
+    private final TaskShards shards;
+    private final ShardDirectory directory;
+    private final int virtualNodes;
+    private final Duration grace;
+
+    public ShardRebalancer(TaskShards shards, ShardDirectory directory, int virtualNodes, Duration grace) {
+        this.shards = shards;
+        this.directory = directory;
+        this.virtualNodes = virtualNodes;
+        this.grace = grace;
+    }
+
+    // Reassign buckets to the given shards, returning how many buckets and rows moved
+    public Map<String, Object> rebalance(List<String> shardNames) {
+        if (shardNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        shardNames.forEach(shards::get);
+        String holder = UUID.randomUUID().toString();
+        if (!directory.acquireRebalanceLease(holder, LEASE)) {
+            throw new IllegalStateException("A rebalance is already running");
+        }
+        try {
+            directory.refresh();
+            repairOwnership();
+            long staleRows = removeStaleRows();
+            ConsistentHashRing ring = new ConsistentHashRing(shardNames, virtualNodes);
+            int movedBuckets = 0;
+            long movedRows = 0;
+            for (int bucket = 0; bucket < ShardDirectory.BUCKETS; bucket++) {
+                String source = directory.ownerOf(bucket);
+                String target = ring.ownerOf(bucket);
+                if (!target.equals(source)) {
+                    if (!directory.acquireRebalanceLease(holder, LEASE)) {
+                        throw new IllegalStateException("Lost the rebalance lease after moving " + movedBuckets + " buckets");
+                    }
+                    movedRows += move(bucket, source, target);
+                    movedBuckets++;
+                }
+            }
+            if (movedBuckets > 0) {
+                sleep(grace);
+                removeStaleRows();
+            }
+            log.info("Rebalanced onto {}: moved {} buckets with {} tasks", shardNames, movedBuckets, movedRows);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("movedBuckets", movedBuckets);
+            result.put("movedTasks", movedRows);
+            result.put("staleTasksRemoved", staleRows);
+            return result;
+        } finally {
+            directory.releaseRebalanceLease(holder);
+        }
+    }
+
+    private long move(int bucket, String sourceName, String targetName) {
+        TaskShards.Shard source = shards.get(sourceName);
+        TaskShards.Shard target = shards.get(targetName);
+        Map<String, Integer> bucketParameter = Map.of("bucket", bucket);
+
+        // Waits for writes holding the ownership row; later writes find it gone and retry elsewhere
+        source.getJdbcTemplate().update("DELETE FROM task_bucket_owner WHERE bucket = :bucket", bucketParameter);
+        List<SqlParameterSource> rows;
+        try {
+            rows = source.getJdbcTemplate()
+                    .query("SELECT " + COLUMNS + " FROM task WHERE bucket = :bucket", bucketParameter, (rs, rowNum) -> {
+                        MapSqlParameterSource row = new MapSqlParameterSource();
+                        for (String column : COLUMN_NAMES) {
+                            row.addValue(column, rs.getObject(column));
+                        }
+                        return row;
+                    });
+            target.getTransactionTemplate().executeWithoutResult(status -> {
+                // Leftovers of an interrupted earlier move of this bucket
+                target.getJdbcTemplate().update("DELETE FROM task WHERE bucket = :bucket", bucketParameter);
+                if (!rows.isEmpty()) {
+                    target.getJdbcTemplate().batchUpdate(INSERT_SQL, rows.toArray(new SqlParameterSource[0]));
+                }
+                target.getJdbcTemplate().update("INSERT INTO task_bucket_owner (bucket) VALUES (:bucket)",
+                        bucketParameter);
+            });
+        } catch (RuntimeException e) {
+            // Nothing was copied, so the source keeps the bucket
+            source.getJdbcTemplate().update("INSERT INTO task_bucket_owner (bucket) VALUES (:bucket)", bucketParameter);
+            throw e;
+        }
+        directory.reassign(bucket, targetName);
+        return rows.size();
+    }
+
+    // After an interrupted move a bucket may be owned by no shard, or by a shard the directory does not
+    // name yet. The first goes back to its recorded owner, which still has the rows; the second is
+    // recorded where it is owned, since the copy and the ownership row were committed together.
+    private void repairOwnership() {
+        Map<Integer, String> owned = new HashMap<>();
+        for (String name : shards.getNames()) {
+            shards.get(name).getJdbcTemplate()
+                    .queryForList("SELECT bucket FROM task_bucket_owner", Map.of(), Integer.class)
+                    .forEach(bucket -> owned.put(bucket, name));
+        }
+        for (int bucket = 0; bucket < ShardDirectory.BUCKETS; bucket++) {
+            String recorded = directory.ownerOf(bucket);
+            String holder = owned.get(bucket);
+            if (holder == null) {
+                log.warn("Bucket {} was owned by no shard; returning it to {}", bucket, recorded);
+                shards.get(recorded).getJdbcTemplate()
+                        .update("INSERT INTO task_bucket_owner (bucket) VALUES (:bucket)", Map.of("bucket", bucket));
+            } else if (!holder.equals(recorded)) {
+                log.warn("Bucket {} is owned by {} but recorded for {}; recording {}", bucket, holder, recorded, holder);
+                directory.reassign(bucket, holder);
+            }
+        }
+    }
+
+    private long removeStaleRows() {
+        long removed = 0;
+        for (String name : shards.getNames()) {
+            removed += shards.get(name).getJdbcTemplate().update(
+                    "DELETE FROM task WHERE bucket NOT IN (SELECT bucket FROM task_bucket_owner)", Map.of());
+        }
+        if (removed > 0) {
+            log.info("Removed {} tasks from shards that no longer own their bucket", removed);
+        }
+        return removed;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for instances to see the new owners", e);
+        }
+    }
+}
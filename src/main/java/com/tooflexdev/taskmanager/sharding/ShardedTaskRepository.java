@@ -0,0 +1,291 @@
+package com.tooflexdev.taskmanager.sharding;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Task storage spread over several databases by a hash of {@code user_id}.
+ * <p>
+ * Per-user operations go to the single shard that owns the user's bucket. Cross-user queries
+ * are scattered to every shard in parallel; each shard returns its rows ordered by id and the
+ * sorted runs are merged, so the combined result is in id order without a global sort. Lookups
+ * by task id alone do not know the owner and are scattered as well; they are primary-key probes.
+ * <p>
+ * Writes run in a shard transaction that first locks the bucket's ownership row on that shard. If
+ * the bucket has moved, possibly by another instance, the row is gone: the directory is refreshed
+ * and the write retried on the new owner, so it can never land on a shard that has lost the bucket.
+ */
+public class ShardedTaskRepository {
+
+    private static final String SELECT_SQL = "SELECT id, title, description, status, category, priority, due_date, "
+            + "created_at, updated_at, user_id, parent_task_id FROM task";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO task (id, bucket, title, description, status, category, priority, due_date,
+                              created_at, updated_at, user_id, parent_task_id)
+            VALUES (:id, :bucket, :title, :description, :status, :category, :priority, :dueDate,
+                    :createdAt, :updatedAt, :userId, :parentTaskId)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE task SET title = :title, description = :description, status = :status, category = :category,
+                            priority = :priority, due_date = :dueDate, updated_at = :updatedAt
+            WHERE id = :id AND user_id = :userId
+            """;
+
+    private static final RowMapper<TaskResponseDTO> ROW_MAPPER = (rs, rowNum) -> new TaskResponseDTO(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getString("status") != null ? TaskStatus.valueOf(rs.getString("status")) : null,
+            rs.getString("category"),
+            rs.getObject("priority", Integer.class),
+            rs.getObject("due_date", LocalDateTime.class),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getLong("user_id"),
+            rs.getObject("parent_task_id", Long.class));
+
+    private static final int MAX_WRITE_ATTEMPTS = 50;
+
+    // Marks a write turned away because the shard no longer owns the bucket
+    private static final Object MOVED = new Object();
+
+    private final TaskShards shards;
+    private final ShardDirectory directory;
+
+    public ShardedTaskRepository(TaskShards shards, ShardDirectory directory) {
+        this.shards = shards;
+        this.directory = directory;
+    }
+
+    public List<TaskResponseDTO> findByUserId(long userId) {
+        return directory.withBucket(ShardDirectory.bucketOf(userId), owner -> shards.get(owner).getJdbcTemplate()
+                .query(SELECT_SQL + " WHERE user_id = :userId ORDER BY id", Map.of("userId", userId), ROW_MAPPER));
+    }
+
+    public List<TaskResponseDTO> findAll() {
+        return scatter(SELECT_SQL + " ORDER BY id", Map.of());
+    }
+
+    public List<TaskResponseDTO> findByStatus(TaskStatus status) {
+        return scatter(SELECT_SQL + " WHERE status = :status ORDER BY id", Map.of("status", status.name()));
+    }
+
+    public List<TaskResponseDTO> findByCategory(String category) {
+        return scatter(SELECT_SQL + " WHERE category = :category ORDER BY id", Map.of("category", category));
+    }
+
+    public List<TaskResponseDTO> findByPriority(Integer priority) {
+        return scatter(SELECT_SQL + " WHERE priority = :priority ORDER BY id", Map.of("priority", priority));
+    }
+
+    // A non-null ownerId confines the lookup to that user's shard and tasks
+    public List<TaskResponseDTO> findByIds(Collection<Long> ids, Long ownerId) {
+        if (ownerId == null) {
+            return scatter(SELECT_SQL + " WHERE id IN (:ids) ORDER BY id", Map.of("ids", ids));
+        }
+        return directory.withBucket(ShardDirectory.bucketOf(ownerId), owner -> shards.get(owner).getJdbcTemplate()
+                .query(SELECT_SQL + " WHERE id IN (:ids) AND user_id = :userId ORDER BY id",
+                        Map.of("ids", ids, "userId", ownerId), ROW_MAPPER));
+    }
+
+    public Optional<TaskResponseDTO> findById(long id) {
+        return scatter(SELECT_SQL + " WHERE id = :id", Map.of("id", id)).stream().findFirst();
+    }
+
+    public TaskResponseDTO insert(Task task) {
+        if (task.getUser() == null || task.getUser().getId() == null) {
+            throw new IllegalArgumentException("A task needs an owning user");
+        }
+        long userId = task.getUser().getId();
+        int bucket = ShardDirectory.bucketOf(userId);
+        LocalDateTime now = LocalDateTime.now();
+        TaskResponseDTO created = new TaskResponseDTO(directory.nextTaskId(), task.getTitle(), task.getDescription(),
+                task.getStatus(), task.getCategory(), task.getPriority(), task.getDueDate(), now, now, userId,
+                task.getParentTask() != null ? task.getParentTask().getId() : null);
+        write(bucket, shard -> shard.getJdbcTemplate().update(INSERT_SQL, parameters(created).addValue("bucket", bucket)));
+        return created;
+    }
+
+    // Replace the editable fields of a task, returning the updated task
+    public Optional<TaskResponseDTO> update(long id, Task update) {
+        Optional<Long> userId = findUserIdById(id);
+        if (userId.isEmpty()) {
+            return Optional.empty();
+        }
+        return write(ShardDirectory.bucketOf(userId.get()), shard -> {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("id", id)
+                    .addValue("userId", userId.get())
+                    .addValue("title", update.getTitle())
+                    .addValue("description", update.getDescription())
+                    .addValue("status", update.getStatus() != null ? update.getStatus().name() : null)
+                    .addValue("category", update.getCategory())
+                    .addValue("priority", update.getPriority())
+                    .addValue("dueDate", update.getDueDate())
+                    .addValue("updatedAt", LocalDateTime.now());
+            if (shard.getJdbcTemplate().update(UPDATE_SQL, parameters) == 0) {
+                return Optional.empty();
+            }
+            return shard.getJdbcTemplate()
+                    .query(SELECT_SQL + " WHERE id = :id", Map.of("id", id), ROW_MAPPER).stream().findFirst();
+        });
+    }
+
+    // Set category and priority only where the task has none, returning the task if it exists
+    public Optional<TaskResponseDTO> fillMissingClassification(long id, String category, Integer priority) {
+        Optional<Long> userId = findUserIdById(id);
+        if (userId.isEmpty()) {
+            return Optional.empty();
+        }
+        return write(ShardDirectory.bucketOf(userId.get()), shard -> {
+            shard.getJdbcTemplate().update("""
+                    UPDATE task SET category = CASE WHEN category IS NULL OR category = '' THEN :category ELSE category END,
+                                    priority = COALESCE(priority, :priority), updated_at = :updatedAt
+                    WHERE id = :id
+                    """, new MapSqlParameterSource()
+                    .addValue("id", id)
+                    .addValue("category", category)
+                    .addValue("priority", priority)
+                    .addValue("updatedAt", LocalDateTime.now()));
+            return shard.getJdbcTemplate()
+                    .query(SELECT_SQL + " WHERE id = :id", Map.of("id", id), ROW_MAPPER).stream().findFirst();
+        });
+    }
+
+    // Delete a task and its subtasks, returning the owner if the task existed
+    public Optional<Long> delete(long id) {
+        Optional<Long> userId = findUserIdById(id);
+        userId.ifPresent(owningUser -> write(ShardDirectory.bucketOf(owningUser), shard -> {
+            List<List<Long>> levels = new ArrayList<>();
+            List<Long> level = List.of(id);
+            while (!level.isEmpty()) {
+                levels.add(level);
+                level = shard.getJdbcTemplate().queryForList(
+                        "SELECT id FROM task WHERE parent_task_id IN (:ids)", Map.of("ids", level), Long.class);
+            }
+            // Children before parents, mirroring how the purger removes subtrees
+            int deleted = 0;
+            for (int depth = levels.size() - 1; depth >= 0; depth--) {
+                deleted += shard.getJdbcTemplate().update("DELETE FROM task WHERE id IN (:ids)",
+                        Map.of("ids", levels.get(depth)));
+            }
+            return deleted;
+        }));
+        return userId;
+    }
+
+    // Delete all of a user's tasks, returning how many were removed
+    public int deleteByUserId(long userId) {
+        return write(ShardDirectory.bucketOf(userId), shard -> shard.getJdbcTemplate()
+                .update("DELETE FROM task WHERE user_id = :userId", Map.of("userId", userId)));
+    }
+
+    // Task count per shard
+    public Map<String, Long> countByShard() {
+        List<String> names = shards.getNames();
+        List<Long> counts = shards.scatter(shard -> shard.getJdbcTemplate().getJdbcTemplate()
+                .queryForObject("SELECT COUNT(*) FROM task", Long.class));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            result.put(names.get(i), counts.get(i));
+        }
+        return result;
+    }
+
+    // Run a write on the bucket's owner in one shard transaction that holds the bucket's ownership row
+    @SuppressWarnings("unchecked")
+    private <T> T write(int bucket, Function<TaskShards.Shard, T> action) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            TaskShards.Shard shard = shards.get(directory.ownerOf(bucket));
+            Object result = shard.getTransactionTemplate().execute(status ->
+                    shard.lockOwnership(bucket) ? action.apply(shard) : MOVED);
+            if (result != MOVED) {
+                return (T) result;
+            }
+            // Moved or being moved: wait for the new owner to be recorded, then write there
+            try {
+                Thread.sleep(Math.min(attempt * 10L, 100L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            directory.refresh();
+        }
+        throw new IllegalStateException("Bucket " + bucket + " is being moved between shards; try again");
+    }
+
+    private Optional<Long> findUserIdById(long id) {
+        return shards.scatter(shard -> shard.getJdbcTemplate()
+                        .queryForList("SELECT user_id FROM task WHERE id = :id", Map.of("id", id), Long.class))
+                .stream()
+                .flatMap(List::stream)
+                .findFirst();
+    }
+
+    private List<TaskResponseDTO> scatter(String sql, Map<String, ?> parameters) {
+        return merge(shards.scatter(shard -> shard.getJdbcTemplate().query(sql, parameters, ROW_MAPPER)));
+    }
+
+    // K-way merge of per-shard runs sorted by id. A bucket caught mid-move briefly has its rows on two
+    // shards; equal ids are the same row, so only the first copy is kept.
+    static List<TaskResponseDTO> merge(List<List<TaskResponseDTO>> runs) {
+        record Cursor(List<TaskResponseDTO> run, int index) {
+            TaskResponseDTO head() {
+                return run.get(index);
+            }
+        }
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparing((Cursor cursor) -> cursor.head().getId()));
+        int total = 0;
+        for (List<TaskResponseDTO> run : runs) {
+            total += run.size();
+            if (!run.isEmpty()) {
+                queue.add(new Cursor(run, 0));
+            }
+        }
+        List<TaskResponseDTO> merged = new ArrayList<>(total);
+        Long lastId = null;
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            TaskResponseDTO task = cursor.head();
+            if (!task.getId().equals(lastId)) {
+                merged.add(task);
+                lastId = task.getId();
+            }
+            if (cursor.index() + 1 < cursor.run().size()) {
+                queue.add(new Cursor(cursor.run(), cursor.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private static MapSqlParameterSource parameters(TaskResponseDTO task) {
+        return new MapSqlParameterSource()
+                .addValue("id", task.getId())
+                .addValue("title", task.getTitle())
+                .addValue("description", task.getDescription())
+                .addValue("status", task.getStatus() != null ? task.getStatus().name() : null)
+                .addValue("category", task.getCategory())
+                .addValue("priority", task.getPriority())
+                .addValue("dueDate", task.getDueDate())
+                .addValue("createdAt", task.getCreatedAt())
+                .addValue("updatedAt", task.getUpdatedAt())
+                .addValue("userId", task.getUserId())
+                .addValue("parentTaskId", task.getParentTaskId());
+    }
+}
@@ -0,0 +1,140 @@
+package com.tooflexdev.taskmanager.sharding;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The configured shard databases, each with its own JDBC template and transaction template, and
+ * the thread pool used to fan a query out to all of them in parallel.
+ */
+public class TaskShards implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskShards.class);
+
+    private final Map<String, Shard> shards = new LinkedHashMap<>();
+    private final ExecutorService fanOutExecutor;
+
+    public TaskShards(Map<String, DataSource> dataSources) {
+        dataSources.forEach((name, dataSource) -> shards.put(name, new Shard(name, dataSource)));
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.fanOutExecutor = Executors.newFixedThreadPool(Math.max(2, dataSources.size() * 2), runnable -> {
+            Thread thread = new Thread(runnable, "task-shards-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Bring every shard's task table up to date; shards have their own migrations, separate from the primary's
+    public void migrate() {
+        for (Shard shard : shards.values()) {
+            Flyway.configure()
+                    .dataSource(shard.dataSource)
+                    .locations("classpath:db/shard")
+                    .load()
+                    .migrate();
+        }
+    }
+
+    public List<String> getNames() {
+        return List.copyOf(shards.keySet());
+    }
+
+    public Shard get(String name) {
+        Shard shard = shards.get(name);
+        if (shard == null) {
+            throw new IllegalArgumentException("Unknown shard: " + name + "; configured shards are " + shards.keySet());
+        }
+        return shard;
+    }
+
+    // Run the query on every shard in parallel and return the results in shard order
+    public <T> List<T> scatter(Function<Shard, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards.values()) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), fanOutExecutor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        fanOutExecutor.shutdownNow();
+        for (Shard shard : shards.values()) {
+            if (shard.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close shard {}", shard.name, e);
+                }
+            }
+        }
+    }
+
+    public static final class Shard {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+        private final String ownershipLockSql;
+
+        private Shard(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            boolean postgres = Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().execute(
+                    (ConnectionCallback<Boolean>) connection ->
+                            "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+            // Concurrent writers to a bucket share the lock on Postgres; H2 only has exclusive row locks
+            this.ownershipLockSql = "SELECT bucket FROM task_bucket_owner WHERE bucket = :bucket"
+                    + (postgres ? " FOR SHARE" : " FOR UPDATE");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public NamedParameterJdbcTemplate getJdbcTemplate() {
+            return jdbcTemplate;
+        }
+
+        public TransactionTemplate getTransactionTemplate() {
+            return transactionTemplate;
+        }
+
+        // Lock the bucket's ownership row until the current transaction ends, returning false if this
+        // shard does not own the bucket (any more); a move of the bucket waits for the lock to be released
+        public boolean lockOwnership(int bucket) {
+            return !jdbcTemplate.queryForList(ownershipLockSql, Map.of("bucket", bucket), Integer.class).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.tooflexdev.taskmanager.validation;
+
+/**
+ * Validation group for constraints that query the database. Create endpoints run it through
+ * {@link OrderedChecks} after the other constraints pass; bulk operations leave it out and check
+ * the whole batch at once.
+ */
+public interface DatabaseChecks {
+}
@@ -0,0 +1,12 @@
+package com.tooflexdev.taskmanager.validation;
+
+import jakarta.validation.GroupSequence;
+import jakarta.validation.groups.Default;
+
+/**
+ * Validates the field constraints first and the {@link DatabaseChecks} only once they pass, so a
+ * malformed value is never looked up.
+ */
+@GroupSequence({Default.class, DatabaseChecks.class})
+public interface OrderedChecks {
+}
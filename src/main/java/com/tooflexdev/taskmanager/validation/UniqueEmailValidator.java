@@ -1,19 +1,24 @@
 package com.tooflexdev.taskmanager.validation;
 
 import com.tooflexdev.taskmanager.repository.UserRepository;
+import com.tooflexdev.taskmanager.service.UserExistenceFilter;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 public class UniqueEmailValidator implements ConstraintValidator<UniqueEmail, String> {
 
     private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
 
-    public UniqueEmailValidator(UserRepository userRepository) {
+    public UniqueEmailValidator(UserRepository userRepository, UserExistenceFilter userExistenceFilter) {
         this.userRepository = userRepository;
+        this.userExistenceFilter = userExistenceFilter;
     }
 
     @Override
     public boolean isValid(String email, ConstraintValidatorContext context) {
-        return email != null && !userRepository.existsByEmail(email);
+        // Only probe the database when the Bloom filter cannot rule the email out
+        return email != null
+                && (!userExistenceFilter.mightContainEmail(email) || !userRepository.existsByEmail(email));
     }
 }
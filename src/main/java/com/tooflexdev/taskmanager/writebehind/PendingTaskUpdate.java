@@ -0,0 +1,119 @@
+package com.tooflexdev.taskmanager.writebehind;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * The full new state of a task's editable fields, as accepted by {@code PUT /api/v1/tasks/{id}}.
+ * <p>
+ * Updates replace every editable field, so the latest update for a task subsumes all earlier
+ * ones still waiting to be flushed and coalescing is simply last-write-wins.
+ */
+final class PendingTaskUpdate {
+
+    private final long taskId;
+    private final long userId;
+    private final String title;
+    private final String description;
+    private final TaskStatus status;
+    private final String category;
+    private final Integer priority;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime updatedAt;
+
+    PendingTaskUpdate(long taskId, long userId, String title, String description, TaskStatus status,
+                      String category, Integer priority, LocalDateTime dueDate, LocalDateTime updatedAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.category = category;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.updatedAt = updatedAt;
+    }
+
+    static PendingTaskUpdate of(long taskId, long userId, Task update, LocalDateTime updatedAt) {
+        return new PendingTaskUpdate(taskId, userId, update.getTitle(), update.getDescription(), update.getStatus(),
+                update.getCategory(), update.getPriority(), update.getDueDate(), updatedAt);
+    }
+
+    long getTaskId() {
+        return taskId;
+    }
+
+    long getUserId() {
+        return userId;
+    }
+
+    // Row values in the order of WriteBehindTaskUpdater's UPDATE statement
+    Object[] toRow() {
+        return new Object[]{title, description, status != null ? status.name() : null, category, priority,
+                dueDate, updatedAt, taskId};
+    }
+
+    // The task as readers should see it once this update is flushed
+    TaskResponseDTO applyTo(TaskResponseDTO task) {
+        return new TaskResponseDTO(task.getId(), title, description, status, category, priority, dueDate,
+                task.getCreatedAt(), updatedAt, task.getUserId(), task.getParentTaskId());
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(taskId);
+        out.writeLong(userId);
+        writeString(out, title);
+        writeString(out, description);
+        writeString(out, status != null ? status.name() : null);
+        writeString(out, category);
+        out.writeBoolean(priority != null);
+        if (priority != null) {
+            out.writeInt(priority);
+        }
+        writeString(out, dueDate != null ? dueDate.toString() : null);
+        writeString(out, updatedAt.toString());
+    }
+
+    static PendingTaskUpdate readFrom(DataInput in) throws IOException {
+        long taskId = in.readLong();
+        long userId = in.readLong();
+        String title = readString(in);
+        String description = readString(in);
+        String status = readString(in);
+        String category = readString(in);
+        Integer priority = in.readBoolean() ? in.readInt() : null;
+        String dueDate = readString(in);
+        String updatedAt = readString(in);
+        return new PendingTaskUpdate(taskId, userId, title, description,
+                status != null ? TaskStatus.valueOf(status) : null, category, priority,
+                dueDate != null ? LocalDateTime.parse(dueDate) : null, LocalDateTime.parse(updatedAt));
+    }
+
+    // Length-prefixed UTF-8; unlike writeUTF this has no 64 KB limit, which descriptions may exceed
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
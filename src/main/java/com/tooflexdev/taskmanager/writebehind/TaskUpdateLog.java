@@ -0,0 +1,206 @@
+package com.tooflexdev.taskmanager.writebehind;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented write-ahead log of task updates.
+ * <p>
+ * Each record is framed as {@code [length][crc32][payload]}. Appends only write to the page
+ * cache; {@link #sync(long)} forces the file to disk with group commit, so concurrent writers
+ * waiting on the same force share one {@code fsync}. The log is rolled to a new segment on every
+ * flush, and a segment is deleted once all of its updates are committed to the database.
+ * <p>
+ * Callers serialize {@link #append} and {@link #roll} themselves so record order matches the
+ * order of their in-memory buffer.
+ */
+class TaskUpdateLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskUpdateLog.class);
+
+    private static final String SEGMENT_PREFIX = "task-updates-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private volatile FileChannel channel;
+    private Path segment;
+    private long segmentNumber;
+
+    // Sequence numbers of the last appended and the last forced record
+    private volatile long appended;
+    private volatile long synced;
+
+    TaskUpdateLog(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create write-behind log directory " + directory, e);
+        }
+    }
+
+    // Existing segments, oldest first; these hold updates that were never confirmed as flushed
+    List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Read every intact record of a segment; a torn or corrupt tail from a crash ends the segment
+    List<PendingTaskUpdate> read(Path segmentFile) {
+        List<PendingTaskUpdate> updates = new ArrayList<>();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentFile));
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    log.warn("Truncated record at the end of {}", segmentFile);
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                if (crc(payload) != checksum) {
+                    log.warn("Corrupt record at the end of {}", segmentFile);
+                    break;
+                }
+                updates.add(PendingTaskUpdate.readFrom(new DataInputStream(new ByteArrayInputStream(payload))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return updates;
+    }
+
+    // Start writing to a fresh segment numbered after every existing one
+    void open() {
+        List<Path> existing = segments();
+        segmentNumber = existing.isEmpty() ? 0 : number(existing.get(existing.size() - 1));
+        openNextSegment();
+    }
+
+    // Append a record and return its sequence number; it is durable only after sync
+    long append(PendingTaskUpdate update) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            update.writeTo(new DataOutputStream(bytes));
+            byte[] payload = bytes.toByteArray();
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+            record.putInt(payload.length).putInt(crc(payload)).put(payload).flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            return ++appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Block until the record with the given sequence number is on disk
+    void sync(long sequence) {
+        if (synced >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            // Whoever forced while we waited has likely covered us as well
+            if (synced < sequence) {
+                long target = appended;
+                channel.force(false);
+                synced = target;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Close the current segment and continue in a new one, returning the closed segment
+    Path roll() {
+        Path closed = segment;
+        syncLock.lock();
+        try {
+            channel.force(false);
+            synced = appended;
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            syncLock.unlock();
+        }
+        openNextSegment();
+        return closed;
+    }
+
+    void delete(Path segmentFile) {
+        try {
+            Files.deleteIfExists(segmentFile);
+        } catch (IOException e) {
+            log.warn("Could not delete flushed write-behind segment {}", segmentFile, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        syncLock.lock();
+        try {
+            if (channel != null && channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void openNextSegment() {
+        segmentNumber++;
+        segment = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+        try {
+            channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-behind segment " + segment, e);
+        }
+    }
+
+    private static long number(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
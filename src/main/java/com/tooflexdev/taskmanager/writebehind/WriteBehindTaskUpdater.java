@@ -0,0 +1,371 @@
+package com.tooflexdev.taskmanager.writebehind;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import com.tooflexdev.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write-behind mode for task updates ({@code tasks.write-behind.enabled}).
+ * <p>
+ * An update is acknowledged once it is durably appended to a local {@link TaskUpdateLog}. It is
+ * then held in memory, where later updates to the same task replace it, and a scheduled flush
+ * writes the surviving updates to the database as one JDBC batch. The flush runs on its own
+ * thread rather than the shared scheduler, so a slow archive or purge run cannot hold it up.
+ * Until then, reads see the buffered state through {@link #overlay(TaskResponseDTO)}. On startup,
+ * segments left behind by a crash are replayed into the buffer; replaying an update twice is
+ * harmless because each one carries the full new state of the task.
+ * <p>
+ * Whatever deletes or archives tasks must {@link #discard(Long)} their updates. An update that
+ * still finds no live row when it is flushed is counted in {@code tasks.write-behind.dropped}
+ * and logged, since it was acknowledged but never applied.
+ */
+@Service
+public class WriteBehindTaskUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindTaskUpdater.class);
+
+    private static final String UPDATE_SQL = """
+            UPDATE task SET title = ?, description = ?, status = ?, category = ?, priority = ?,
+                            due_date = ?, updated_at = ?
+            WHERE id = ? AND deleted_at IS NULL
+            """;
+
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Path logDirectory;
+    private final int maxPending;
+    private final long flushIntervalMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Timer flushTimer;
+    private final Counter acceptedUpdates;
+    private final Counter flushedUpdates;
+    private final Counter droppedUpdates;
+
+    private TaskUpdateLog updateLog;
+    private ScheduledExecutorService flusher;
+    // Updates not yet taken by a flush, and those taken by the flush currently running
+    private Map<Long, PendingTaskUpdate> pending = new LinkedHashMap<>();
+    private Map<Long, PendingTaskUpdate> inFlight = Map.of();
+    // In-flight updates whose task was deleted meanwhile; they must not be published or retried
+    private final Set<Long> discarded = new HashSet<>();
+    // Rolled segments whose updates are not all committed yet
+    private final List<Path> unflushedSegments = new ArrayList<>();
+
+    public WriteBehindTaskUpdater(TaskRepository taskRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  EntityManagerFactory entityManagerFactory,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${tasks.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${tasks.write-behind.log-dir:data/write-behind}") String logDirectory,
+                                  @Value("${tasks.write-behind.max-pending:1000}") int maxPending,
+                                  @Value("${tasks.write-behind.flush-interval-millis:50}") long flushIntervalMillis) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // Flushes may be triggered from inside read-only transactions and must commit on their own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.logDirectory = Path.of(logDirectory);
+        this.maxPending = maxPending;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushTimer = Timer.builder("tasks.write-behind.flush")
+                .description("Time to write one batch of buffered task updates").register(meterRegistry);
+        this.acceptedUpdates = Counter.builder("tasks.write-behind.accepted")
+                .description("Task updates acknowledged after the log append").register(meterRegistry);
+        this.flushedUpdates = Counter.builder("tasks.write-behind.flushed")
+                .description("Coalesced task updates written to the database").register(meterRegistry);
+        this.droppedUpdates = Counter.builder("tasks.write-behind.dropped")
+                .description("Acknowledged task updates that matched no live row when flushed").register(meterRegistry);
+        Gauge.builder("tasks.write-behind.pending", this, WriteBehindTaskUpdater::getPendingCount)
+                .description("Task updates buffered and not yet committed").register(meterRegistry);
+    }
+
+    // Replay segments a previous run left behind, then start a fresh one and the flush thread
+    @PostConstruct
+    void recover() {
+        if (!enabled) {
+            return;
+        }
+        updateLog = new TaskUpdateLog(logDirectory);
+        int replayed = 0;
+        for (Path segment : updateLog.segments()) {
+            for (PendingTaskUpdate update : updateLog.read(segment)) {
+                pending.put(update.getTaskId(), update);
+                replayed++;
+            }
+            unflushedSegments.add(segment);
+        }
+        updateLog.open();
+        if (replayed > 0) {
+            log.info("Replayed {} task updates for {} tasks from {}", replayed, pending.size(), logDirectory);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-write-behind-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Log and buffer an update, returning false if the task does not exist
+    public boolean submit(Long taskId, Task update) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind mode is disabled");
+        }
+        Optional<Long> userId = ownerOf(taskId);
+        if (userId.isEmpty()) {
+            return false;
+        }
+        PendingTaskUpdate pendingUpdate = PendingTaskUpdate.of(taskId, userId.get(), update, LocalDateTime.now());
+        long sequence;
+        boolean full;
+        lock.lock();
+        try {
+            sequence = updateLog.append(pendingUpdate);
+            pending.remove(taskId);
+            pending.put(taskId, pendingUpdate);
+            full = pending.size() >= maxPending;
+        } finally {
+            lock.unlock();
+        }
+        updateLog.sync(sequence);
+        acceptedUpdates.increment();
+        if (full) {
+            // Back-pressure: a writer that fills the buffer pays for the flush
+            flush();
+        }
+        return true;
+    }
+
+    // Drop a buffered update because the task was deleted or archived. An update already being flushed
+    // finds no live row, or is overwritten by the delete; either way it is neither retried nor published.
+    // Its log record is harmless on replay, where the update matches no row.
+    public void discard(Long taskId) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            pending.remove(taskId);
+            if (inFlight.containsKey(taskId)) {
+                discarded.add(taskId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean hasPending() {
+        if (!enabled) {
+            return false;
+        }
+        lock.lock();
+        try {
+            return !pending.isEmpty() || !inFlight.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Set<Long> getPendingTaskIds() {
+        lock.lock();
+        try {
+            Set<Long> ids = new HashSet<>(inFlight.keySet());
+            ids.addAll(pending.keySet());
+            return ids;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        return getPendingTaskIds().size();
+    }
+
+    // The task as its last acknowledged update left it
+    public TaskResponseDTO overlay(TaskResponseDTO task) {
+        PendingTaskUpdate update = find(task.getId());
+        return update != null ? update.applyTo(task) : task;
+    }
+
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            Map<Long, PendingTaskUpdate> batch;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                inFlight = batch;
+                pending = new LinkedHashMap<>();
+                unflushedSegments.add(updateLog.roll());
+            } finally {
+                lock.unlock();
+            }
+
+            Set<Long> unmatched;
+            try {
+                unmatched = flushTimer.record(() -> transactionTemplate.execute(status -> write(batch)));
+            } catch (RuntimeException e) {
+                log.warn("Flushing {} buffered task updates failed, will retry", batch.size(), e);
+                requeue(batch);
+                return;
+            }
+
+            Set<Long> published = new HashSet<>(batch.keySet());
+            lock.lock();
+            try {
+                inFlight = Map.of();
+                published.removeAll(discarded);
+                unmatched.removeAll(discarded);
+                discarded.clear();
+            } finally {
+                lock.unlock();
+            }
+            published.removeAll(unmatched);
+            flushedUpdates.increment(published.size());
+            if (!unmatched.isEmpty()) {
+                droppedUpdates.increment(unmatched.size());
+                log.warn("Dropped {} acknowledged task updates whose tasks no longer exist: {}", unmatched.size(), unmatched);
+            }
+            unflushedSegments.forEach(updateLog::delete);
+            unflushedSegments.clear();
+            publishUpdated(published);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        updateLog.close();
+    }
+
+    // An exception escaping a scheduled task would cancel every later run
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Scheduled write-behind flush failed", e);
+        }
+    }
+
+    // Write the batch, returning the ids of updates that matched no live row
+    private Set<Long> write(Map<Long, PendingTaskUpdate> batch) {
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (PendingTaskUpdate update : batch.values()) {
+            rows.add(update.toRow());
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        // The rows were changed behind Hibernate's back
+        batch.keySet().forEach(id -> entityManagerFactory.getCache().evict(Task.class, id));
+
+        // Drivers may report Statement.SUCCESS_NO_INFO instead of a count; only an explicit 0 is a miss
+        Set<Long> unmatched = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                unmatched.add(ids.get(i));
+            }
+        }
+        return unmatched;
+    }
+
+    // Put a failed batch back, keeping any newer update that arrived meanwhile
+    private void requeue(Map<Long, PendingTaskUpdate> batch) {
+        lock.lock();
+        try {
+            Map<Long, PendingTaskUpdate> merged = new LinkedHashMap<>(batch);
+            merged.keySet().removeAll(discarded);
+            merged.putAll(pending);
+            pending = merged;
+            inFlight = Map.of();
+            discarded.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Subscribers learn about an update once it is committed, not when it is acknowledged
+    private void publishUpdated(Set<Long> taskIds) {
+        for (TaskResponseDTO task : taskRepository.findDTOsByIdIn(taskIds)) {
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task));
+        }
+    }
+
+    // Buffered tasks have a known owner, so a burst of updates to one task costs a single lookup
+    private Optional<Long> ownerOf(Long taskId) {
+        PendingTaskUpdate update = find(taskId);
+        return update != null ? Optional.of(update.getUserId()) : taskRepository.findUserIdById(taskId);
+    }
+
+    private PendingTaskUpdate find(Long taskId) {
+        lock.lock();
+        try {
+            PendingTaskUpdate update = pending.get(taskId);
+            return update != null ? update : inFlight.get(taskId);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+-- Base schema shared by H2 and PostgreSQL: the tables as they were before Flyway managed them,
+-- so an existing database can be baselined at version 1. Secondary indexes live in the vendor
+-- folders, because PostgreSQL builds them concurrently and with partial predicates.
+
+CREATE TABLE role (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_role_name UNIQUE (name)
+);
+
+CREATE TABLE app_user (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_app_user_username UNIQUE (username),
+    CONSTRAINT uk_app_user_email UNIQUE (email)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES app_user (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES role (id)
+);
+
+CREATE TABLE task (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title          VARCHAR(255),
+    description    VARCHAR(255),
+    status         VARCHAR(32),
+    category       VARCHAR(255),
+    priority       INTEGER,
+    due_date       TIMESTAMP(6),
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    user_id        BIGINT NOT NULL,
+    parent_task_id BIGINT,
+    CONSTRAINT fk_task_user FOREIGN KEY (user_id) REFERENCES app_user (id),
+    CONSTRAINT fk_task_parent FOREIGN KEY (parent_task_id) REFERENCES task (id)
+);
+
+INSERT INTO role (name) VALUES ('USER');
+INSERT INTO role (name) VALUES ('ADMIN');
@@ -0,0 +1,9 @@
+-- Directory for the opt-in sharded task storage (tasks.sharding.enabled): which shard owns each
+-- user bucket, and the sequence that hands out blocks of globally unique task ids.
+
+CREATE TABLE task_shard_bucket (
+    bucket INTEGER PRIMARY KEY,
+    shard  VARCHAR(64) NOT NULL
+);
+
+CREATE SEQUENCE task_shard_id_seq START WITH 1 INCREMENT BY 1;
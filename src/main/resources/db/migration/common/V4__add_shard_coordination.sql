@@ -0,0 +1,12 @@
+-- Cross-instance coordination for the opt-in sharded task storage. The version is bumped on every
+-- bucket move so other instances know to reload task_shard_bucket, and the lease lets only one
+-- instance rebalance at a time.
+
+CREATE TABLE task_shard_directory (
+    id                    INTEGER PRIMARY KEY,
+    version               BIGINT NOT NULL,
+    rebalance_owner       VARCHAR(64),
+    rebalance_lease_until TIMESTAMP(6)
+);
+
+INSERT INTO task_shard_directory (id, version) VALUES (1, 0);
@@ -0,0 +1,23 @@
+-- H2 has no partial indexes, so each PostgreSQL partial index becomes a plain one here
+
+-- Derived finders and the soft-delete updates on task
+CREATE INDEX idx_task_user_id ON task (user_id);
+CREATE INDEX idx_task_status ON task (status);
+CREATE INDEX idx_task_category ON task (category);
+CREATE INDEX idx_task_priority ON task (priority);
+CREATE INDEX idx_task_due_date ON task (due_date);
+CREATE INDEX idx_task_created_at ON task (created_at);
+-- Subtask lookups, purge leaf detection and the self foreign key
+CREATE INDEX idx_task_parent_task_id ON task (parent_task_id);
+-- Archive root selection: status = 'DONE' and updated_at < cutoff
+CREATE INDEX idx_task_status_updated_at ON task (status, updated_at);
+-- Tombstone scans
+CREATE INDEX idx_task_deleted_at ON task (deleted_at);
+
+-- Keyset pagination over (username, id)
+CREATE INDEX idx_app_user_username_id ON app_user (username, id);
+CREATE INDEX idx_app_user_deleted_at ON app_user (deleted_at);
+CREATE INDEX idx_user_roles_role_id ON user_roles (role_id);
+
+CREATE INDEX idx_task_archive_user_id ON task_archive (user_id);
+CREATE INDEX idx_task_archive_parent_task_id ON task_archive (parent_task_id);
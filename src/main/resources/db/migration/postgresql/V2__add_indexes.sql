@@ -0,0 +1,30 @@
+-- Built with CONCURRENTLY so existing tables stay writable; the migration runs outside a
+-- transaction (see the .conf file). A failed build leaves an INVALID index that IF NOT EXISTS
+-- would skip, so drop it before re-running.
+--
+-- Live-row indexes are partial on deleted_at IS NULL, matching the @SQLRestriction on Task
+-- and User, so tombstones do not bloat them.
+
+-- Derived finders and the soft-delete updates on task
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_user_id ON task (user_id) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_status ON task (status) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_category ON task (category) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_priority ON task (priority) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_due_date ON task (due_date) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_created_at ON task (created_at) WHERE deleted_at IS NULL;
+-- Full indexes: the purger's NOT EXISTS probes and the foreign keys must also see tombstoned rows
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_user_id_all ON task (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_parent_task_id ON task (parent_task_id);
+-- Archive root selection
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_archivable ON task (updated_at)
+    WHERE status = 'DONE' AND parent_task_id IS NULL AND deleted_at IS NULL;
+-- Tombstone scans only ever look at deleted rows
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_deleted_at ON task (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Keyset pagination over (username, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_app_user_username_id ON app_user (username, id) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_app_user_deleted_at ON app_user (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_roles_role_id ON user_roles (role_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_archive_user_id ON task_archive (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_archive_parent_task_id ON task_archive (parent_task_id);
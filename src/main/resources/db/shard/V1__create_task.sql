@@ -0,0 +1,25 @@
+-- Task table on each shard. Users live on the primary, so user_id carries no foreign key, and
+-- rows keep their ids when a bucket moves, so ids come from the primary's task_shard_id_seq.
+-- Deletes are immediate; a task and its subtasks always share a user and therefore a shard.
+
+CREATE TABLE task (
+    id             BIGINT PRIMARY KEY,
+    bucket         INTEGER NOT NULL,
+    title          VARCHAR(255),
+    description    VARCHAR(255),
+    status         VARCHAR(32),
+    category       VARCHAR(255),
+    priority       INTEGER,
+    due_date       TIMESTAMP(6),
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    user_id        BIGINT NOT NULL,
+    parent_task_id BIGINT
+);
+
+CREATE INDEX idx_task_bucket ON task (bucket);
+CREATE INDEX idx_task_user_id ON task (user_id);
+CREATE INDEX idx_task_parent_task_id ON task (parent_task_id);
+CREATE INDEX idx_task_status ON task (status);
+CREATE INDEX idx_task_category ON task (category);
+CREATE INDEX idx_task_priority ON task (priority);
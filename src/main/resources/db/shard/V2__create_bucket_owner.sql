@@ -0,0 +1,7 @@
+-- Buckets this shard currently owns. Every write locks its bucket's row for the length of its
+-- transaction, and the rebalancer deletes the row before copying a bucket away, so no write from
+-- any instance can land on a shard that is losing the bucket.
+
+CREATE TABLE task_bucket_owner (
+    bucket INTEGER PRIMARY KEY
+);
@@ -3,7 +3,12 @@ package com.tooflexdev.taskmanager;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// The dev profile reads these from the environment
+@SpringBootTest(properties = {
+        "jwt.secret=dGFzay1tYW5hZ2VyLWNvbnRleHQtdGVzdC1zaWduaW5nLWtleS0wMTIzNDU2Nzg5",
+        "jwt.expiration=3600000",
+        "spring.ai.openai.api-key=test"
+})
 class TaskManagerApplicationTests {
 
     @Test
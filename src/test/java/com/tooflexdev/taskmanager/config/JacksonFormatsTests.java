@@ -0,0 +1,43 @@
+package com.tooflexdev.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonFormatsTests {
+
+    private final JacksonFormats formats = new JacksonFormats(new ObjectMapper(), Jackson2ObjectMapperBuilder.json());
+
+    @Test
+    void testNegotiateDefaultsToJson() {
+        assertEquals(MediaType.APPLICATION_JSON, formats.negotiate(null));
+        assertEquals(MediaType.APPLICATION_JSON, formats.negotiate("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, formats.negotiate("text/html,application/*;q=0.9,*/*;q=0.8"));
+    }
+
+    @Test
+    void testNegotiateHonoursQualityValues() {
+        assertEquals(JacksonFormats.SMILE, formats.negotiate("application/x-jackson-smile"));
+        assertEquals(JacksonFormats.CBOR, formats.negotiate("application/json;q=0.5, application/cbor"));
+        assertNull(formats.negotiate("text/plain, application/json;q=0"));
+    }
+
+    @Test
+    void testBinaryMappersRoundTrip() throws Exception {
+        ObjectMapper smile = formats.mapperFor(JacksonFormats.SMILE);
+        ObjectMapper cbor = formats.mapperFor(JacksonFormats.CBOR);
+        assertInstanceOf(SmileFactory.class, smile.getFactory());
+        assertInstanceOf(CBORFactory.class, cbor.getFactory());
+
+        Map<String, Object> value = Map.of("id", 42, "title", "Write report");
+        assertEquals(value, smile.readValue(smile.writeValueAsBytes(value), Map.class));
+        assertEquals(value, cbor.readValue(cbor.writeValueAsBytes(value), Map.class));
+    }
+}
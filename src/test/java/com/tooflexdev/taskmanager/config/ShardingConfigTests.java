@@ -0,0 +1,25 @@
+package com.tooflexdev.taskmanager.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardingConfigTests {
+
+    private static final String URLS = "jdbc:h2:mem:sharding-config-0,jdbc:h2:mem:sharding-config-1";
+
+    private final ShardingConfig config = new ShardingConfig();
+
+    @Test
+    void testFeaturesThatOnlyReadThePrimaryAreRejected() {
+        IllegalStateException writeBehind = assertThrows(IllegalStateException.class,
+                () -> config.taskShards(URLS, "", "", 2, true, false, false));
+        assertTrue(writeBehind.getMessage().startsWith("tasks.write-behind.enabled"));
+        IllegalStateException reminders = assertThrows(IllegalStateException.class,
+                () -> config.taskShards(URLS, "", "", 2, false, true, false));
+        assertTrue(reminders.getMessage().startsWith("reminders.enabled"));
+        IllegalStateException archive = assertThrows(IllegalStateException.class,
+                () -> config.taskShards(URLS, "", "", 2, false, false, true));
+        assertTrue(archive.getMessage().startsWith("archive.enabled"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.tooflexdev.taskmanager.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTests {
+
+    @Test
+    void testSamplesAreDeterministicForSeed() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.0);
+        Random first = new Random(7);
+        Random second = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(sampler.sample(first), sampler.sample(second));
+        }
+    }
+
+    @Test
+    void testLowRanksDominate() {
+        ZipfSampler sampler = new ZipfSampler(100, 1.0);
+        Random random = new Random(42);
+        int[] counts = new int[100];
+        for (int i = 0; i < 100_000; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 0 && rank < 100);
+            counts[rank]++;
+        }
+
+        // P(rank 0) = 1 / H(100) ~ 0.193 and rank 0 is about twice as likely as rank 1
+        assertEquals(0.193, counts[0] / 100_000.0, 0.01);
+        assertEquals(2.0, (double) counts[0] / counts[1], 0.15);
+        assertTrue(counts[0] > counts[99] * 50);
+    }
+
+    @Test
+    void testZeroExponentIsUniform() {
+        ZipfSampler sampler = new ZipfSampler(10, 0.0);
+        Random random = new Random(1);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.tooflexdev.taskmanager.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource primary = database("routing-primary", "primary");
+    private final DataSource replica = database("routing-replica", "replica");
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        DataSource routing = routing(new ReplicaLagMonitor(replica, meterRegistry, 1000, Duration.ofSeconds(1)));
+
+        assertEquals("replica", query(routing, true));
+        assertEquals("primary", query(routing, false));
+        assertEquals("primary", new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class));
+        assertEquals(1, routed("replica", "read_only"));
+        assertEquals(1, routed("primary", "write"));
+    }
+
+    @Test
+    void testWriterIsPinnedToPrimaryForReadAfterWrite() {
+        DataSource routing = routing(new ReplicaLagMonitor(replica, meterRegistry, 1000, Duration.ofSeconds(1)));
+
+        signIn("alice");
+        assertEquals("primary", query(routing, false));
+        assertEquals("primary", query(routing, true));
+        signIn("bob");
+        assertEquals("replica", query(routing, true));
+        assertEquals(1, routed("primary", "pinned"));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        // Any measured lag exceeds a negative limit
+        DataSource routing = routing(new ReplicaLagMonitor(replica, meterRegistry, -1, Duration.ofSeconds(1)));
+
+        assertEquals("primary", query(routing, true));
+        assertEquals(1, routed("primary", "replica_unavailable"));
+        assertEquals(0, meterRegistry.get("datasource.replica.usable").gauge().value());
+    }
+
+    @Test
+    void testReplicaIsDroppedWhenChecksStop() throws InterruptedException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, meterRegistry, 1000, Duration.ofMillis(20));
+        DataSource routing = routing(monitor);
+        assertTrue(monitor.isReplicaUsable());
+
+        // No check for more than two intervals
+        Thread.sleep(100);
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", query(routing, true));
+        monitor.check();
+        assertEquals("replica", query(routing, true));
+    }
+
+    private DataSource routing(ReplicaLagMonitor monitor) {
+        monitor.check();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, monitor, meterRegistry,
+                Duration.ofMinutes(1));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static String query(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tags("target", target, "reason", reason).counter().count();
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null, "ROLE_USER"));
+    }
+
+    private static DataSource database(String name, String marker) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(16))");
+        jdbcTemplate.update("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", marker);
+        return dataSource;
+    }
+}
@@ -0,0 +1,143 @@
+package com.tooflexdev.taskmanager.enrichment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskEnrichmentPipelineTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskService taskService = mock(TaskService.class);
+    private final StubChatModel chatModel = new StubChatModel();
+    private final TaskEnrichmentPipeline pipeline = new TaskEnrichmentPipeline(chatModel, objectMapper, taskService,
+            meterRegistry, 100, 20, Duration.ofMillis(50), 2, 100);
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void testQueuedTasksShareOneModelCall() {
+        for (long id = 1; id <= 10; id++) {
+            assertTrue(pipeline.submit(task(id, "Task " + id, null, null)));
+        }
+        pipeline.start();
+
+        verify(taskService, timeout(5000).times(10)).enrichTask(anyLong(), eq("Work"), eq(4));
+        assertEquals(List.of(10), chatModel.batchSizes);
+        assertEquals(10, tasks("model"));
+    }
+
+    @Test
+    void testSameContentIsServedFromCache() {
+        pipeline.start();
+        pipeline.submit(task(1L, "Pay rent", null, null));
+        verify(taskService, timeout(5000)).enrichTask(1L, "Work", 4);
+
+        pipeline.submit(task(2L, "  pay RENT ", null, null));
+        verify(taskService, timeout(5000)).enrichTask(2L, "Work", 4);
+        assertEquals(1, chatModel.batchSizes.size());
+        assertEquals(1, tasks("cache"));
+    }
+
+    @Test
+    void testTasksWithCategoryAndPriorityAreSkipped() {
+        assertFalse(pipeline.submit(task(1L, "Classified", "Work", 2)));
+        assertTrue(pipeline.submit(task(2L, "No priority", "Work", null)));
+        assertEquals(1, pipeline.getQueueSize());
+    }
+
+    @Test
+    void testFailedCallLeavesTasksUnchanged() {
+        chatModel.failing = true;
+        pipeline.submit(task(1L, "Task", null, null));
+        pipeline.start();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (tasks("failed") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, tasks("failed"));
+        verify(taskService, never()).enrichTask(anyLong(), any(), any());
+    }
+
+    @Test
+    void testParseKeepsValidAnswersOnly() {
+        TaskEnricher enricher = new TaskEnricher(chatModel, objectMapper);
+
+        List<TaskEnrichment> parsed = enricher.parse("""
+                Here you go:
+                ```json
+                [{"index":0,"category":"Finance","priority":9},
+                 {"index":1,"category":"","priority":2},
+                 {"index":2,"category":"Health","priority":"3"},
+                 {"index":7,"category":"Work","priority":1}]
+                ```
+                """, 4);
+
+        assertEquals(4, parsed.size());
+        assertEquals("Finance", parsed.get(0).getCategory());
+        assertEquals(TaskEnricher.MAX_PRIORITY, parsed.get(0).getPriority());
+        assertNull(parsed.get(1));
+        assertEquals(3, parsed.get(2).getPriority());
+        assertNull(parsed.get(3));
+        assertEquals(Arrays.asList(null, null), enricher.parse("not json", 2));
+    }
+
+    private double tasks(String outcome) {
+        return meterRegistry.get("tasks.enrichment.tasks").tag("outcome", outcome).counter().count();
+    }
+
+    private static TaskResponseDTO task(long id, String title, String category, Integer priority) {
+        return new TaskResponseDTO(id, title, "Created in a test", TaskStatus.PENDING, category, priority,
+                null, null, null, 1L, null);
+    }
+
+    // Answers every task in the prompt with category Work and priority 4, recording the batch sizes it saw
+    private class StubChatModel implements ChatModel {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            if (failing) {
+                throw new IllegalStateException("Model unavailable");
+            }
+            List<Message> messages = prompt.getInstructions();
+            try {
+                JsonNode tasks = objectMapper.readTree(messages.get(messages.size() - 1).getContent());
+                batchSizes.add(tasks.size());
+                ArrayNode answer = objectMapper.createArrayNode();
+                for (JsonNode task : tasks) {
+                    answer.addObject().put("index", task.get("index").asInt()).put("category", "Work").put("priority", 4);
+                }
+                return new ChatResponse(List.of(new Generation(new AssistantMessage(answer.toString()))));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
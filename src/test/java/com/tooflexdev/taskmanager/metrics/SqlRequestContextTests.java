@@ -0,0 +1,83 @@
+package com.tooflexdev.taskmanager.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlRequestContextTests {
+
+    private final SqlStatementCountingInspector inspector = new SqlStatementCountingInspector();
+
+    @AfterEach
+    void tearDown() {
+        SqlRequestContext.end();
+    }
+
+    @Test
+    void testStatementsOutsideRequestAreIgnored() {
+        assertEquals("select 1", inspector.inspect("select 1"));
+        assertNull(SqlRequestContext.current());
+    }
+
+    @Test
+    void testRepeatedStatementFlaggedAboveThreshold() {
+        SqlRequestContext context = SqlRequestContext.begin(3);
+        inspector.inspect("select * from task");
+        for (int i = 0; i < 4; i++) {
+            inspector.inspect("select * from app_user where id=?");
+        }
+
+        assertEquals(5, context.getStatements());
+        assertEquals(2, context.getDistinctStatements());
+        assertEquals("select * from app_user where id=?", context.getRepeatedStatement());
+        assertEquals(4, context.getRepeatedCount());
+    }
+
+    @Test
+    void testNoRepeatedStatementAtThreshold() {
+        SqlRequestContext context = SqlRequestContext.begin(3);
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect("select * from role where name=?");
+        }
+
+        assertEquals(3, context.getStatements());
+        assertNull(context.getRepeatedStatement());
+    }
+
+    @Test
+    void testAsyncStatementsAreRecordedWhenTheRequestCompletes() throws Exception {
+        SqlRouteStatistics statistics = new SqlRouteStatistics(new SimpleMeterRegistry());
+        SqlRouteMetricsFilter filter = new SqlRouteMetricsFilter(statistics, true, 10);
+        SqlContextCallableInterceptor interceptor = new SqlContextCallableInterceptor();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.setAsyncSupported(true);
+        ServletWebRequest webRequest = new ServletWebRequest(request);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            inspector.inspect("select * from app_user where username=?");
+            interceptor.beforeConcurrentHandling(webRequest, null);
+            req.startAsync();
+        });
+        assertNull(SqlRequestContext.current());
+        assertTrue(statistics.getRoutes().isEmpty());
+
+        // The streamed body runs on another thread
+        Thread async = new Thread(() -> {
+            interceptor.preProcess(webRequest, null);
+            inspector.inspect("select * from task where user_id=?");
+            interceptor.postProcess(webRequest, null, null);
+        });
+        async.start();
+        async.join();
+        request.getAsyncContext().complete();
+
+        SqlRouteStatistics.RouteStats stats = statistics.getRoutes().get("GET UNMATCHED");
+        assertEquals(1, stats.getRequests());
+        assertEquals(2, stats.getStatements());
+    }
+}
@@ -0,0 +1,182 @@
+package com.tooflexdev.taskmanager.reminder;
+
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import com.tooflexdev.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReminderEngineTests {
+
+    private static final long LEAD_TIME_MINUTES = 60;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> deliveredOn = new CopyOnWriteArrayList<>();
+    private ReminderEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        engine.close();
+    }
+
+    @Test
+    void testDeliveryDoesNotBlockTheTick() throws InterruptedException {
+        engine = engine(1, 10, blockingSink());
+        when(taskRepository.findRemindersDueBetween(any(), any(), eq(TaskStatus.DONE)))
+                .thenReturn(List.of(dueNow(1L), dueNow(2L)));
+        engine.loadWindow();
+
+        long started = System.nanoTime();
+        tickPastNextBoundary();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 1000, "tick waited for the sink");
+
+        release.countDown();
+        awaitDeliveries(2);
+        assertTrue(deliveredOn.stream().allMatch(thread -> thread.startsWith("reminder-delivery-")));
+        assertEquals(0, engine.getScheduledCount());
+    }
+
+    @Test
+    void testFullDeliveryQueueDropsReminders() throws InterruptedException {
+        engine = engine(1, 1, blockingSink());
+        when(taskRepository.findRemindersDueBetween(any(), any(), eq(TaskStatus.DONE)))
+                .thenReturn(List.of(dueNow(1L), dueNow(2L), dueNow(3L)));
+        engine.loadWindow();
+
+        // One delivery runs and blocks, one waits in the queue, the third has no room
+        tickPastNextBoundary();
+        assertEquals(1, meterRegistry.get("reminders.dropped").counter().count());
+
+        release.countDown();
+        awaitDeliveries(2);
+        assertEquals(2, deliveredOn.size());
+    }
+
+    @Test
+    void testDeleteDuringLoadWinsOverTheLoadedRow() {
+        engine = engine(1, 10, reminder -> { });
+        LocalDateTime updatedAt = LocalDateTime.now().minusMinutes(5);
+        when(taskRepository.findRemindersDueBetween(any(), any(), eq(TaskStatus.DONE))).thenAnswer(invocation -> {
+            engine.onTaskChanged(TaskChangedEvent.deleted(1L, 7L));
+            return List.of(reminder(1L, LocalDateTime.now().plusMinutes(90), updatedAt));
+        });
+
+        engine.loadWindow();
+
+        assertEquals(0, engine.getScheduledCount());
+    }
+
+    @Test
+    void testNewerChangeDuringLoadWinsOverTheLoadedRow() {
+        engine = engine(1, 10, reminder -> { });
+        LocalDateTime loadedAt = LocalDateTime.now().minusMinutes(5);
+        when(taskRepository.findRemindersDueBetween(any(), any(), eq(TaskStatus.DONE))).thenAnswer(invocation -> {
+            // Completed after the query read the row
+            engine.onTaskChanged(TaskChangedEvent.updated(task(1L, TaskStatus.DONE, LocalDateTime.now().plusMinutes(90),
+                    loadedAt.plusMinutes(1))));
+            return List.of(reminder(1L, LocalDateTime.now().plusMinutes(90), loadedAt));
+        });
+
+        engine.loadWindow();
+
+        assertEquals(0, engine.getScheduledCount());
+    }
+
+    @Test
+    void testChangeToAnUnloadedTaskIsScheduledOnceTheWindowGrows() {
+        engine = engine(1, 10, reminder -> { });
+        when(taskRepository.findRemindersDueBetween(any(), any(), eq(TaskStatus.DONE))).thenAnswer(invocation -> {
+            // Before the first load nothing is in the window, so the event alone would be ignored
+            engine.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.PENDING, LocalDateTime.now().plusMinutes(90),
+                    LocalDateTime.now())));
+            return List.of();
+        });
+
+        engine.loadWindow();
+
+        assertEquals(1, engine.getScheduledCount());
+    }
+
+    @Test
+    void testLoadedRowNewerThanTheChangeIsKept() {
+        engine = engine(1, 10, reminder -> { });
+        LocalDateTime loadedAt = LocalDateTime.now().minusMinutes(5);
+        when(taskRepository.findRemindersDueBetween(any(), any(), eq(TaskStatus.DONE))).thenAnswer(invocation -> {
+            // A late event for an older state of the task
+            engine.onTaskChanged(TaskChangedEvent.updated(task(1L, TaskStatus.DONE, LocalDateTime.now().plusMinutes(90),
+                    loadedAt.minusMinutes(1))));
+            return List.of(reminder(1L, LocalDateTime.now().plusMinutes(90), loadedAt));
+        });
+
+        engine.loadWindow();
+
+        assertEquals(1, engine.getScheduledCount());
+    }
+
+    private ReminderEngine engine(int deliveryThreads, int queueCapacity, ReminderSink sink) {
+        return new ReminderEngine(taskRepository, List.of(sink), meterRegistry, true, LEAD_TIME_MINUTES, 120,
+                10, 64, deliveryThreads, queueCapacity);
+    }
+
+    // Records the delivering thread, then waits until the test releases it
+    private ReminderSink blockingSink() {
+        return reminder -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            deliveredOn.add(Thread.currentThread().getName());
+        };
+    }
+
+    private void tickPastNextBoundary() throws InterruptedException {
+        Thread.sleep(30);
+        engine.tick();
+    }
+
+    private void awaitDeliveries(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (deliveredOn.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, deliveredOn.size());
+    }
+
+    // The reminder time has already passed, so it fires on the next tick
+    private static Reminder dueNow(Long taskId) {
+        return reminder(taskId, LocalDateTime.now().plusMinutes(LEAD_TIME_MINUTES - 1), LocalDateTime.now());
+    }
+
+    private static Reminder reminder(Long taskId, LocalDateTime dueDate, LocalDateTime updatedAt) {
+        return new Reminder(taskId, 7L, "Task " + taskId, dueDate, updatedAt);
+    }
+
+    private static TaskResponseDTO task(Long id, TaskStatus status, LocalDateTime dueDate, LocalDateTime updatedAt) {
+        return new TaskResponseDTO(id, "Task " + id, null, status, null, null, dueDate, null, updatedAt, 7L, null);
+    }
+}
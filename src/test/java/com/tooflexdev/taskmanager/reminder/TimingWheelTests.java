@@ -0,0 +1,68 @@
+package com.tooflexdev.taskmanager.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTests {
+
+    @Test
+    void testEntriesFireOnceTheirDeadlinePasses() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule(1L, "first", 25);
+        wheel.schedule(2L, "second", 55);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(30, (key, value) -> fired.add(value));
+        assertEquals(List.of("first"), fired);
+
+        wheel.advance(60, (key, value) -> fired.add(value));
+        assertEquals(List.of("first", "second"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testDeadlinesBeyondOneRevolutionWaitForTheirRound() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 4, 0);
+        // Same bucket as tick 1, but three revolutions later
+        wheel.schedule(1L, "later", 130);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(20, (key, value) -> fired.add(value));
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(140, (key, value) -> fired.add(value));
+        assertEquals(List.of("later"), fired);
+    }
+
+    @Test
+    void testCancelAndReschedule() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule(1L, "cancelled", 20);
+        wheel.schedule(2L, "moved", 20);
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+        wheel.schedule(2L, "moved", 70);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(40, (key, value) -> fired.add(value));
+        assertTrue(fired.isEmpty());
+        assertTrue(wheel.contains(2L));
+
+        wheel.advance(80, (key, value) -> fired.add(value));
+        assertEquals(List.of("moved"), fired);
+    }
+
+    @Test
+    void testPastDeadlinesFireOnNextAdvance() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 8, 1000);
+        wheel.schedule(1L, "overdue", 500);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(1010, (key, value) -> fired.add(value));
+        assertEquals(List.of("overdue"), fired);
+    }
+}
@@ -0,0 +1,27 @@
+package com.tooflexdev.taskmanager.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTests {
+
+    @Test
+    void testParseKeepsRequestedOrderWithoutDuplicates() {
+        List<String> fields = FieldSelection.parse(" title,id ,,title,status", TaskProjectionRepository.FIELDS);
+
+        assertEquals(List.of("title", "id", "status"), fields);
+    }
+
+    @Test
+    void testParseRejectsUnknownAndEmptySelections() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldSelection.parse("id,password", UserProjectionRepository.FIELDS));
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldSelection.parse("id,createdAt", UserProjectionRepository.FIELDS));
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldSelection.parse(" , ", TaskProjectionRepository.FIELDS));
+    }
+}
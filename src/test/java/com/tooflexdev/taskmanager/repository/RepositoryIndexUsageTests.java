@@ -0,0 +1,196 @@
+package com.tooflexdev.taskmanager.repository;
+
+import com.tooflexdev.taskmanager.config.PasswordConfig;
+import com.tooflexdev.taskmanager.datagen.SyntheticDataGenerator;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every repository query against a migrated H2 schema seeded with the synthetic data
+ * generator, captures the SQL Hibernate issues and asserts that H2's plan for each statement
+ * uses an index rather than a table scan. The caches are cleared before each query so it
+ * reaches the database.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.tooflexdev.taskmanager.repository.RepositoryIndexUsageTests$CapturingInspector",
+        "datagen.users=5000",
+        "datagen.tasks=50000",
+        "datagen.workers=2"
+})
+@Import({SyntheticDataGenerator.class, PasswordConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RepositoryIndexUsageTests {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+    // Two rows; a scan is the right plan
+    private static final String ROLE_TABLE = "ROLE";
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testRepositoryQueriesAreIndexServed() {
+        dataGenerator.generate();
+        jdbcTemplate.update("""
+                INSERT INTO task_archive (id, title, description, status, category, priority, due_date,
+                                          created_at, updated_at, user_id, parent_task_id, archived_at)
+                SELECT id, title, description, status, category, priority, due_date,
+                       created_at, updated_at, user_id, parent_task_id, CURRENT_TIMESTAMP
+                FROM task
+                """);
+        jdbcTemplate.execute("ANALYZE");
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("TaskRepository.findByStatus", () -> taskRepository.findByStatus(TaskStatus.PENDING));
+        queries.put("TaskRepository.findByCategory", () -> taskRepository.findByCategory("category-7"));
+        queries.put("TaskRepository.findByUserId", () -> taskRepository.findByUserId(42L));
+        queries.put("TaskRepository.findByPriority", () -> taskRepository.findByPriority(5));
+        queries.put("TaskRepository.findDTOsByIdIn", () -> taskRepository.findDTOsByIdIn(List.of(42L, 43L, 44L)));
+        queries.put("TaskRepository.findDTOsByIdInAndUserId",
+                () -> taskRepository.findDTOsByIdInAndUserId(List.of(42L, 43L, 44L), 42L));
+        queries.put("TaskRepository.findRemindersDueBetween",
+                () -> taskRepository.findRemindersDueBetween(now, now.plusHours(2), TaskStatus.DONE));
+        queries.put("TaskRepository.findUserIdById", () -> taskRepository.findUserIdById(42L));
+        queries.put("TaskRepository.softDeleteById", () -> rolledBack(() -> taskRepository.softDeleteById(42L, now)));
+        queries.put("TaskRepository.softDeleteByUserId", () -> rolledBack(() -> taskRepository.softDeleteByUserId(42L, now)));
+        queries.put("TaskRepository.softDeleteByIdIn",
+                () -> rolledBack(() -> taskRepository.softDeleteByIdIn(List.of(42L, 43L), now)));
+        queries.put("TaskRepository.findIdsByParentTaskIdIn",
+                () -> taskRepository.findIdsByParentTaskIdIn(List.of(42L, 43L)));
+        queries.put("TaskRepository.findByIdForUpdate", () -> rolledBack(() -> taskRepository.findByIdForUpdate(42L)));
+        queries.put("TaskRepository.findProjected by status", () -> taskRepository.findProjected(
+                List.of("id", "title", "userId", "parentTaskId"), TaskStatus.PENDING, null));
+        queries.put("TaskRepository.findProjected by category", () -> taskRepository.findProjected(
+                List.of("id", "title", "status"), null, "category-7"));
+        queries.put("TaskRepository.streamProjected", () -> rolledBack(() -> {
+            try (Stream<Map<String, Object>> tasks = taskRepository.streamProjected(List.of("id", "title"))) {
+                tasks.findFirst();
+            }
+        }));
+        queries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("gen-user-42"));
+        queries.put("UserRepository.findIdByUsername", () -> userRepository.findIdByUsername("gen-user-42"));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("gen-user-42@example.com"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("gen-user-42@example.com"));
+        queries.put("UserRepository.existsByUsername", () -> userRepository.existsByUsername("gen-user-42"));
+        queries.put("UserRepository.findFirstSummaries", () -> userRepository.findFirstSummaries(PageRequest.of(0, 20)));
+        queries.put("UserRepository.findSummariesAfter",
+                () -> userRepository.findSummariesAfter("gen-user-42", 43L, PageRequest.of(0, 20)));
+        queries.put("UserRepository.findRoleNamesByUserIds",
+                () -> userRepository.findRoleNamesByUserIds(List.of(1L, 2L, 3L)));
+        queries.put("UserProjectionRepository.findProjected", () -> userRepository.findProjected(
+                List.of("id", "username"), PageRequest.of(3, 20, Sort.by("id"))));
+        queries.put("UserRepository.softDeleteById", () -> rolledBack(() -> userRepository.softDeleteById(42L, now)));
+        queries.put("RoleRepository.findByName", () -> roleRepository.findByName("USER"));
+        queries.put("RoleRepository.findByNameIn", () -> roleRepository.findByNameIn(List.of("USER", "ADMIN")));
+        queries.put("ArchivedTaskRepository.findByUserId",
+                () -> archivedTaskRepository.findByUserId(42L, PageRequest.of(0, 20)));
+        queries.put("ArchivedTaskRepository.findByParentTaskId", () -> archivedTaskRepository.findByParentTaskId(42L));
+
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            CapturingInspector.STATEMENTS.clear();
+            query.run();
+            assertFalse(CapturingInspector.STATEMENTS.isEmpty(), name + " issued no SQL");
+            for (String sql : CapturingInspector.STATEMENTS) {
+                String plan = explain(sql);
+                Matcher matcher = TABLE_SCAN.matcher(plan);
+                while (matcher.find()) {
+                    if (!ROLE_TABLE.equals(matcher.group(1))) {
+                        failures.add(name + " scans " + matcher.group(1) + ":\n" + plan);
+                    }
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    private void rolledBack(Runnable update) {
+        transactionTemplate.executeWithoutResult(status -> {
+            update.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    // Binds a type-appropriate placeholder to every parameter; H2 plans do not depend on the values
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    switch (parameters.getParameterType(i)) {
+                        case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.CLOB -> statement.setString(i, "x");
+                        case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE, Types.DATE ->
+                                statement.setTimestamp(i, Timestamp.valueOf(LocalDateTime.now()));
+                        case Types.BOOLEAN -> statement.setBoolean(i, true);
+                        default -> statement.setLong(i, 1);
+                    }
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
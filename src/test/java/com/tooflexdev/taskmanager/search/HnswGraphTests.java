@@ -0,0 +1,138 @@
+package com.tooflexdev.taskmanager.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswGraphTests {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    void testSearchFindsMostTrueNeighbours() {
+        ArrayVectors vectors = new ArrayVectors(randomVectors(2000, 1));
+        HnswGraph graph = new HnswGraph(vectors, 16, 100, 42);
+        for (int id = 0; id < vectors.size(); id++) {
+            graph.insert(id);
+        }
+
+        int found = 0;
+        List<float[]> queries = randomVectors(50, 2);
+        for (float[] query : queries) {
+            Set<Integer> expected = new HashSet<>(bruteForce(vectors, query, 10, Set.of()));
+            for (HnswGraph.Match match : graph.search(query, 10, 64)) {
+                if (expected.contains(match.id())) {
+                    found++;
+                }
+            }
+        }
+        double recall = found / (queries.size() * 10.0);
+        assertTrue(recall >= 0.9, "recall@10 was " + recall);
+    }
+
+    @Test
+    void testResultsAreBestFirst() {
+        ArrayVectors vectors = new ArrayVectors(randomVectors(300, 3));
+        HnswGraph graph = new HnswGraph(vectors, 8, 50, 42);
+        for (int id = 0; id < vectors.size(); id++) {
+            graph.insert(id);
+        }
+
+        List<HnswGraph.Match> matches = graph.search(vectors.get(17), 5, 32);
+
+        assertEquals(5, matches.size());
+        assertEquals(17, matches.get(0).id());
+        for (int i = 1; i < matches.size(); i++) {
+            assertTrue(matches.get(i - 1).score() >= matches.get(i).score());
+        }
+    }
+
+    @Test
+    void testDeletedNodesAreNeverReturned() {
+        ArrayVectors vectors = new ArrayVectors(randomVectors(500, 4));
+        HnswGraph graph = new HnswGraph(vectors, 16, 100, 42);
+        for (int id = 0; id < vectors.size(); id++) {
+            graph.insert(id);
+        }
+        Set<Integer> deleted = new HashSet<>();
+        for (int id = 0; id < vectors.size(); id += 3) {
+            graph.delete(id);
+            deleted.add(id);
+        }
+
+        float[] query = vectors.get(0);
+        List<HnswGraph.Match> matches = graph.search(query, 10, 64);
+
+        assertEquals(10, matches.size());
+        assertTrue(matches.stream().noneMatch(match -> deleted.contains(match.id())));
+        assertEquals(deleted.size(), graph.deletedCount());
+        assertEquals(vectors.size() - deleted.size(), graph.liveIds().size());
+        assertEquals(bruteForce(vectors, query, 1, deleted).get(0), matches.get(0).id());
+    }
+
+    @Test
+    void testEmptyGraphAndDuplicateInsert() {
+        ArrayVectors vectors = new ArrayVectors(randomVectors(2, 5));
+        HnswGraph graph = new HnswGraph(vectors, 4, 10, 42);
+
+        assertTrue(graph.search(vectors.get(0), 3, 10).isEmpty());
+        graph.insert(0);
+        assertThrows(IllegalArgumentException.class, () -> graph.insert(0));
+    }
+
+    private static List<Integer> bruteForce(ArrayVectors vectors, float[] query, int k, Set<Integer> excluded) {
+        return IntStream.range(0, vectors.size())
+                .filter(id -> !excluded.contains(id))
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer id) -> vectors.dot(id, query)).reversed())
+                .limit(k)
+                .toList();
+    }
+
+    private static List<float[]> randomVectors(int count, long seed) {
+        Random random = new Random(seed);
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            vectors.add(TextEmbedder.normalize(vector));
+        }
+        return vectors;
+    }
+
+    private record ArrayVectors(List<float[]> vectors) implements Vectors {
+
+        int size() {
+            return vectors.size();
+        }
+
+        float[] get(int id) {
+            return vectors.get(id);
+        }
+
+        @Override
+        public float dot(int a, int b) {
+            return dot(a, vectors.get(b));
+        }
+
+        @Override
+        public float dot(int id, float[] query) {
+            float[] vector = vectors.get(id);
+            float sum = 0;
+            for (int i = 0; i < vector.length; i++) {
+                sum += vector[i] * query[i];
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.tooflexdev.taskmanager.search;
+
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskBatchResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskSearchResultDTO;
+import com.tooflexdev.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SemanticTaskIndexTests {
+
+    @TempDir
+    Path tempDir;
+
+    private final TaskService taskService = mock(TaskService.class);
+    private final Map<Long, TaskResponseDTO> tasks = new ConcurrentHashMap<>();
+    private final CountingEmbedder embedder = new CountingEmbedder(null, new HashingTextEmbedder(128));
+    private SemanticTaskIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // The stubbed service sees whatever is in the tasks map, like the database would
+        doAnswer(invocation -> {
+            tasks.values().forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(taskService).forEachTask(any());
+        when(taskService.getTasksByIds(anyList(), anyLong())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            Long ownerId = invocation.getArgument(1);
+            List<TaskResponseDTO> found = new ArrayList<>();
+            List<Long> missing = new ArrayList<>();
+            for (Long id : ids) {
+                TaskResponseDTO task = tasks.get(id);
+                if (task != null && task.getUserId().equals(ownerId)) {
+                    found.add(task);
+                } else {
+                    missing.add(id);
+                }
+            }
+            return new TaskBatchResponseDTO(found, missing);
+        });
+        index = newIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void testSearchRanksClosestTaskFirst() {
+        index(task(1L, 1L, "Pay the electricity bill", "Due before the end of the month"),
+                task(2L, 1L, "Book dentist appointment", null),
+                task(3L, 1L, "Prepare quarterly report", "Sales figures for the board"));
+
+        List<TaskSearchResultDTO> results = index.search(1L, "electricity bill", 3, 0);
+
+        assertEquals(1L, results.get(0).getTask().getId());
+        assertTrue(results.get(0).getScore() > results.get(results.size() - 1).getScore());
+        assertThrows(IllegalArgumentException.class, () -> index.search(1L, " ", 3, 0));
+    }
+
+    @Test
+    void testSearchOnlySeesCallersTasks() {
+        index(task(1L, 1L, "Renew passport", null), task(2L, 2L, "Renew passport", null));
+
+        List<TaskSearchResultDTO> results = index.search(2L, "renew passport", 10, 0);
+
+        assertEquals(List.of(2L), results.stream().map(result -> result.getTask().getId()).toList());
+        assertTrue(index.search(3L, "renew passport", 10, 0).isEmpty());
+    }
+
+    @Test
+    void testUpdateReplacesEmbeddingAndDeleteRemovesIt() {
+        index(task(1L, 1L, "Water the plants", null), task(2L, 1L, "Call the plumber", null));
+        index(task(1L, 1L, "Buy train tickets", null));
+
+        assertEquals(List.of(1L), ids(index.search(1L, "train tickets", 10, 0.5)));
+        assertTrue(index.search(1L, "water the plants", 10, 0.5).isEmpty());
+
+        tasks.remove(2L);
+        index.remove(2L);
+        assertTrue(index.search(1L, "call the plumber", 10, 0.5).isEmpty());
+        assertEquals(1, index.getIndexedCount());
+    }
+
+    @Test
+    void testUnchangedTextIsNotEmbeddedAgain() {
+        index(task(1L, 1L, "Clean the garage", null));
+        int calls = embedder.embedded.get();
+
+        TaskResponseDTO done = new TaskResponseDTO(1L, "Clean the garage", null, TaskStatus.DONE, null, null,
+                null, null, null, 1L, null);
+        tasks.put(1L, done);
+        index.index(List.of(done));
+
+        assertEquals(calls, embedder.embedded.get());
+    }
+
+    @Test
+    void testFindDuplicatesExcludesTheTaskItself() {
+        index(task(1L, 1L, "Submit expense report", "Receipts from the Berlin trip"),
+                task(2L, 1L, "Submit expense report", "Receipts from the Berlin trip."),
+                task(3L, 1L, "Walk the dog", null));
+
+        assertEquals(List.of(2L), ids(index.findDuplicates(1L, 1L)));
+        assertThrows(IllegalArgumentException.class, () -> index.findDuplicates(2L, 1L));
+        assertThrows(IllegalArgumentException.class, () -> index.findDuplicates(1L, 99L));
+    }
+
+    @Test
+    void testRestartOnlyEmbedsTasksChangedWhileDown() {
+        index(task(1L, 1L, "Renew car insurance", null), task(2L, 1L, "Plan birthday party", null));
+        index.close();
+        tasks.put(2L, task(2L, 1L, "Plan retirement party", null));
+        tasks.put(3L, task(3L, 1L, "Fix the bike", null));
+        embedder.embedded.set(0);
+
+        index = newIndex();
+        index.start();
+        awaitIndexed(3);
+
+        assertEquals(2, embedder.embedded.get());
+        assertEquals(3, index.getIndexedCount());
+        assertEquals(List.of(2L), ids(index.search(1L, "retirement party", 10, 0.5)));
+    }
+
+    @Test
+    void testChangingTheEmbedderStartsOver() {
+        index(task(1L, 1L, "Renew car insurance", null), task(2L, 1L, "Plan birthday party", null));
+        index.close();
+
+        // Same dimensions, different model: the stored vectors must not be reused
+        CountingEmbedder renamed = new CountingEmbedder("other-model:128", new HashingTextEmbedder(128));
+        index = newIndex(renamed);
+        index.start();
+        awaitIndexed(2);
+
+        assertEquals(2, renamed.embedded.get());
+    }
+
+    @Test
+    void testResyncPicksUpChangesMadeElsewhere() {
+        index(task(1L, 1L, "Renew car insurance", null));
+        // Written through another instance, so no event reached this index
+        tasks.put(2L, task(2L, 1L, "Plan birthday party", null));
+
+        index.resync();
+        awaitIndexed(2);
+
+        assertEquals(List.of(2L), ids(index.search(1L, "birthday party", 10, 0.5)));
+    }
+
+    @Test
+    void testRebuildAfterManyDeletesKeepsLiveTasksSearchable() {
+        for (long id = 1; id <= 200; id++) {
+            index(task(id, 1L, "Chore number " + id, null));
+        }
+        for (long id = 1; id <= 150; id++) {
+            tasks.remove(id);
+            index.remove(id);
+        }
+        // Freed records are reused by new tasks after the rebuild
+        index(task(500L, 1L, "Chore number 500", null));
+
+        assertEquals(51, index.getIndexedCount());
+        assertEquals(500L, index.search(1L, "chore number 500", 1, 0).get(0).getTask().getId());
+        assertEquals(175L, index.search(1L, "chore number 175", 1, 0).get(0).getTask().getId());
+    }
+
+    private SemanticTaskIndex newIndex() {
+        return newIndex(embedder);
+    }
+
+    private SemanticTaskIndex newIndex(TextEmbedder embedder) {
+        return new SemanticTaskIndex(embedder, taskService, new SimpleMeterRegistry(),
+                tempDir.resolve("vectors.f32"), 8, 50, 32, 20, 0.9);
+    }
+
+    private void index(TaskResponseDTO... changed) {
+        for (TaskResponseDTO task : changed) {
+            tasks.put(task.getId(), task);
+        }
+        index.index(List.of(changed));
+    }
+
+    private void awaitIndexed(int count) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (index.getIndexedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(count, index.getIndexedCount());
+    }
+
+    private static List<Long> ids(List<TaskSearchResultDTO> results) {
+        return results.stream().map(result -> result.getTask().getId()).toList();
+    }
+
+    private static TaskResponseDTO task(long id, long userId, String title, String description) {
+        return new TaskResponseDTO(id, title, description, TaskStatus.PENDING, null, null,
+                null, null, null, userId, null);
+    }
+
+    // Counts the texts sent for embedding; a null id keeps the delegate's
+    private static class CountingEmbedder implements TextEmbedder {
+
+        private final String id;
+        private final TextEmbedder delegate;
+        private final AtomicInteger embedded = new AtomicInteger();
+
+        private CountingEmbedder(String id, TextEmbedder delegate) {
+            this.id = id;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int dimensions() {
+            return delegate.dimensions();
+        }
+
+        @Override
+        public String id() {
+            return id != null ? id : delegate.id();
+        }
+
+        @Override
+        public List<float[]> embed(List<String> texts) {
+            embedded.addAndGet(texts.size());
+            return delegate.embed(texts);
+        }
+    }
+}
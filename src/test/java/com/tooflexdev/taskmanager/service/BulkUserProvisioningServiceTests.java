@@ -0,0 +1,214 @@
+package com.tooflexdev.taskmanager.service;
+
+import com.tooflexdev.taskmanager.dto.BulkUserResultDTO;
+import com.tooflexdev.taskmanager.dto.UserRequestDTO;
+import com.tooflexdev.taskmanager.repository.RoleRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Provisions batches against a migrated H2 schema. The validator is a plain Bean Validation one
+ * that cannot build the Spring-wired {@code UniqueEmailValidator}, so every test also checks that
+ * rows are validated without the per-row email probe.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkUserProvisioningServiceTests {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    private PasswordHashingPool passwordHashingPool;
+    private BulkUserProvisioningService service;
+    // Keeps usernames and emails unique across tests sharing the database
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        passwordHashingPool = new PasswordHashingPool(new BCryptPasswordEncoder(4), 2);
+        service = new BulkUserProvisioningService(jdbcTemplate, transactionTemplate, roleRepository,
+                passwordHashingPool, userExistenceFilter, Validation.buildDefaultValidatorFactory().getValidator(), 5);
+        prefix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingPool.shutdown();
+    }
+
+    @Test
+    void testValidRowsAreCreatedAndInvalidRowsRejected() {
+        List<BulkUserResultDTO> results = service.provisionUsers(List.of(
+                request("a", "USER"),
+                request("b", "USER"),
+                request("c", "NO_SUCH_ROLE"),
+                request("d", "ADMIN")));
+
+        assertEquals(4, results.size());
+        assertEquals(BulkUserResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(BulkUserResultDTO.Status.CREATED, results.get(1).getStatus());
+        assertEquals(BulkUserResultDTO.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(List.of("roles: Role not found: NO_SUCH_ROLE"), results.get(2).getErrors());
+        assertEquals(BulkUserResultDTO.Status.CREATED, results.get(3).getStatus());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+
+        assertEquals(List.of(name("a"), name("b"), name("d")), storedUsernames());
+        assertEquals(List.of("ADMIN"), jdbcTemplate.queryForList("""
+                SELECT r.name FROM user_roles ur JOIN role r ON r.id = ur.role_id
+                WHERE ur.user_id = :id
+                """, Map.of("id", results.get(3).getId()), String.class));
+        assertTrue(new BCryptPasswordEncoder().matches("secret-a", storedPassword(results.get(0).getId())));
+        verify(userExistenceFilter).put(name("a"), name("a") + "@example.com");
+    }
+
+    @Test
+    void testMalformedRowsAreRejectedWithEveryViolation() {
+        UserRequestDTO malformed = request("e", "USER");
+        malformed.setEmail("not-an-email");
+        malformed.setPassword("123");
+
+        List<BulkUserResultDTO> results = service.provisionUsers(List.of(malformed, request("f", "USER")));
+
+        assertEquals(BulkUserResultDTO.Status.REJECTED, results.get(0).getStatus());
+        assertTrue(results.get(0).getErrors().stream().anyMatch(error -> error.startsWith("email:")));
+        assertTrue(results.get(0).getErrors().stream().anyMatch(error -> error.startsWith("password:")));
+        assertEquals(BulkUserResultDTO.Status.CREATED, results.get(1).getStatus());
+        assertEquals(List.of(name("f")), storedUsernames());
+    }
+
+    @Test
+    void testDuplicatesWithinTheBatchKeepTheFirstRow() {
+        UserRequestDTO sameEmail = request("h", "USER");
+        sameEmail.setEmail(name("g") + "@example.com");
+
+        List<BulkUserResultDTO> results = service.provisionUsers(List.of(
+                request("g", "USER"),
+                request("g", "USER"),
+                sameEmail));
+
+        assertEquals(BulkUserResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(List.of("username: Username is already taken", "email: Email is already in use"),
+                results.get(1).getErrors());
+        assertEquals(List.of("email: Email is already in use"), results.get(2).getErrors());
+        assertEquals(List.of(name("g")), storedUsernames());
+    }
+
+    @Test
+    void testExistingUsersAreRejected() {
+        service.provisionUsers(List.of(request("i", "USER")));
+        UserRequestDTO existingEmail = request("j", "USER");
+        existingEmail.setEmail(name("i") + "@example.com");
+
+        List<BulkUserResultDTO> results = service.provisionUsers(List.of(request("i", "USER"), existingEmail));
+
+        assertEquals(List.of("username: Username is already taken", "email: Email is already in use"),
+                results.get(0).getErrors());
+        assertEquals(List.of("email: Email is already in use"), results.get(1).getErrors());
+        assertEquals(List.of(name("i")), storedUsernames());
+    }
+
+    @Test
+    void testNullRowsAreRejected() {
+        List<BulkUserResultDTO> results = service.provisionUsers(Arrays.asList(null, request("q", "USER")));
+
+        assertEquals(BulkUserResultDTO.Status.REJECTED, results.get(0).getStatus());
+        assertEquals(List.of("User is required"), results.get(0).getErrors());
+        assertEquals(BulkUserResultDTO.Status.CREATED, results.get(1).getStatus());
+        assertEquals(List.of(name("q")), storedUsernames());
+    }
+
+    @Test
+    void testUserCreatedConcurrentlyRejectsOnlyItsRow() {
+        // Another request takes a username after the batch has checked it, while passwords are hashed
+        PasswordHashingPool racingPool = new PasswordHashingPool(new BCryptPasswordEncoder(4), 2) {
+            @Override
+            public List<String> encodeAll(List<String> rawPasswords) {
+                jdbcTemplate.update("INSERT INTO app_user (username, email, password) VALUES (:name, :email, 'x')",
+                        Map.of("name", name("r"), "email", name("r") + "-other@example.com"));
+                return super.encodeAll(rawPasswords);
+            }
+        };
+        BulkUserProvisioningService racingService = new BulkUserProvisioningService(jdbcTemplate, transactionTemplate,
+                roleRepository, racingPool, userExistenceFilter, Validation.buildDefaultValidatorFactory().getValidator(),
+                5);
+
+        try {
+            List<BulkUserResultDTO> results = racingService.provisionUsers(List.of(
+                    request("r", "USER"),
+                    request("s", "USER")));
+
+            assertEquals(List.of("username: Username is already taken"), results.get(0).getErrors());
+            assertEquals(BulkUserResultDTO.Status.CREATED, results.get(1).getStatus());
+            assertEquals(List.of(name("r"), name("s")), storedUsernames());
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_roles WHERE user_id = :id",
+                    Map.of("id", results.get(1).getId()), Integer.class));
+            verify(userExistenceFilter, never()).put(name("r"), name("r") + "@example.com");
+        } finally {
+            racingPool.shutdown();
+        }
+    }
+
+    @Test
+    void testOversizedBatchIsRejected() {
+        List<UserRequestDTO> requests = List.of(request("k", "USER"), request("l", "USER"), request("m", "USER"),
+                request("n", "USER"), request("o", "USER"), request("p", "USER"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.provisionUsers(requests));
+        assertEquals(List.of(), storedUsernames());
+        verifyNoInteractions(userExistenceFilter);
+    }
+
+    private UserRequestDTO request(String suffix, String role) {
+        UserRequestDTO request = new UserRequestDTO();
+        request.setUsername(name(suffix));
+        request.setEmail(name(suffix) + "@example.com");
+        request.setPassword("secret-" + suffix);
+        request.setRoles(Set.of(role));
+        return request;
+    }
+
+    private String name(String suffix) {
+        return prefix + "-" + suffix;
+    }
+
+    private List<String> storedUsernames() {
+        return jdbcTemplate.queryForList("SELECT username FROM app_user WHERE username LIKE :prefix ORDER BY username",
+                Map.of("prefix", prefix + "-%"), String.class);
+    }
+
+    private String storedPassword(Long id) {
+        return jdbcTemplate.queryForObject("SELECT password FROM app_user WHERE id = :id", Map.of("id", id), String.class);
+    }
+}
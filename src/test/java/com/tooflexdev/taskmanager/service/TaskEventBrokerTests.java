@@ -0,0 +1,174 @@
+package com.tooflexdev.taskmanager.service;
+
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventBrokerTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private TestBroker broker;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        broker.shutdown();
+    }
+
+    @Test
+    void testEventsFanOutToEverySubscriberOfTheUser() throws InterruptedException {
+        broker = new TestBroker(16, 2, 2000);
+        RecordingEmitter first = broker.subscribeRecording(1L, false);
+        RecordingEmitter second = broker.subscribeRecording(1L, false);
+        RecordingEmitter otherUser = broker.subscribeRecording(2L, false);
+
+        broker.onTaskChanged(TaskChangedEvent.created(task(10L, 1L)));
+        broker.onTaskChanged(TaskChangedEvent.updated(task(10L, 1L)));
+
+        await(() -> first.sent.size() == 2 && second.sent.size() == 2);
+        assertTrue(first.sent.get(0).contains("event:task-created"));
+        assertTrue(first.sent.get(1).contains("event:task-updated"));
+        assertEquals(first.sent, second.sent);
+        assertTrue(otherUser.sent.isEmpty());
+    }
+
+    @Test
+    void testOverflowDropsOnlyTheSlowSubscriber() throws InterruptedException {
+        broker = new TestBroker(2, 2, 60000);
+        RecordingEmitter slow = broker.subscribeRecording(1L, true);
+        RecordingEmitter healthy = broker.subscribeRecording(2L, false);
+
+        // The first event blocks in send, two fill the buffer, the fourth overflows. The healthy subscriber
+        // reads each event before the next, so its own two-slot buffer never fills.
+        broker.onTaskChanged(TaskChangedEvent.updated(task(10L, 1L)));
+        await(() -> slow.sending);
+        for (int i = 0; i < 4; i++) {
+            if (i > 0) {
+                broker.onTaskChanged(TaskChangedEvent.updated(task(10L + i, 1L)));
+            }
+            broker.onTaskChanged(TaskChangedEvent.updated(task(20L + i, 2L)));
+            int received = i + 1;
+            await(() -> healthy.sent.size() == received);
+        }
+
+        assertEquals(1, broker.getSubscriberCount());
+        assertFalse(healthy.completed);
+        // The publisher did not wait for the blocked send; the drain completes it once the send returns
+        assertFalse(slow.completed);
+        release.countDown();
+        await(() -> slow.completed);
+        assertEquals(1, slow.sent.size());
+    }
+
+    @Test
+    void testStalledSendDoesNotStarveOtherSubscribers() throws InterruptedException {
+        broker = new TestBroker(16, 1, 50);
+        RecordingEmitter stalled = broker.subscribeRecording(1L, true);
+        RecordingEmitter healthy = broker.subscribeRecording(2L, false);
+
+        broker.onTaskChanged(TaskChangedEvent.updated(task(10L, 1L)));
+        await(() -> stalled.sending);
+        // The only dispatch thread is blocked
+        broker.onTaskChanged(TaskChangedEvent.updated(task(20L, 2L)));
+        Thread.sleep(100);
+        assertTrue(healthy.sent.isEmpty());
+
+        broker.checkStalledSends();
+
+        await(() -> healthy.sent.size() == 1);
+        assertEquals(1, broker.getSubscriberCount());
+        release.countDown();
+        await(() -> stalled.completed);
+    }
+
+    @Test
+    void testHeartbeatsReachIdleSubscribers() throws InterruptedException {
+        broker = new TestBroker(16, 2, 2000);
+        RecordingEmitter first = broker.subscribeRecording(1L, false);
+        RecordingEmitter second = broker.subscribeRecording(2L, false);
+
+        broker.sendHeartbeats();
+
+        await(() -> first.sent.size() == 1 && second.sent.size() == 1);
+        assertTrue(first.sent.get(0).startsWith(":heartbeat"));
+        assertEquals(2, broker.getSubscriberCount());
+    }
+
+    private static TaskResponseDTO task(Long id, Long userId) {
+        return new TaskResponseDTO(id, "Task " + id, null, TaskStatus.PENDING, null, null, null, null, null, userId, null);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    // Hands out recording emitters; the next one blocks in send until the test releases it when asked to
+    private final class TestBroker extends TaskEventBroker {
+
+        private boolean nextBlocks;
+        private RecordingEmitter last;
+
+        private TestBroker(int bufferSize, int dispatchThreads, long sendTimeoutMillis) {
+            super(bufferSize, 60000, dispatchThreads, sendTimeoutMillis, 4);
+        }
+
+        private RecordingEmitter subscribeRecording(Long userId, boolean blocks) {
+            nextBlocks = blocks;
+            subscribe(userId);
+            return last;
+        }
+
+        @Override
+        SseEmitter createEmitter(long timeout) {
+            last = new RecordingEmitter(timeout, nextBlocks ? release : null);
+            return last;
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean sending;
+        private volatile boolean completed;
+
+        private RecordingEmitter(long timeout, CountDownLatch release) {
+            super(timeout);
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending = true;
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
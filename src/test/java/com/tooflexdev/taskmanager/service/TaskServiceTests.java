@@ -3,19 +3,28 @@ package com.tooflexdev.taskmanager.service;
 import com.tooflexdev.taskmanager.domain.Task;
 import com.tooflexdev.taskmanager.domain.TaskStatus;
 import com.tooflexdev.taskmanager.domain.User;
+import com.tooflexdev.taskmanager.dto.TaskBatchResponseDTO;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
 import com.tooflexdev.taskmanager.repository.TaskRepository;
+import com.tooflexdev.taskmanager.writebehind.WriteBehindTaskUpdater;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class TaskServiceTests {
@@ -23,12 +32,22 @@ public class TaskServiceTests {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WriteBehindTaskUpdater writeBehind;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private TaskService taskService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        taskService = new TaskService(taskRepository);
+        taskService = new TaskService(taskRepository, eventPublisher, writeBehind, Optional.empty(),
+                transactionManager, 3);
     }
 
     @Test
@@ -243,4 +262,81 @@ public class TaskServiceTests {
 
         assertEquals(1, taskService.getTasksCreatedAfter(dateToCompare).size());
     }
+
+    @Test
+    void testGetTasksByIdsKeepsRequestOrderAndReportsMissing() {
+        TaskResponseDTO first = new TaskResponseDTO(1L, "First", null, TaskStatus.PENDING, null, null,
+                null, null, null, 7L, null);
+        TaskResponseDTO third = new TaskResponseDTO(3L, "Third", null, TaskStatus.DONE, null, null,
+                null, null, null, 7L, null);
+        when(taskRepository.findDTOsByIdInAndUserId(anyCollection(), eq(7L))).thenReturn(List.of(first, third));
+
+        TaskBatchResponseDTO result = taskService.getTasksByIds(List.of(3L, 2L, 1L, 3L), 7L);
+
+        assertEquals(List.of(third, first), result.getTasks());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(taskRepository, never()).findDTOsByIdIn(anyCollection());
+    }
+
+    @Test
+    void testGetTasksByIdsRejectsEmptyAndOversizedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByIds(List.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByIds(List.of(1L, 2L, 3L, 4L), null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testDeleteTaskTombstonesTheWholeSubtree() {
+        when(taskRepository.findUserIdById(1L)).thenReturn(Optional.of(7L));
+        when(taskRepository.softDeleteById(eq(1L), any())).thenReturn(1);
+        when(taskRepository.findIdsByParentTaskIdIn(List.of(1L))).thenReturn(List.of(2L, 3L));
+        when(taskRepository.findIdsByParentTaskIdIn(List.of(2L, 3L))).thenReturn(List.of(4L));
+        when(taskRepository.findIdsByParentTaskIdIn(List.of(4L))).thenReturn(List.of());
+
+        assertTrue(taskService.deleteTask(1L));
+
+        verify(taskRepository).softDeleteByIdIn(eq(List.of(2L, 3L)), any());
+        verify(taskRepository).softDeleteByIdIn(eq(List.of(4L)), any());
+        for (long id = 1; id <= 4; id++) {
+            verify(writeBehind).discard(id);
+        }
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testDeleteTaskLeavesSubtasksOfAnAlreadyDeletedTask() {
+        when(taskRepository.findUserIdById(1L)).thenReturn(Optional.of(7L));
+        when(taskRepository.softDeleteById(eq(1L), any())).thenReturn(0);
+
+        assertFalse(taskService.deleteTask(1L));
+
+        verify(taskRepository, never()).findIdsByParentTaskIdIn(anyCollection());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testEnrichTaskOnlyFillsMissingFields() {
+        User user = new User();
+        user.setId(7L);
+        Task task = new Task();
+        task.setTitle("Test Task");
+        task.setCategory("Chosen");
+        task.setUser(user);
+        when(taskRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(task));
+
+        TaskResponseDTO enriched = taskService.enrichTask(1L, "Suggested", 2).orElseThrow();
+
+        assertEquals("Chosen", enriched.getCategory());
+        assertEquals(2, enriched.getPriority());
+        verify(taskRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testEnrichTaskIgnoresMissingTask() {
+        when(taskRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+
+        assertTrue(taskService.enrichTask(1L, "Suggested", 2).isEmpty());
+        verifyNoInteractions(eventPublisher);
+    }
 }
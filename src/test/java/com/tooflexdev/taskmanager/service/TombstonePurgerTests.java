@@ -0,0 +1,172 @@
+package com.tooflexdev.taskmanager.service;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.repository.TaskRepository;
+import com.tooflexdev.taskmanager.writebehind.WriteBehindTaskUpdater;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs soft deletes and the purger against a migrated H2 schema. Every test creates its own user,
+ * so the rows other tests leave behind do not matter.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TombstonePurgerTests {
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private WriteBehindTaskUpdater writeBehind;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskService taskService;
+    private TombstonePurger purger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskService = new TaskService(taskRepository, eventPublisher, writeBehind, Optional.empty(),
+                transactionManager, 200);
+        purger = new TombstonePurger(jdbcTemplate, transactionTemplate, entityManagerFactory, writeBehind,
+                new SimpleMeterRegistry(), 2, 100);
+    }
+
+    @Test
+    void testDeletedSubtreeIsInvisibleAtOnce() {
+        long userId = insertUser();
+        long root = insertTask(userId, null);
+        long child = insertTask(userId, root);
+        long grandchild = insertTask(userId, child);
+        long sibling = insertTask(userId, null);
+
+        assertEquals(Boolean.TRUE, transactionTemplate.execute(status -> taskService.deleteTask(root)));
+
+        assertTrue(taskRepository.findById(root).isEmpty());
+        assertTrue(taskRepository.findById(child).isEmpty());
+        assertTrue(taskRepository.findById(grandchild).isEmpty());
+        assertEquals(List.of(sibling), taskRepository.findByUserId(userId).stream().map(Task::getId).toList());
+        assertEquals(3, countTombstoned(List.of(root, child, grandchild, sibling)));
+        verify(writeBehind).discard(child);
+        verify(writeBehind).discard(grandchild);
+    }
+
+    @Test
+    void testDeletingTwiceReportsMissing() {
+        long userId = insertUser();
+        long root = insertTask(userId, null);
+
+        assertEquals(Boolean.TRUE, transactionTemplate.execute(status -> taskService.deleteTask(root)));
+        assertEquals(Boolean.FALSE, transactionTemplate.execute(status -> taskService.deleteTask(root)));
+    }
+
+    @Test
+    void testPurgeRemovesTombstonedSubtreesLeafFirst() {
+        long userId = insertUser();
+        long root = insertTask(userId, null);
+        long child = insertTask(userId, root);
+        long grandchild = insertTask(userId, child);
+        long sibling = insertTask(userId, null);
+        // Tombstoned before subtrees were tombstoned on delete: only the root is marked
+        jdbcTemplate.update("UPDATE task SET deleted_at = :now WHERE id = :id",
+                Map.of("now", LocalDateTime.now(), "id", root));
+
+        // A batch size of 2 makes the purger take the subtree in several batches
+        purger.purge();
+
+        assertEquals(List.of(sibling), remainingTasks(List.of(root, child, grandchild, sibling)));
+        verify(writeBehind).discard(root);
+        verify(writeBehind).discard(child);
+        verify(writeBehind).discard(grandchild);
+    }
+
+    @Test
+    void testPurgeRemovesDeletedUsersWithTheirTasksAndRoles() {
+        long userId = insertUser();
+        long root = insertTask(userId, null);
+        long child = insertTask(userId, root);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT :userId, id FROM role WHERE name = 'USER'",
+                Map.of("userId", userId));
+        jdbcTemplate.update("UPDATE app_user SET deleted_at = :now WHERE id = :id",
+                Map.of("now", LocalDateTime.now(), "id", userId));
+
+        purger.purge();
+
+        assertEquals(List.of(), remainingTasks(List.of(root, child)));
+        Map<String, Object> params = Map.of("id", userId);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_user WHERE id = :id", params, Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_roles WHERE user_id = :id", params,
+                Integer.class));
+    }
+
+    @Test
+    void testPurgeKeepsLiveUsersAndTasks() {
+        long userId = insertUser();
+        long root = insertTask(userId, null);
+        long child = insertTask(userId, root);
+
+        purger.purge();
+
+        assertEquals(List.of(root, child), remainingTasks(List.of(root, child)));
+    }
+
+    private long insertUser() {
+        String name = "purge-" + UUID.randomUUID();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update("INSERT INTO app_user (username, email, password) VALUES (:name, :email, 'x')",
+                new MapSqlParameterSource("name", name).addValue("email", name + "@example.com"), keys, new String[]{"id"});
+        return keys.getKey().longValue();
+    }
+
+    private long insertTask(long userId, Long parentId) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update("INSERT INTO task (title, user_id, parent_task_id) VALUES ('task', :userId, :parentId)",
+                new MapSqlParameterSource("userId", userId).addValue("parentId", parentId), keys, new String[]{"id"});
+        return keys.getKey().longValue();
+    }
+
+    private int countTombstoned(List<Long> ids) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task WHERE id IN (:ids) AND deleted_at IS NOT NULL",
+                Map.of("ids", ids), Integer.class);
+    }
+
+    private List<Long> remainingTasks(List<Long> ids) {
+        return jdbcTemplate.queryForList("SELECT id FROM task WHERE id IN (:ids) ORDER BY id", Map.of("ids", ids),
+                Long.class);
+    }
+}
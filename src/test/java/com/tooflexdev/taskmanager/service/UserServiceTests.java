@@ -4,13 +4,18 @@ import com.tooflexdev.taskmanager.domain.Role;
 import com.tooflexdev.taskmanager.domain.User;
 import com.tooflexdev.taskmanager.dto.UserRequestDTO;
 import com.tooflexdev.taskmanager.dto.UserResponseDTO;
+import com.tooflexdev.taskmanager.dto.UserSliceResponseDTO;
+import com.tooflexdev.taskmanager.dto.UserSummary;
 import com.tooflexdev.taskmanager.repository.RoleRepository;
+import com.tooflexdev.taskmanager.repository.TaskRepository;
 import com.tooflexdev.taskmanager.repository.UserRepository;
+import com.tooflexdev.taskmanager.sharding.ShardedTaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.data.domain.Page;
@@ -18,7 +23,9 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +42,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private ObjectProvider<ShardedTaskRepository> shardedTasks;
+
     @InjectMocks
     private UserService userService;
 
@@ -78,6 +94,39 @@ class UserServiceTest {
         verify(userRepository, times(1)).findAll(pageable);
     }
 
+    @Test
+    void testGetUserSlice_FetchesRolesOncePerSliceWithoutCounting() {
+        UserSummary alice = summary(1L, "alice");
+        UserSummary bob = summary(2L, "bob");
+        when(userRepository.findFirstSummaries(any(Pageable.class))).thenReturn(List.of(alice, bob));
+        when(userRepository.findRoleNamesByUserIds(List.of(1L)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "ADMIN"}));
+
+        UserSliceResponseDTO first = userService.getUserSlice(null, 1, false);
+
+        assertEquals(1, first.getContent().size());
+        assertEquals("alice", first.getContent().get(0).getUsername());
+        assertEquals(Collections.singleton("ADMIN"), first.getContent().get(0).getRoles());
+        assertTrue(first.isHasNext());
+        assertNotNull(first.getNextCursor());
+        assertNull(first.getApproximateTotal());
+        verify(userRepository, never()).count();
+
+        when(userRepository.findSummariesAfter(eq("alice"), eq(1L), any(Pageable.class))).thenReturn(List.of(bob));
+        when(userRepository.findRoleNamesByUserIds(List.of(2L))).thenReturn(Collections.emptyList());
+
+        UserSliceResponseDTO second = userService.getUserSlice(first.getNextCursor(), 1, false);
+
+        assertEquals("bob", second.getContent().get(0).getUsername());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testGetUserSlice_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> userService.getUserSlice("not a cursor", 10, false));
+    }
+
     @Test
     void testGetUserById_UserExists() {
         User mockUser = new User();
@@ -106,6 +155,8 @@ class UserServiceTest {
         mockRequest.setEmail("new@example.com");
         mockRequest.setPassword("password");
 
+        when(userExistenceFilter.mightContainUsername("newUser")).thenReturn(true);
+        when(userExistenceFilter.mightContainEmail("new@example.com")).thenReturn(true);
         when(userRepository.existsByUsername("newUser")).thenReturn(false);
         when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
@@ -119,10 +170,31 @@ class UserServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    void testCreateUser_BloomFilterNegativeSkipsDatabase() {
+        UserRequestDTO mockRequest = new UserRequestDTO();
+        mockRequest.setUsername("newUser");
+        mockRequest.setEmail("new@example.com");
+        mockRequest.setPassword("password");
+
+        when(userExistenceFilter.mightContainUsername("newUser")).thenReturn(false);
+        when(userExistenceFilter.mightContainEmail("new@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(new User());
+
+        UserResponseDTO result = userService.createUser(mockRequest);
+
+        assertNotNull(result);
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, times(1)).save(any(User.class));
+    }
+
     @Test
     void testCreateUser_UsernameExists() {
         UserRequestDTO mockRequest = new UserRequestDTO();
         mockRequest.setUsername("existingUser");
+        when(userExistenceFilter.mightContainUsername("existingUser")).thenReturn(true);
         when(userRepository.existsByUsername("existingUser")).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () -> userService.createUser(mockRequest));
@@ -166,23 +238,43 @@ class UserServiceTest {
 
     @Test
     void testDeleteUser_UserExists() {
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.softDeleteById(eq(1L), any(LocalDateTime.class))).thenReturn(1);
 
         boolean result = userService.deleteUser(1L);
 
         assertTrue(result);
-        verify(userRepository, times(1)).existsById(1L);
-        verify(userRepository, times(1)).deleteById(1L);
+        verify(userRepository, times(1)).softDeleteById(eq(1L), any(LocalDateTime.class));
+        verify(taskRepository, times(1)).softDeleteByUserId(eq(1L), any(LocalDateTime.class));
+        verify(userRepository, never()).deleteById(1L);
     }
 
     @Test
     void testDeleteUser_UserDoesNotExist() {
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.softDeleteById(eq(1L), any(LocalDateTime.class))).thenReturn(0);
 
         boolean result = userService.deleteUser(1L);
 
         assertFalse(result);
-        verify(userRepository, times(1)).existsById(1L);
-        verify(userRepository, never()).deleteById(1L);
+        verify(userRepository, times(1)).softDeleteById(eq(1L), any(LocalDateTime.class));
+        verify(taskRepository, never()).softDeleteByUserId(anyLong(), any(LocalDateTime.class));
+    }
+
+    private static UserSummary summary(Long id, String username) {
+        return new UserSummary() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return username + "@example.com";
+            }
+        };
     }
 }
@@ -0,0 +1,220 @@
+package com.tooflexdev.taskmanager.sharding;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.domain.User;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedTaskRepositoryTests {
+
+    private static final int VIRTUAL_NODES = 128;
+
+    private DataSource primary;
+    private TaskShards shards;
+    private ShardDirectory directory;
+    private ShardedTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        primary = database("primary-" + run);
+        Flyway.configure()
+                .dataSource(primary)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            dataSources.put("shard-" + i, database("shard-" + i + "-" + run));
+        }
+        shards = new TaskShards(dataSources);
+        shards.migrate();
+
+        // Start on the first two shards, so the third is empty until a rebalance
+        directory = newDirectory(Duration.ZERO);
+        repository = new ShardedTaskRepository(shards, directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.close();
+    }
+
+    @Test
+    void testUserTasksLiveOnTheShardOwningTheirBucket() {
+        TaskResponseDTO created = repository.insert(task(7L, "Write report", TaskStatus.PENDING));
+
+        String owner = directory.ownerOf(ShardDirectory.bucketOf(7L));
+        assertEquals(1L, repository.countByShard().get(owner));
+        assertEquals(List.of(created.getId()), ids(repository.findByUserId(7L)));
+        assertEquals("Write report", repository.findById(created.getId()).orElseThrow().getTitle());
+        assertTrue(repository.findByIds(List.of(created.getId()), 8L).isEmpty());
+    }
+
+    @Test
+    void testScatterQueriesMergeShardsInIdOrder() {
+        List<Long> created = new ArrayList<>();
+        for (long userId = 1; userId <= 40; userId++) {
+            TaskStatus status = userId % 2 == 0 ? TaskStatus.DONE : TaskStatus.PENDING;
+            created.add(repository.insert(task(userId, "Task " + userId, status)).getId());
+        }
+
+        assertEquals(created, ids(repository.findAll()));
+        List<TaskResponseDTO> completed = repository.findByStatus(TaskStatus.DONE);
+        assertEquals(20, completed.size());
+        assertEquals(completed.stream().map(TaskResponseDTO::getId).sorted().toList(), ids(completed));
+        assertTrue(repository.countByShard().get("shard-0") > 0);
+        assertTrue(repository.countByShard().get("shard-1") > 0);
+    }
+
+    @Test
+    void testMergeKeepsOneCopyOfRowsSeenOnTwoShards() {
+        TaskResponseDTO first = dto(1L);
+        TaskResponseDTO second = dto(2L);
+        TaskResponseDTO third = dto(3L);
+
+        List<TaskResponseDTO> merged = ShardedTaskRepository.merge(
+                List.of(List.of(first, third), List.of(second, third), List.of()));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(merged));
+    }
+
+    @Test
+    void testUpdateAndDeleteFollowTheOwner() {
+        TaskResponseDTO parent = repository.insert(task(3L, "Parent", TaskStatus.PENDING));
+        // Subtasks cannot be created through the API, so one is written straight to the owning shard
+        int bucket = ShardDirectory.bucketOf(3L);
+        shards.get(directory.ownerOf(bucket)).getJdbcTemplate().update(
+                "INSERT INTO task (id, bucket, title, status, user_id, parent_task_id) "
+                        + "VALUES (:id, :bucket, 'Child', 'PENDING', 3, :parent)",
+                Map.of("id", parent.getId() + 1_000_000, "bucket", bucket, "parent", parent.getId()));
+
+        Task update = task(3L, "Parent, renamed", TaskStatus.IN_PROGRESS);
+        assertEquals("Parent, renamed", repository.update(parent.getId(), update).orElseThrow().getTitle());
+        assertEquals(parent.getId(), repository.findById(parent.getId() + 1_000_000).orElseThrow().getParentTaskId());
+
+        assertEquals(3L, repository.delete(parent.getId()).orElseThrow());
+        assertTrue(repository.findByUserId(3L).isEmpty());
+        assertTrue(repository.delete(parent.getId()).isEmpty());
+    }
+
+    @Test
+    void testRebalanceOntoAThirdShardMovesAboutAThirdOfTheBuckets() {
+        for (long userId = 1; userId <= 300; userId++) {
+            repository.insert(task(userId, "Task " + userId, TaskStatus.PENDING));
+        }
+        List<Long> before = ids(repository.findAll());
+
+        Map<String, Object> result = rebalancer().rebalance(List.of("shard-0", "shard-1", "shard-2"));
+
+        int movedBuckets = (int) result.get("movedBuckets");
+        assertTrue(movedBuckets > ShardDirectory.BUCKETS / 5 && movedBuckets < ShardDirectory.BUCKETS / 2,
+                "moved " + movedBuckets + " buckets");
+        // Buckets only move onto the new shard
+        assertEquals(movedBuckets, directory.getBucketCounts().get("shard-2"));
+        assertEquals(before, ids(repository.findAll()));
+        Map<String, Long> counts = repository.countByShard();
+        assertEquals(300L, counts.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(result.get("movedTasks"), counts.get("shard-2"));
+        for (long userId = 1; userId <= 300; userId++) {
+            assertEquals(1, repository.findByUserId(userId).size());
+        }
+    }
+
+    @Test
+    void testRebalanceRejectsUnknownShards() {
+        ShardRebalancer rebalancer = rebalancer();
+
+        assertThrows(IllegalArgumentException.class, () -> rebalancer.rebalance(List.of("shard-0", "shard-9")));
+    }
+
+    @Test
+    void testInstanceWithStaleOwnersWritesToTheNewOwner() {
+        // A second instance that will not refresh its owners on its own
+        ShardedTaskRepository otherInstance = new ShardedTaskRepository(shards, newDirectory(Duration.ofHours(1)));
+        long movedUser = 0;
+        rebalancer().rebalance(List.of("shard-0", "shard-1", "shard-2"));
+        for (long userId = 1; movedUser == 0; userId++) {
+            if ("shard-2".equals(directory.ownerOf(ShardDirectory.bucketOf(userId)))) {
+                movedUser = userId;
+            }
+        }
+
+        TaskResponseDTO created = otherInstance.insert(task(movedUser, "Written after the move", TaskStatus.PENDING));
+
+        assertEquals(List.of(created.getId()), ids(repository.findByUserId(movedUser)));
+        assertEquals(1L, repository.countByShard().get("shard-2"));
+        // The next rebalance must not treat it as a stale copy
+        rebalancer().rebalance(List.of("shard-0", "shard-1", "shard-2"));
+        assertEquals(List.of(created.getId()), ids(repository.findByUserId(movedUser)));
+    }
+
+    @Test
+    void testRebalanceRepairsAnInterruptedMove() {
+        TaskResponseDTO created = repository.insert(task(5L, "Survives the crash", TaskStatus.PENDING));
+        int bucket = ShardDirectory.bucketOf(5L);
+        TaskShards.Shard owner = shards.get(directory.ownerOf(bucket));
+        // As if a move crashed right after taking ownership away from the source
+        owner.getJdbcTemplate().update("DELETE FROM task_bucket_owner WHERE bucket = :bucket", Map.of("bucket", bucket));
+        assertThrows(IllegalStateException.class, () -> repository.insert(task(5L, "Turned away", TaskStatus.PENDING)));
+
+        Map<String, Object> result = rebalancer().rebalance(List.of("shard-0", "shard-1"));
+
+        assertEquals(0, result.get("movedBuckets"));
+        assertEquals(List.of(created.getId()), ids(repository.findByUserId(5L)));
+        repository.insert(task(5L, "Accepted again", TaskStatus.PENDING));
+        assertEquals(2, repository.findByUserId(5L).size());
+    }
+
+    private ShardDirectory newDirectory(Duration refreshInterval) {
+        ShardDirectory shardDirectory = new ShardDirectory(primary, refreshInterval);
+        shardDirectory.initialize(new ConsistentHashRing(List.of("shard-0", "shard-1"), VIRTUAL_NODES), shards);
+        return shardDirectory;
+    }
+
+    private ShardRebalancer rebalancer() {
+        return new ShardRebalancer(shards, directory, VIRTUAL_NODES, Duration.ZERO);
+    }
+
+    private static Task task(long userId, String title, TaskStatus status) {
+        User user = new User();
+        user.setId(userId);
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setCategory("Work");
+        task.setPriority(1);
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        task.setUser(user);
+        return task;
+    }
+
+    private static TaskResponseDTO dto(long id) {
+        return new TaskResponseDTO(id, "Task " + id, null, TaskStatus.PENDING, null, null, null, null, null, 1L, null);
+    }
+
+    private static List<Long> ids(List<TaskResponseDTO> tasks) {
+        return tasks.stream().map(TaskResponseDTO::getId).toList();
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,85 @@
+package com.tooflexdev.taskmanager.writebehind;
+
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskUpdateLogTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsSurviveReopenAndRollStartsNewSegment() {
+        TaskUpdateLog log = new TaskUpdateLog(directory);
+        log.open();
+        log.sync(log.append(update(1L, "first", null)));
+        Path closed = log.roll();
+        log.sync(log.append(update(2L, "x".repeat(70_000), 3)));
+        log.close();
+
+        TaskUpdateLog reopened = new TaskUpdateLog(directory);
+        List<Path> segments = reopened.segments();
+        assertEquals(2, segments.size());
+        assertEquals(closed, segments.get(0));
+        assertEquals("first", reopened.read(segments.get(0)).get(0).applyTo(base(1L)).getTitle());
+        PendingTaskUpdate second = reopened.read(segments.get(1)).get(0);
+        assertEquals(70_000, second.applyTo(base(2L)).getTitle().length());
+        assertEquals(3, second.applyTo(base(2L)).getPriority());
+
+        reopened.open();
+        reopened.close();
+        assertEquals(3, reopened.segments().size());
+    }
+
+    @Test
+    void testTornTailIsIgnoredOnReplay() throws Exception {
+        TaskUpdateLog log = new TaskUpdateLog(directory);
+        log.open();
+        log.append(update(1L, "kept", 1));
+        log.append(update(2L, "torn", 2));
+        log.close();
+
+        Path segment = log.segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        List<PendingTaskUpdate> replayed = new TaskUpdateLog(directory).read(segment);
+        assertEquals(1, replayed.size());
+        assertEquals(1L, replayed.get(0).getTaskId());
+    }
+
+    @Test
+    void testOverlayKeepsImmutableFields() {
+        TaskResponseDTO task = update(5L, "new title", 2).applyTo(base(5L));
+
+        assertEquals("new title", task.getTitle());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        assertEquals(NOW.minusDays(1), task.getCreatedAt());
+        assertEquals(NOW, task.getUpdatedAt());
+        assertEquals(9L, task.getUserId());
+        assertEquals(4L, task.getParentTaskId());
+    }
+
+    private static PendingTaskUpdate update(long taskId, String title, Integer priority) {
+        return new PendingTaskUpdate(taskId, 9L, title, null, TaskStatus.IN_PROGRESS, "work", priority,
+                NOW.plusDays(1), NOW);
+    }
+
+    private static TaskResponseDTO base(long taskId) {
+        return new TaskResponseDTO(taskId, "old", "old description", TaskStatus.PENDING, "home", 1,
+                null, NOW.minusDays(1), NOW.minusDays(1), 9L, 4L);
+    }
+}
@@ -0,0 +1,231 @@
+package com.tooflexdev.taskmanager.writebehind;
+
+import com.tooflexdev.taskmanager.domain.Task;
+import com.tooflexdev.taskmanager.domain.TaskStatus;
+import com.tooflexdev.taskmanager.dto.TaskResponseDTO;
+import com.tooflexdev.taskmanager.event.TaskChangedEvent;
+import com.tooflexdev.taskmanager.repository.TaskRepository;
+import com.tooflexdev.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the write-behind updater against a migrated H2 schema with its log in a temporary
+ * directory. The scheduled flush is set far in the future, so every flush here is explicit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WriteBehindTaskUpdaterTests {
+
+    private static final long NEVER = 3_600_000;
+
+    @TempDir
+    Path logDirectory;
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FailingJdbcTemplate jdbcTemplate;
+    private final List<WriteBehindTaskUpdater> updaters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jdbcTemplate = new FailingJdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        updaters.forEach(WriteBehindTaskUpdater::close);
+    }
+
+    @Test
+    void testUpdatesToOneTaskAreCoalescedIntoOneWrite() {
+        long taskId = insertTask(insertUser());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WriteBehindTaskUpdater updater = start(meterRegistry);
+
+        assertTrue(updater.submit(taskId, update("first", TaskStatus.IN_PROGRESS)));
+        assertTrue(updater.submit(taskId, update("second", TaskStatus.IN_PROGRESS)));
+        assertTrue(updater.submit(taskId, update("third", TaskStatus.DONE)));
+        assertEquals(1, updater.getPendingCount());
+
+        updater.flush();
+
+        assertFalse(updater.hasPending());
+        assertEquals(Map.of("title", "third", "status", "DONE"), row(taskId));
+        assertEquals(1.0, meterRegistry.counter("tasks.write-behind.flushed").count());
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("third", event.getValue().getTask().getTitle());
+    }
+
+    @Test
+    void testReadsSeeBufferedUpdatesBeforeAndAfterTheFlush() {
+        long taskId = insertTask(insertUser());
+        WriteBehindTaskUpdater updater = start(new SimpleMeterRegistry());
+        TaskService taskService = new TaskService(taskRepository, eventPublisher, updater, Optional.empty(),
+                transactionManager, 200);
+
+        updater.submit(taskId, update("buffered", TaskStatus.DONE));
+
+        // Entity reads overlay the buffer, moving the task between status filters without a flush
+        assertTrue(ids(taskService.getTasksByStatus(TaskStatus.DONE)).contains(taskId));
+        assertFalse(ids(taskService.getTasksByStatus(TaskStatus.PENDING)).contains(taskId));
+        assertEquals("buffered", taskService.getTasksByIds(List.of(taskId), null).getTasks().get(0).getTitle());
+        assertEquals("PENDING", row(taskId).get("status"));
+
+        // Projections cannot be overlaid and flush first
+        List<Map<String, Object>> done = taskService.getTasksByStatus(TaskStatus.DONE, List.of("id", "title"));
+        assertTrue(done.contains(Map.of("id", taskId, "title", "buffered")));
+        assertFalse(updater.hasPending());
+        assertEquals("DONE", row(taskId).get("status"));
+    }
+
+    @Test
+    void testFailedFlushIsRequeuedBehindNewerUpdates() {
+        long userId = insertUser();
+        long first = insertTask(userId);
+        long second = insertTask(userId);
+        WriteBehindTaskUpdater updater = start(new SimpleMeterRegistry());
+
+        updater.submit(first, update("older", TaskStatus.IN_PROGRESS));
+        updater.submit(second, update("kept", TaskStatus.IN_PROGRESS));
+        jdbcTemplate.failNextBatch = true;
+        updater.flush();
+
+        assertEquals(2, updater.getPendingCount());
+        assertEquals("task", row(first).get("title"));
+        verifyNoInteractions(eventPublisher);
+
+        // An update that arrived after the failed flush wins over the requeued one
+        updater.submit(first, update("newer", TaskStatus.DONE));
+        updater.flush();
+
+        assertFalse(updater.hasPending());
+        assertEquals(Map.of("title", "newer", "status", "DONE"), row(first));
+        assertEquals(Map.of("title", "kept", "status", "IN_PROGRESS"), row(second));
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void testUnflushedUpdatesAreReplayedOnRestart() {
+        long taskId = insertTask(insertUser());
+        WriteBehindTaskUpdater crashed = start(new SimpleMeterRegistry());
+        crashed.submit(taskId, update("before crash", TaskStatus.DONE));
+        // A failed flush leaves its rolled segment behind as well as the open one
+        jdbcTemplate.failNextBatch = true;
+        crashed.flush();
+        crashed.submit(taskId, update("after failed flush", TaskStatus.DONE));
+
+        WriteBehindTaskUpdater restarted = start(new SimpleMeterRegistry());
+
+        assertEquals(1, restarted.getPendingCount());
+        TaskResponseDTO current = restarted.overlay(taskRepository.findDTOsByIdIn(List.of(taskId)).get(0));
+        assertEquals("after failed flush", current.getTitle());
+        restarted.flush();
+        assertEquals(Map.of("title", "after failed flush", "status", "DONE"), row(taskId));
+    }
+
+    private WriteBehindTaskUpdater start(SimpleMeterRegistry meterRegistry) {
+        WriteBehindTaskUpdater updater = new WriteBehindTaskUpdater(taskRepository, jdbcTemplate, transactionManager,
+                entityManagerFactory, eventPublisher, meterRegistry, true, logDirectory.toString(), 1000, NEVER);
+        updater.recover();
+        updaters.add(updater);
+        return updater;
+    }
+
+    private static Task update(String title, TaskStatus status) {
+        Task update = new Task();
+        update.setTitle(title);
+        update.setStatus(status);
+        return update;
+    }
+
+    private static List<Long> ids(List<TaskResponseDTO> tasks) {
+        return tasks.stream().map(TaskResponseDTO::getId).toList();
+    }
+
+    private long insertUser() {
+        String name = "write-behind-" + UUID.randomUUID();
+        return insert("INSERT INTO app_user (username, email, password) VALUES (?, ?, 'x')", name, name + "@example.com");
+    }
+
+    private long insertTask(long userId) {
+        return insert("INSERT INTO task (title, status, user_id) VALUES ('task', 'PENDING', ?)", userId);
+    }
+
+    private long insert(String sql, Object... args) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"});
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    private Map<String, Object> row(long taskId) {
+        return jdbcTemplate.queryForObject("SELECT title, status FROM task WHERE id = ?",
+                (rs, rowNum) -> Map.of("title", rs.getString("title"), "status", rs.getString("status")), taskId);
+    }
+
+    // Fails the next batch write, as a lost connection would
+    static class FailingJdbcTemplate extends JdbcTemplate {
+
+        volatile boolean failNextBatch;
+
+        FailingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failNextBatch) {
+                failNextBatch = false;
+                throw new DataAccessResourceFailureException("Connection lost");
+            }
+            return super.batchUpdate(sql, batchArgs);
+        }
+    }
+}